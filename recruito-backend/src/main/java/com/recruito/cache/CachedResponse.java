@@ -0,0 +1,20 @@
+package com.recruito.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A cached value together with its JSON serialization, plain and gzip-compressed
+@Getter
+@AllArgsConstructor
+public class CachedResponse<T> {
+    
+    private final T value;
+    
+    private final byte[] json;
+    
+    private final byte[] gzip;
+    
+    public long weight() {
+        return json.length + gzip.length;
+    }
+}
@@ -0,0 +1,281 @@
+package com.recruito.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruito.dto.JobDto;
+import com.recruito.dto.JobFacets;
+import com.recruito.event.ApplicationChangedEvent;
+import com.recruito.event.JobChangedEvent;
+import com.recruito.event.JobCountersChangedEvent;
+import com.recruito.model.enums.JobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+// LRU cache in front of the published job listing and job detail reads, bounded by the total size
+// of the serialized responses. Entries remember which jobs they contain so writes evict only what they touch.
+// Those evictions only see writes made through this instance, so every entry also expires after ttlMillis,
+// which bounds how long a write made on another node can go unseen.
+@Component
+public class JobResponseCache {
+
+    private static final String PAGE_KEY_PREFIX = "page:";
+    private static final String JOB_KEY_PREFIX = "job:";
+
+    // Listing order under these sorts cannot be changed by editing a job's content
+    private static final Set<String> STABLE_SORT_FIELDS = Set.of("createdAt", "publishedAt", "id", "_id");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.cache.jobs.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${app.cache.jobs.ttl-ms:30000}")
+    private long ttlMillis;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<String>> keysByJobId = new HashMap<>();
+    private long totalBytes;
+
+    // Facet counts over the whole published set; small, so kept outside the LRU
+    private JobFacets publishedFacets;
+    private long publishedFacetsLoadedAt;
+
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private long expirations;
+
+    private static final class Entry {
+        private final CachedResponse<?> response;
+        private final Set<String> jobIds;
+        private final boolean listing;
+        private final boolean stableSort;
+        private final long loadedAt;
+
+        private Entry(CachedResponse<?> response, Set<String> jobIds, boolean listing, boolean stableSort,
+                      long loadedAt) {
+            this.response = response;
+            this.jobIds = jobIds;
+            this.listing = listing;
+            this.stableSort = stableSort;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public CachedResponse<Page<JobDto>> getPublishedPage(Pageable pageable, Supplier<Page<JobDto>> loader) {
+        String key = PAGE_KEY_PREFIX + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+        boolean stableSort = pageable.getSort().stream()
+                .allMatch(order -> STABLE_SORT_FIELDS.contains(order.getProperty()));
+        return getOrLoad(key, loader,
+                page -> page.getContent().stream().map(JobDto::getId).collect(Collectors.toSet()),
+                true, stableSort);
+    }
+
+    public CachedResponse<JobDto> getJob(String jobId, Supplier<JobDto> loader) {
+        return getOrLoad(JOB_KEY_PREFIX + jobId, loader, job -> Set.of(job.getId()), false, true);
+    }
+
+    // Returns null on a miss; the caller computes the facets and hands them back with putPublishedFacets
+    public synchronized JobFacets getPublishedFacets() {
+        if (publishedFacets != null && expired(publishedFacetsLoadedAt)) {
+            publishedFacets = null;
+            expirations++;
+        }
+        if (publishedFacets != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return publishedFacets;
+    }
+
+    public synchronized void putPublishedFacets(JobFacets facets, long observedGeneration) {
+        if (generation == observedGeneration) {
+            publishedFacets = facets;
+            publishedFacetsLoadedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        String jobId = event.getJob().getId();
+        boolean published = event.getJob().getStatus() == JobStatus.PUBLISHED;
+
+        switch (event.getChangeType()) {
+            case PUBLISHED:
+            case CLOSED:
+                // Membership of the published set changed, which shifts every listing page
+                invalidate(jobId, true, false);
+                break;
+            case DELETED:
+                invalidate(jobId, published, false);
+                break;
+            case UPDATED:
+                invalidate(jobId, false, published);
+                break;
+            default:
+                // New jobs start as drafts and are not part of any cached listing yet
+                invalidate(jobId, false, false);
+        }
+    }
+
+    @EventListener
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        // Application counts are part of the cached job payloads
+        invalidate(event.getJobId(), false, false);
+    }
+
+    @EventListener
+    public void onJobCountersChanged(JobCountersChangedEvent event) {
+        event.getJobIds().forEach(jobId -> invalidate(jobId, false, false));
+    }
+
+    public synchronized Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        stats.put("invalidations", invalidations);
+        stats.put("expirations", expirations);
+        stats.put("entries", (long) entries.size());
+        stats.put("bytes", totalBytes);
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CachedResponse<T> getOrLoad(String key, Supplier<T> loader, Function<T, Set<String>> jobIds,
+                                            boolean listing, boolean stableSort) {
+        long observedGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && expired(entry.loadedAt)) {
+                remove(key);
+                expirations++;
+                entry = null;
+            }
+            if (entry != null) {
+                hits++;
+                return (CachedResponse<T>) entry.response;
+            }
+            misses++;
+            observedGeneration = generation;
+        }
+
+        // Loaded outside the lock; concurrent misses on the same key may both hit Mongo once.
+        // The entry's age starts before the read, so it never outlives data older than ttlMillis
+        long loadedAt = System.currentTimeMillis();
+        T value = loader.get();
+        CachedResponse<T> response = serialize(value);
+
+        synchronized (this) {
+            if (generation == observedGeneration && response.weight() <= maxBytes) {
+                put(key, new Entry(response, jobIds.apply(value), listing, stableSort, loadedAt));
+            }
+        }
+        return response;
+    }
+
+    private boolean expired(long loadedAt) {
+        return System.currentTimeMillis() - loadedAt >= ttlMillis;
+    }
+
+    private synchronized void invalidate(String jobId, boolean allListings, boolean unstableListings) {
+        generation++;
+        invalidations++;
+
+        Set<String> keys = new HashSet<>(keysByJobId.getOrDefault(jobId, Set.of()));
+        keys.add(JOB_KEY_PREFIX + jobId);
+        if (allListings || unstableListings) {
+            // Any change to a published job can move facet counts
+            publishedFacets = null;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                Entry cached = entry.getValue();
+                if (cached.listing && (allListings || !cached.stableSort)) {
+                    keys.add(entry.getKey());
+                }
+            }
+        }
+        keys.forEach(this::remove);
+    }
+
+    private void put(String key, Entry entry) {
+        remove(key);
+        entries.put(key, entry);
+        totalBytes += entry.response.weight();
+        entry.jobIds.forEach(jobId -> keysByJobId.computeIfAbsent(jobId, id -> new HashSet<>()).add(key));
+
+        // Iteration order is least recently used first
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = eldest.next();
+            if (candidate.getKey().equals(key)) {
+                continue;
+            }
+            eldest.remove();
+            unlink(candidate.getKey(), candidate.getValue());
+            evictions++;
+        }
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlink(key, entry);
+        }
+    }
+
+    private void unlink(String key, Entry entry) {
+        totalBytes -= entry.response.weight();
+        for (String jobId : entry.jobIds) {
+            Set<String> keys = keysByJobId.get(jobId);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByJobId.remove(jobId);
+                }
+            }
+        }
+    }
+
+    private <T> CachedResponse<T> serialize(T value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new CachedResponse<>(value, json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize job response", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compress job response", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.recruito.cache;
+
+import com.recruito.event.ApplicationChangedEvent;
+import com.recruito.event.InterviewChangedEvent;
+import com.recruito.event.JobChangedEvent;
+import com.recruito.event.JobCountersChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-collection write counters and last-write times used as cache validators. They live in memory and are
+// bumped from the change events, so answering a conditional GET never touches Mongo. Both only move forward:
+// a delete bumps them like any other write. They only see writes made through this instance; the random
+// epoch in the ETag makes validators from another instance or from before a restart stale.
+@Component
+public class ResourceVersions {
+
+    public static final String JOBS = "jobs";
+    public static final String APPLICATIONS = "applications";
+    public static final String INTERVIEWS = "interviews";
+
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    private static final class Version {
+        private final AtomicLong counter = new AtomicLong();
+        private final AtomicLong lastModified;
+
+        private Version(long lastModified) {
+            this.lastModified = new AtomicLong(lastModified);
+        }
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public long version(String collection) {
+        return versionOf(collection).counter.get();
+    }
+
+    // Nothing written before startup is tracked, so the start time is the earliest safe answer
+    public long lastModified(String collection) {
+        return versionOf(collection).lastModified.get();
+    }
+
+    public void bump(String collection) {
+        Version version = versionOf(collection);
+        // Timestamp first: a reader that sees the new counter must not see an older timestamp
+        version.lastModified.accumulateAndGet(System.currentTimeMillis(), Math::max);
+        version.counter.incrementAndGet();
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        bump(JOBS);
+    }
+
+    @EventListener
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        bump(APPLICATIONS);
+    }
+
+    @EventListener
+    public void onJobCountersChanged(JobCountersChangedEvent event) {
+        bump(JOBS);
+    }
+
+    @EventListener
+    public void onInterviewChanged(InterviewChangedEvent event) {
+        bump(INTERVIEWS);
+    }
+
+    private Version versionOf(String collection) {
+        return versions.computeIfAbsent(collection, name -> new Version(startedAt));
+    }
+}
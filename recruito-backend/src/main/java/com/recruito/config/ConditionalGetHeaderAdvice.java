@@ -0,0 +1,49 @@
+package com.recruito.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Writes the validators ConditionalGetInterceptor computed, once the response status is known. Error
+// bodies (including those from GlobalExceptionHandler) are sent without them, so a client never caches
+// or revalidates against a failure.
+@ControllerAdvice
+public class ConditionalGetHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        Object validators = httpRequest.getAttribute(ConditionalGetInterceptor.VALIDATORS_ATTRIBUTE);
+        if (validators == null) {
+            return body;
+        }
+        httpRequest.removeAttribute(ConditionalGetInterceptor.VALIDATORS_ATTRIBUTE);
+
+        HttpServletResponse httpResponse = servletResponse.getServletResponse();
+        int status = httpResponse.getStatus();
+        if (status >= 200 && status < 300) {
+            ConditionalGetInterceptor.writeHeaders(httpResponse,
+                    (ConditionalGetInterceptor.Validators) validators);
+        }
+        return body;
+    }
+}
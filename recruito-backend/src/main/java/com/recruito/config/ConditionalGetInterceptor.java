@@ -0,0 +1,123 @@
+package com.recruito.config;
+
+import com.recruito.cache.ResourceVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Answers conditional GETs from the in-memory collection versions before the controller runs, so an
+// unchanged poll costs no Mongo round trip. The ETag covers the versions of every collection the
+// response is built from, plus the caller, the query string and the response encoding. Validators for a
+// full response are left in a request attribute and only written by ConditionalGetHeaderAdvice when the
+// handler succeeds, so an error response never carries them.
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String VALIDATORS_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".validators";
+
+    record Validators(String etag, long lastModified, String cacheControl) {
+    }
+
+    private final ResourceVersions resourceVersions;
+    private final List<String> collections;
+    private final CacheControl cacheControl;
+
+    public ConditionalGetInterceptor(ResourceVersions resourceVersions, List<String> collections,
+                                     CacheControl cacheControl) {
+        this.resourceVersions = resourceVersions;
+        this.collections = collections;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        // Validators are computed before the handler reads anything, so a write racing with this request
+        // can only make the ETag older than the body, never newer
+        long lastModified = 0;
+        StringBuilder key = new StringBuilder(resourceVersions.epoch());
+        for (String collection : collections) {
+            lastModified = Math.max(lastModified, resourceVersions.lastModified(collection));
+            key.append('|').append(collection).append(':').append(resourceVersions.version(collection));
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        key.append('|').append(authentication != null ? authentication.getName() : "");
+        key.append('|').append(request.getRequestURI());
+        key.append('|').append(request.getQueryString() != null ? request.getQueryString() : "");
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        key.append('|').append(acceptEncoding != null && acceptEncoding.contains("gzip") ? "gzip" : "identity");
+
+        Validators validators = new Validators("\"" + hash(key.toString()) + "\"", lastModified,
+                cacheControl.getHeaderValue());
+
+        if (notModified(request, validators)) {
+            writeHeaders(response, validators);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(VALIDATORS_ATTRIBUTE, validators);
+        return true;
+    }
+
+    static void writeHeaders(HttpServletResponse response, Validators validators) {
+        response.setHeader(HttpHeaders.ETAG, validators.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, validators.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, validators.cacheControl());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+    }
+
+    private boolean notModified(HttpServletRequest request, Validators validators) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present (RFC 9110 13.1.3)
+            return matches(ifNoneMatch, validators.etag());
+        }
+
+        long ifModifiedSince = readDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // HTTP dates have second precision
+        return ifModifiedSince >= 0 && validators.lastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long readDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            // Unparseable dates are treated as absent
+            return -1;
+        }
+    }
+
+    private String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.recruito.config;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+// Runs explain on every query shape and aggregation pipeline the app issues and refuses to start if any of
+// them is planned as a COLLSCAN. Meant for CI against a local, empty mongod: enable with
+// app.mongo.verify-query-plans=true (the test profile does). When adding a repository finder, MongoTemplate
+// query or aggregation, register its shape here.
+@Component
+@ConditionalOnProperty(name = "app.mongo.verify-query-plans", havingValue = "true")
+public class QueryPlanVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexInitializer mongoIndexInitializer;
+
+    static class QueryShape {
+        final String name;
+        final String collection;
+        final Document filter;
+        final Document sort;
+
+        QueryShape(String name, String collection, Document filter, Document sort) {
+            this.name = name;
+            this.collection = collection;
+            this.filter = filter;
+            this.sort = sort;
+        }
+    }
+
+    static class PipelineShape {
+        final String name;
+        final String collection;
+        final List<Document> pipeline;
+        final String hint; // Index name the app hints, or null
+
+        PipelineShape(String name, String collection, List<Document> pipeline, String hint) {
+            this.name = name;
+            this.collection = collection;
+            this.pipeline = pipeline;
+            this.hint = hint;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        mongoIndexInitializer.ensureIndexes().join();
+
+        List<QueryShape> shapes = queryShapes();
+        List<String> collectionScans = new ArrayList<>();
+        for (QueryShape shape : shapes) {
+            Document explain = mongoTemplate.getCollection(shape.collection)
+                    .find(shape.filter)
+                    .sort(shape.sort)
+                    .limit(10)
+                    .explain();
+            Document queryPlanner = explain.get("queryPlanner", Document.class);
+            if (containsStage(queryPlanner.get("winningPlan"), "COLLSCAN")) {
+                collectionScans.add(shape.name);
+            }
+        }
+
+        // A pipeline's plans sit at different depths depending on how much of it Mongo pushes down (and inside
+        // each $unionWith branch), so the whole explain output is searched, rejected plans aside
+        List<PipelineShape> pipelines = pipelineShapes();
+        for (PipelineShape shape : pipelines) {
+            Document aggregate = new Document("aggregate", shape.collection)
+                    .append("pipeline", shape.pipeline)
+                    .append("cursor", new Document());
+            if (shape.hint != null) {
+                aggregate.append("hint", shape.hint);
+            }
+            Document explain = mongoTemplate.getDb().runCommand(
+                    new Document("explain", aggregate).append("verbosity", "queryPlanner"));
+            if (containsStage(explain, "COLLSCAN")) {
+                collectionScans.add(shape.name);
+            }
+        }
+
+        if (!collectionScans.isEmpty()) {
+            throw new IllegalStateException("Query shapes planned as COLLSCAN: " + collectionScans);
+        }
+        log.info("Verified index support for {} query shapes and {} pipelines", shapes.size(), pipelines.size());
+    }
+
+    static List<QueryShape> queryShapes() {
+        String id = new ObjectId().toHexString();
+        Date now = new Date();
+        List<QueryShape> shapes = new ArrayList<>();
+
+        // jobs
+        shapes.add(new QueryShape("jobs by status, newest first", "jobs",
+                new Document("status", "PUBLISHED"), new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("jobs by status, recently published", "jobs",
+                new Document("status", "PUBLISHED"), new Document("publishedAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("jobs by status, by title", "jobs",
+                new Document("status", "PUBLISHED"), new Document("title", 1).append("_id", 1)));
+        shapes.add(new QueryShape("jobs by recruiter", "jobs",
+                new Document("recruiterId", id), new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("jobs filtered by department", "jobs",
+                new Document("status", "PUBLISHED").append("department", "Engineering"),
+                new Document("publishedAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("jobs filtered by employment type", "jobs",
+                new Document("status", "PUBLISHED").append("employmentType", "FULL_TIME"),
+                new Document("publishedAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("jobs filtered by salary overlap", "jobs",
+                new Document("status", "PUBLISHED")
+                        .append("salaryMin", new Document("$lte", new Decimal128(100000)))
+                        .append("salaryMax", new Document("$gte", new Decimal128(50000))),
+                new Document()));
+        shapes.add(new QueryShape("jobs within a radius", "jobs",
+                new Document("locationPoint", new Document("$geoWithin", new Document("$centerSphere",
+                        List.of(List.of(77.59, 12.97), 50 / 6378.1))))
+                        .append("status", "PUBLISHED"),
+                new Document()));
+        shapes.add(new QueryShape("jobs missing a normalized location", "jobs",
+                new Document("location", new Document("$ne", null))
+                        .append("normalizedLocation", new Document("$exists", false)),
+                new Document()));
+        shapes.add(new QueryShape("jobs updated since (search index catch-up)", "jobs",
+                new Document("updatedAt", new Document("$gte", now)), new Document()));
+
+        // applications
+        shapes.add(new QueryShape("applications by candidate", "applications",
+                new Document("candidateId", id), new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("applications by job", "applications",
+                new Document("jobId", id), new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("applications by job, best match first", "applications",
+                new Document("jobId", id), new Document("matchScore", -1).append("_id", -1)));
+        shapes.add(new QueryShape("pipeline column (applications by job and status)", "applications",
+                new Document("jobId", id).append("status", "APPLIED"), new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("applications not yet screened", "applications",
+                new Document("screenedAt", new Document("$exists", false)), new Document()));
+        shapes.add(new QueryShape("applications by job ids", "applications",
+                new Document("jobId", new Document("$in", List.of(id, new ObjectId().toHexString()))),
+                new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("applications by recruiter", "applications",
+                new Document("recruiterId", id), new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("applications by recruiter and status", "applications",
+                new Document("recruiterId", id).append("status", "APPLIED"), new Document("createdAt", -1)));
+        shapes.add(new QueryShape("applications missing recruiterId (backfill)", "applications",
+                new Document("recruiterId", new Document("$exists", false))
+                        .append("_id", new Document("$gt", new ObjectId())),
+                new Document("_id", 1)));
+        shapes.add(new QueryShape("applications with pending status events (event catch-up)", "applications",
+                new Document("pendingStatusChanges.transitionId", new Document("$exists", true)), new Document()));
+        shapes.add(new QueryShape("applications by status", "applications",
+                new Document("status", "APPLIED"), new Document()));
+        shapes.add(new QueryShape("candidate applied to recruiter (availability access)", "applications",
+                new Document("candidateId", id).append("recruiterId", id), new Document()));
+
+        // application_events
+        shapes.add(new QueryShape("application timeline", "application_events",
+                new Document("applicationId", id), new Document("occurredAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("application event feed", "application_events",
+                new Document("_id", new Document("$gt", new ObjectId()).append("$lt", new ObjectId())),
+                new Document("_id", 1)));
+        shapes.add(new QueryShape("application events already recorded (event catch-up)", "application_events",
+                new Document("transitionId", new Document("$in", List.of(id))), new Document()));
+
+        // interviews
+        shapes.add(new QueryShape("interviews by candidate", "interviews",
+                new Document("candidateId", id), new Document("scheduledAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("interviews by recruiter", "interviews",
+                new Document("recruiterId", id), new Document("scheduledAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("interviews between dates", "interviews",
+                new Document("scheduledAt", new Document("$gte", now).append("$lte", now)), new Document()));
+        shapes.add(new QueryShape("upcoming interviews (availability warm-up)", "interviews",
+                new Document("scheduledAt", new Document("$gte", now)), new Document()));
+        shapes.add(new QueryShape("interviews changed since (availability catch-up)", "interviews",
+                new Document("updatedAt", new Document("$gte", now)), new Document()));
+        shapes.add(new QueryShape("calendar window", "interviews",
+                new Document("$and", List.of(
+                        new Document("$or", List.of(new Document("recruiterId", id), new Document("candidateId", id))),
+                        new Document("scheduledAt", new Document("$gte", now).append("$lt", now)))),
+                new Document("scheduledAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("ICS feed full sync page", "interviews",
+                new Document("$and", List.of(
+                        new Document("$or", List.of(new Document("recruiterId", id), new Document("candidateId", id))),
+                        new Document("scheduledAt", new Document("$gte", now)),
+                        new Document("$or", List.of(
+                                new Document("scheduledAt", new Document("$gt", now)),
+                                new Document("scheduledAt", now).append("_id", new Document("$gt", new ObjectId())))))),
+                new Document("scheduledAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("ICS feed changes since sync token", "interviews",
+                new Document("$and", List.of(
+                        new Document("$or", List.of(new Document("recruiterId", id), new Document("candidateId", id))),
+                        new Document("updatedAt", new Document("$gt", now)),
+                        new Document("updatedAt", new Document("$lte", now)))),
+                new Document("updatedAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("user by calendar feed token", "users",
+                new Document("calendarFeedToken", id), new Document()));
+        shapes.add(new QueryShape("interview by application", "interviews",
+                new Document("applicationId", id), new Document()));
+        shapes.add(new QueryShape("interviews entering the reminder window", "interviews",
+                new Document("scheduledAt", new Document("$gt", now).append("$lte", now)), new Document()));
+
+        // interview_reminders
+        shapes.add(new QueryShape("reminder lease claim", "interview_reminders",
+                new Document("_id", id).append("sentAt", null).append("failedAt", null)
+                        .append("$or", List.of(new Document("leaseUntil", null),
+                                new Document("leaseUntil", new Document("$lt", now)))),
+                new Document()));
+
+        // interview_slots
+        shapes.add(new QueryShape("open interview slots of a job", "interview_slots",
+                new Document("jobId", id).append("startsAt", new Document("$gt", now)).append("candidateId", null),
+                new Document("startsAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("interview slots changed since (open slot catch-up)", "interview_slots",
+                new Document("updatedAt", new Document("$gte", now)), new Document()));
+        shapes.add(new QueryShape("upcoming interview slots (availability warm-up)", "interview_slots",
+                new Document("startsAt", new Document("$gte", now)), new Document()));
+        shapes.add(new QueryShape("upcoming interview slots of a recruiter", "interview_slots",
+                new Document("recruiterId", id).append("startsAt", new Document("$gte", now)), new Document()));
+
+        // messages
+        shapes.add(new QueryShape("latest chat messages", "messages",
+                new Document("chatRoomId", id).append("createdAt", new Document("$ne", null)),
+                new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("chat messages before cursor", "messages",
+                new Document("chatRoomId", id).append("createdAt", new Document("$ne", null))
+                        .append("$or", List.of(new Document("createdAt", new Document("$lt", now)),
+                                new Document("createdAt", now).append("_id", new Document("$lt", new ObjectId())),
+                                new Document("createdAt", null))),
+                new Document("createdAt", -1).append("_id", -1)));
+        shapes.add(new QueryShape("chat messages after cursor", "messages",
+                new Document("chatRoomId", id).append("createdAt", new Document("$ne", null))
+                        .append("$or", List.of(new Document("createdAt", new Document("$gt", now)),
+                                new Document("createdAt", now).append("_id", new Document("$gt", new ObjectId())))),
+                new Document("createdAt", 1).append("_id", 1)));
+        shapes.add(new QueryShape("unread messages in chat", "messages",
+                new Document("chatRoomId", id).append("receiverId", id).append("isRead", false), new Document()));
+        shapes.add(new QueryShape("unread message count", "messages",
+                new Document("receiverId", id).append("isRead", false), new Document()));
+
+        // users
+        shapes.add(new QueryShape("user by email", "users",
+                new Document("email", "someone@example.com"), new Document()));
+        shapes.add(new QueryShape("users by role", "users",
+                new Document("role", "RECRUITER"), new Document()));
+
+        return shapes;
+    }
+
+    static List<PipelineShape> pipelineShapes() {
+        String id = new ObjectId().toHexString();
+        List<PipelineShape> pipelines = new ArrayList<>();
+
+        // jobs
+        Document facets = new Document("page", List.of(
+                        new Document("$sort", new Document("publishedAt", -1).append("_id", -1)),
+                        new Document("$skip", 0),
+                        new Document("$limit", 10)))
+                .append("total", List.of(new Document("$count", "count")))
+                .append("department", List.of(new Document("$group",
+                        new Document("_id", "$department").append("count", new Document("$sum", 1)))));
+        pipelines.add(new PipelineShape("faceted job search", "jobs", List.of(
+                new Document("$match", new Document("status", "PUBLISHED")),
+                new Document("$facet", facets)), null));
+        pipelines.add(new PipelineShape("faceted job search by department", "jobs", List.of(
+                new Document("$match", new Document("status", "PUBLISHED").append("department", "Engineering")),
+                new Document("$facet", facets)), null));
+        pipelines.add(new PipelineShape("jobs near a point ($geoNear)", "jobs", List.of(
+                new Document("$geoNear", new Document("near", new Document("type", "Point")
+                        .append("coordinates", List.of(77.59, 12.97)))
+                        .append("distanceField", "distance")
+                        .append("maxDistance", 50_000)
+                        .append("spherical", true)
+                        .append("query", new Document("status", "PUBLISHED"))),
+                new Document("$skip", 0),
+                new Document("$limit", 10)), null));
+        pipelines.add(new PipelineShape("job counts by status", "jobs", List.of(
+                new Document("$match", new Document("recruiterId", id)),
+                new Document("$group", new Document("_id", "$status").append("count", new Document("$sum", 1)))),
+                null));
+
+        // applications
+        List<Document> union = new ArrayList<>(pipelineColumn(id, "APPLIED"));
+        union.add(new Document("$unionWith", new Document("coll", "applications")
+                .append("pipeline", pipelineColumn(id, "SHORTLISTED"))));
+        union.add(new Document("$unionWith", new Document("coll", "applications").append("pipeline", List.of(
+                new Document("$match", new Document("jobId", id)),
+                new Document("$group", new Document("_id", "$status").append("count", new Document("$sum", 1)))))));
+        pipelines.add(new PipelineShape("pipeline board ($unionWith columns and counts)", "applications", union,
+                null));
+        pipelines.add(new PipelineShape("application counters (full reconcile)", "applications", List.of(
+                new Document("$group", new Document("_id", new Document("jobId", "$jobId").append("status", "$status"))
+                        .append("count", new Document("$sum", 1)))),
+                "jobId_status_createdAt_id"));
+        pipelines.add(new PipelineShape("application counters of some jobs", "applications", List.of(
+                new Document("$match", new Document("jobId", new Document("$in", List.of(id)))),
+                new Document("$group", new Document("_id", new Document("jobId", "$jobId").append("status", "$status"))
+                        .append("count", new Document("$sum", 1)))),
+                null));
+
+        return pipelines;
+    }
+
+    private static List<Document> pipelineColumn(String jobId, String status) {
+        return List.of(
+                new Document("$match", new Document("jobId", jobId).append("status", status)),
+                new Document("$sort", new Document("createdAt", -1).append("_id", -1)),
+                new Document("$limit", 11));
+    }
+
+    private boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document) {
+            Document document = (Document) plan;
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                if (!"rejectedPlans".equals(entry.getKey()) && containsStage(entry.getValue(), stage)) {
+                    return true;
+                }
+            }
+        } else if (plan instanceof List) {
+            for (Object value : (List<?>) plan) {
+                if (containsStage(value, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
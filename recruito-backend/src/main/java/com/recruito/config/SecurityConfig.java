@@ -4,6 +4,7 @@ import com.recruito.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -62,6 +63,8 @@ public class SecurityConfig {
                 .requestMatchers("/swagger-ui/**", "/api-docs/**", "/v3/api-docs/**").permitAll()
                 // Allow access to uploaded files (resumes) without authentication
                 .requestMatchers("/files/**").permitAll()
+                // ICS feeds are fetched by calendar clients; the secret token in the URL authorizes them
+                .requestMatchers(HttpMethod.GET, "/api/interviews/calendar/feed/*").permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/recruiter/**").hasAnyRole("RECRUITER", "ADMIN")
                 .anyRequest().authenticated()
@@ -1,15 +1,24 @@
 package com.recruito.config;
 
+import com.recruito.cache.ResourceVersions;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Serve uploaded files from /files/**, using the same root as FileController
@@ -24,7 +33,24 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceHandler("/files/**")
                 .addResourceLocations(uploadPath);
     }
-}
-
-
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Job board: shared data, a short freshness window is fine and saves the revalidation round trip.
+        // Job payloads carry application counters, so application writes count too
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersions,
+                        List.of(ResourceVersions.JOBS, ResourceVersions.APPLICATIONS),
+                        CacheControl.maxAge(10, TimeUnit.SECONDS).cachePrivate().mustRevalidate()))
+                .addPathPatterns("/api/jobs", "/api/jobs/*");
+
+        // Per-user lists change on the user's own actions, so always revalidate
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersions,
+                        List.of(ResourceVersions.APPLICATIONS, ResourceVersions.JOBS),
+                        CacheControl.noCache().cachePrivate()))
+                .addPathPatterns("/api/applications/my-applications");
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersions,
+                        List.of(ResourceVersions.INTERVIEWS),
+                        CacheControl.noCache().cachePrivate()))
+                .addPathPatterns("/api/interviews/my-interviews");
+    }
+}
@@ -0,0 +1,51 @@
+package com.recruito.controller;
+
+import com.recruito.cache.JobResponseCache;
+import com.recruito.dto.ApplicationStatusEventDto;
+import com.recruito.dto.CursorPage;
+import com.recruito.service.ApplicationStatusEventService;
+import com.recruito.service.JobCounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AdminController {
+    
+    @Autowired
+    private JobCounterService jobCounterService;
+    
+    @Autowired
+    private JobResponseCache jobResponseCache;
+    
+    @Autowired
+    private ApplicationStatusEventService applicationStatusEventService;
+    
+    @PostMapping("/jobs/rebuild-counters")
+    public ResponseEntity<Map<String, Integer>> rebuildJobCounters() {
+        // Access restricted to ADMIN by SecurityConfig (/api/admin/**)
+        int jobsUpdated = jobCounterService.rebuildCounters();
+        Map<String, Integer> response = new HashMap<>();
+        response.put("jobsUpdated", jobsUpdated);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/cache/jobs")
+    public ResponseEntity<Map<String, Long>> getJobCacheStats() {
+        return ResponseEntity.ok(jobResponseCache.stats());
+    }
+    
+    // Change feed of application status events for downstream consumers: start without ?after=, then
+    // pass back nextCursor; it is returned even when no new events have settled
+    @GetMapping("/application-events")
+    public ResponseEntity<CursorPage<ApplicationStatusEventDto>> getApplicationEventFeed(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(applicationStatusEventService.getFeed(after, limit));
+    }
+}
@@ -1,8 +1,14 @@
 package com.recruito.controller;
 
+import com.recruito.dto.ApplicationBulkStatusRequest;
+import com.recruito.dto.ApplicationBulkStatusResult;
 import com.recruito.dto.ApplicationCreateRequest;
 import com.recruito.dto.ApplicationDto;
+import com.recruito.dto.ApplicationStatusEventDto;
+import com.recruito.dto.CursorPage;
+import com.recruito.model.Job;
 import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.service.ApplicationExportService;
 import com.recruito.service.ApplicationService;
 import com.recruito.service.UserService;
 import jakarta.validation.Valid;
@@ -10,9 +16,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/applications")
@@ -25,6 +39,9 @@ public class ApplicationController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ApplicationExportService applicationExportService;
+    
     @PostMapping
     public ResponseEntity<ApplicationDto> createApplication(@Valid @RequestBody ApplicationCreateRequest request,
                                                            Authentication authentication) {
@@ -44,18 +61,75 @@ public class ApplicationController {
         return ResponseEntity.ok(applications);
     }
     
+    @GetMapping(value = "/my-applications", params = "after")
+    public ResponseEntity<CursorPage<ApplicationDto>> getMyApplicationsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        String candidateId = userService.getCurrentUserId(authentication);
+        CursorPage<ApplicationDto> applications = applicationService.getApplicationsByCandidateAfter(candidateId, after, size);
+        return ResponseEntity.ok(applications);
+    }
+    
     @GetMapping("/job/{jobId}")
     public ResponseEntity<Page<ApplicationDto>> getApplicationsByJob(
             @PathVariable String jobId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sortBy,
             Authentication authentication) {
         String recruiterId = userService.getCurrentUserId(authentication);
-        Pageable pageable = PageRequest.of(page, size);
-        Page<ApplicationDto> applications = applicationService.getApplicationsByJob(jobId, pageable);
+        // Best resume match first; unscreened applications (no score yet) come last
+        Pageable pageable = "matchScore".equals(sortBy)
+                ? PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "matchScore", "id"))
+                : PageRequest.of(page, size);
+        Page<ApplicationDto> applications = applicationService.getApplicationsByJob(jobId, recruiterId,
+                userService.isAdmin(authentication), pageable);
         return ResponseEntity.ok(applications);
     }
     
+    @GetMapping(value = "/job/{jobId}", params = "after")
+    public ResponseEntity<CursorPage<ApplicationDto>> getApplicationsByJobAfter(
+            @PathVariable String jobId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        CursorPage<ApplicationDto> applications = applicationService.getApplicationsByJobAfter(jobId, recruiterId,
+                userService.isAdmin(authentication), after, size);
+        return ResponseEntity.ok(applications);
+    }
+    
+    // Streams every application of the job as CSV (default) or XLSX
+    @GetMapping("/job/{jobId}/export")
+    public ResponseEntity<StreamingResponseBody> exportApplicationsByJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        
+        ApplicationExportService.Format exportFormat;
+        try {
+            exportFormat = ApplicationExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Job job = applicationExportService.getExportableJob(jobId, recruiterId);
+        
+        MediaType contentType = exportFormat == ApplicationExportService.Format.XLSX
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("applications-" + jobId + "." + exportFormat.name().toLowerCase())
+                .build();
+        
+        StreamingResponseBody body = out -> applicationExportService.export(job, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+    
     @GetMapping("/recruiter/my-applications")
     public ResponseEntity<Page<ApplicationDto>> getRecruiterApplications(
             @RequestParam(defaultValue = "0") int page,
@@ -67,12 +141,31 @@ public class ApplicationController {
         return ResponseEntity.ok(applications);
     }
     
+    @GetMapping(value = "/recruiter/my-applications", params = "after")
+    public ResponseEntity<CursorPage<ApplicationDto>> getRecruiterApplicationsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        CursorPage<ApplicationDto> applications = applicationService.getApplicationsByRecruiterAfter(recruiterId, after, size);
+        return ResponseEntity.ok(applications);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApplicationDto> getApplicationById(@PathVariable String id) {
         ApplicationDto application = applicationService.getApplicationById(id);
         return ResponseEntity.ok(application);
     }
     
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<List<ApplicationStatusEventDto>> getApplicationTimeline(
+            @PathVariable String id,
+            Authentication authentication) {
+        String userId = userService.getCurrentUserId(authentication);
+        List<ApplicationStatusEventDto> timeline = applicationService.getApplicationTimeline(id, userId);
+        return ResponseEntity.ok(timeline);
+    }
+    
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApplicationDto> updateApplicationStatus(
             @PathVariable String id,
@@ -82,5 +175,16 @@ public class ApplicationController {
         ApplicationDto application = applicationService.updateApplicationStatus(id, status, recruiterId);
         return ResponseEntity.ok(application);
     }
+    
+    // Same transition for many applications; per-id outcomes, a failed id does not fail the rest
+    @PatchMapping("/status")
+    public ResponseEntity<ApplicationBulkStatusResult> bulkUpdateApplicationStatus(
+            @Valid @RequestBody ApplicationBulkStatusRequest request,
+            Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        ApplicationBulkStatusResult result = applicationService.bulkUpdateApplicationStatus(
+                request.getApplicationIds(), request.getStatus(), recruiterId);
+        return ResponseEntity.ok(result);
+    }
 }
 
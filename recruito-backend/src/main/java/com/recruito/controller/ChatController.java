@@ -1,6 +1,7 @@
 package com.recruito.controller;
 
 import com.recruito.dto.MessageDto;
+import com.recruito.dto.MessagePage;
 import com.recruito.dto.MessageRequest;
 import com.recruito.service.MessageService;
 import com.recruito.service.UserService;
@@ -14,8 +15,6 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/chat")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -52,12 +51,16 @@ public class ChatController {
         return ResponseEntity.ok(message);
     }
     
+    // Latest messages by default; ?before= pages back through older ones, ?after= fetches newer ones
     @GetMapping("/messages")
-    public ResponseEntity<List<MessageDto>> getChatMessages(
+    public ResponseEntity<MessagePage> getChatMessages(
             @RequestParam String otherUserEmail,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
             Authentication authentication) {
         String currentUserEmail = userService.getCurrentUser(authentication).getEmail();
-        List<MessageDto> messages = messageService.getChatMessages(currentUserEmail, otherUserEmail);
+        MessagePage messages = messageService.getChatMessages(currentUserEmail, otherUserEmail, before, after, size);
         return ResponseEntity.ok(messages);
     }
     
@@ -1,19 +1,26 @@
 package com.recruito.controller;
 
+import com.recruito.dto.CursorPage;
 import com.recruito.dto.InterviewCreateRequest;
 import com.recruito.dto.InterviewDto;
 import com.recruito.dto.InterviewResponseRequest;
+import com.recruito.scheduling.RecruiterAvailabilityIndex;
+import com.recruito.service.InterviewCalendarService;
 import com.recruito.service.InterviewService;
 import com.recruito.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/interviews")
@@ -26,11 +33,15 @@ public class InterviewController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private InterviewCalendarService interviewCalendarService;
+    
     @PostMapping
     public ResponseEntity<InterviewDto> scheduleInterview(@Valid @RequestBody InterviewCreateRequest request,
                                                           Authentication authentication) {
         String recruiterId = userService.getCurrentUserId(authentication);
-        InterviewDto interview = interviewService.scheduleInterview(request, recruiterId);
+        InterviewDto interview = interviewService.scheduleInterview(request, recruiterId,
+                userService.isAdmin(authentication));
         return ResponseEntity.ok(interview);
     }
     
@@ -41,6 +52,16 @@ public class InterviewController {
         return ResponseEntity.ok(interviews);
     }
     
+    @GetMapping(value = "/my-interviews", params = "after")
+    public ResponseEntity<CursorPage<InterviewDto>> getMyInterviewsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String candidateId = userService.getCurrentUserId(authentication);
+        CursorPage<InterviewDto> interviews = interviewService.getInterviewsByCandidateAfter(candidateId, after, size);
+        return ResponseEntity.ok(interviews);
+    }
+    
     @GetMapping("/recruiter/my-interviews")
     public ResponseEntity<List<InterviewDto>> getRecruiterInterviews(Authentication authentication) {
         String recruiterId = userService.getCurrentUserId(authentication);
@@ -48,6 +69,16 @@ public class InterviewController {
         return ResponseEntity.ok(interviews);
     }
     
+    @GetMapping(value = "/recruiter/my-interviews", params = "after")
+    public ResponseEntity<CursorPage<InterviewDto>> getRecruiterInterviewsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        CursorPage<InterviewDto> interviews = interviewService.getInterviewsByRecruiterAfter(recruiterId, after, size);
+        return ResponseEntity.ok(interviews);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<InterviewDto> getInterviewById(@PathVariable String id) {
         InterviewDto interview = interviewService.getInterviewById(id);
@@ -81,12 +112,61 @@ public class InterviewController {
         return ResponseEntity.ok(interview);
     }
     
+    // Free time of a recruiter (the caller by default) within working hours, served from memory
+    @GetMapping("/availability")
+    public ResponseEntity<List<RecruiterAvailabilityIndex.Slot>> getAvailability(
+            @RequestParam(required = false) String recruiterId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer durationMinutes,
+            Authentication authentication) {
+        String userId = userService.getCurrentUserId(authentication);
+        String targetId = recruiterId != null ? recruiterId : userId;
+        return ResponseEntity.ok(interviewService.getAvailability(targetId, userId, userService.isAdmin(authentication),
+                from, to, durationMinutes));
+    }
+    
     @GetMapping("/calendar")
-    public ResponseEntity<List<InterviewDto>> getInterviewsBetweenDates(
+    public ResponseEntity<CursorPage<InterviewDto>> getCalendar(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        List<InterviewDto> interviews = interviewService.getInterviewsBetweenDates(start, end);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
+        String userId = userService.getCurrentUserId(authentication);
+        CursorPage<InterviewDto> interviews = interviewService.getCalendar(userId, start, end, after, size);
         return ResponseEntity.ok(interviews);
     }
+    
+    // Creates (or rotates, revoking the old one) the caller's private ICS feed URL
+    @PostMapping("/calendar/feed")
+    public ResponseEntity<Map<String, String>> createCalendarFeed(Authentication authentication) {
+        String userId = userService.getCurrentUserId(authentication);
+        String feedToken = interviewCalendarService.createFeedToken(userId);
+        return ResponseEntity.ok(Map.of("url", "/api/interviews/calendar/feed/" + feedToken));
+    }
+    
+    // Unauthenticated (calendar clients cannot send a JWT); the token in the path is the credential.
+    // Without parameters the whole calendar is returned. Token-aware clients start a full sync with ?paged=true,
+    // follow X-Next-Page-Token as ?pageToken= until a page carries X-Sync-Token, then pass that as
+    // ?syncToken= to get only what changed since.
+    @GetMapping("/calendar/feed/{feedToken}")
+    public ResponseEntity<String> getCalendarFeed(@PathVariable String feedToken,
+                                                  @RequestParam(required = false) String syncToken,
+                                                  @RequestParam(required = false) String pageToken,
+                                                  @RequestParam(defaultValue = "false") boolean paged) {
+        InterviewCalendarService.CalendarFeed feed =
+                interviewCalendarService.getFeed(feedToken, syncToken, pageToken, paged);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.noStore());
+        if (feed.getSyncToken() != null) {
+            response.header(InterviewCalendarService.SYNC_TOKEN_HEADER, feed.getSyncToken());
+        }
+        if (feed.getNextPageToken() != null) {
+            response.header(InterviewCalendarService.NEXT_PAGE_TOKEN_HEADER, feed.getNextPageToken());
+        }
+        return response.body(feed.getIcs());
+    }
 }
 
@@ -0,0 +1,50 @@
+package com.recruito.controller;
+
+import com.recruito.dto.InterviewSlotBatchRequest;
+import com.recruito.dto.InterviewSlotDto;
+import com.recruito.service.InterviewSlotService;
+import com.recruito.service.KeysetPagination;
+import com.recruito.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/interview-slots")
+@CrossOrigin(origins = "http://localhost:3000")
+public class InterviewSlotController {
+    
+    @Autowired
+    private InterviewSlotService interviewSlotService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @PostMapping("/batch")
+    public ResponseEntity<List<InterviewSlotDto>> publishSlots(@Valid @RequestBody InterviewSlotBatchRequest request,
+                                                               Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        List<InterviewSlotDto> slots = interviewSlotService.publishSlots(request, recruiterId);
+        return ResponseEntity.ok(slots);
+    }
+    
+    // Earliest open slots of a job
+    @GetMapping("/job/{jobId}/open")
+    public ResponseEntity<List<InterviewSlotDto>> getOpenSlots(@PathVariable String jobId,
+                                                               @RequestParam(defaultValue = "50") int size) {
+        List<InterviewSlotDto> slots = interviewSlotService.getOpenSlots(jobId, KeysetPagination.clampSize(size));
+        return ResponseEntity.ok(slots);
+    }
+    
+    // Safe to retry: claiming a slot the candidate already holds returns the same booking
+    @PostMapping("/{id}/claim")
+    public ResponseEntity<InterviewSlotDto> claimSlot(@PathVariable String id, Authentication authentication) {
+        String candidateId = userService.getCurrentUserId(authentication);
+        InterviewSlotDto slot = interviewSlotService.claimSlot(id, candidateId);
+        return ResponseEntity.ok(slot);
+    }
+}
@@ -1,19 +1,37 @@
 package com.recruito.controller;
 
+import com.recruito.cache.CachedResponse;
+import com.recruito.dto.ApplicationDto;
+import com.recruito.dto.ApplicationPipelineDto;
+import com.recruito.dto.CursorPage;
 import com.recruito.dto.JobCreateRequest;
 import com.recruito.dto.JobDto;
+import com.recruito.dto.JobFacetSearchResult;
+import com.recruito.dto.JobFilter;
+import com.recruito.dto.JobImportResult;
+import com.recruito.dto.JobSuggestion;
+import com.recruito.model.enums.ApplicationStatus;
 import com.recruito.model.enums.JobStatus;
+import com.recruito.search.JobSuggester;
+import com.recruito.service.ApplicationService;
+import com.recruito.service.JobImportService;
 import com.recruito.service.JobService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/jobs")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -25,6 +43,15 @@ public class JobController {
     @Autowired
     private com.recruito.service.UserService userService;
     
+    @Autowired
+    private JobImportService jobImportService;
+    
+    @Autowired
+    private JobSuggester jobSuggester;
+    
+    @Autowired
+    private ApplicationService applicationService;
+    
     @PostMapping
     public ResponseEntity<JobDto> createJob(@Valid @RequestBody JobCreateRequest request,
                                            Authentication authentication) {
@@ -33,15 +60,32 @@ public class JobController {
         return ResponseEntity.ok(job);
     }
     
+    // Bulk import: one job per line (application/x-ndjson) or per row (text/csv with a header row).
+    // Jobs are created as drafts, like POST /api/jobs.
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<JobImportResult> importJobs(HttpServletRequest request,
+                                                      Authentication authentication) throws IOException {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        JobImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? JobImportService.Format.CSV
+                : JobImportService.Format.NDJSON;
+        JobImportResult result = jobImportService.importJobs(request.getInputStream(), format, recruiterId);
+        return ResponseEntity.ok(result);
+    }
+    
     @GetMapping
-    public ResponseEntity<Page<JobDto>> getAllJobs(
+    public ResponseEntity<?> getAllJobs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDir,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String near,
+            @RequestParam(defaultValue = "50") double radiusKm,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -58,12 +102,21 @@ public class JobController {
             }
         }
         
+        // Radius search: ordered by distance, location text is not used
+        if (near != null && !near.isEmpty()) {
+            jobs = jobService.searchJobsNear(near, radiusKm,
+                (title != null && !title.isEmpty()) ? title : null,
+                statusEnum,
+                pageable);
+            return ResponseEntity.ok(jobs);
+        }
+        
         // If status is PUBLISHED and no search terms, get published jobs
         // Otherwise, use search
         if ((title == null || title.isEmpty()) && 
             (location == null || location.isEmpty()) && 
             (statusEnum == JobStatus.PUBLISHED || statusEnum == null)) {
-            jobs = jobService.getPublishedJobs(pageable);
+            return cachedJson(jobService.getPublishedJobsResponse(pageable), acceptEncoding);
         } else {
             jobs = jobService.searchJobs(
                 (title != null && !title.isEmpty()) ? title : null,
@@ -75,10 +128,103 @@ public class JobController {
         return ResponseEntity.ok(jobs);
     }
     
+    // Cursor mode: selected when the request carries ?after= (empty for the first slice)
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<JobDto>> getAllJobsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String status) {
+        
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        
+        JobStatus statusEnum = null;
+        if (status != null && !status.isEmpty()) {
+            try {
+                statusEnum = JobStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        
+        CursorPage<JobDto> jobs;
+        if ((title == null || title.isEmpty()) && 
+            (location == null || location.isEmpty()) && 
+            (statusEnum == JobStatus.PUBLISHED || statusEnum == null)) {
+            jobs = jobService.getPublishedJobsAfter(after, size, sortBy, direction);
+        } else {
+            jobs = jobService.searchJobsAfter(
+                (title != null && !title.isEmpty()) ? title : null,
+                (location != null && !location.isEmpty()) ? location : null,
+                statusEnum,
+                after,
+                size,
+                sortBy,
+                direction);
+        }
+        
+        return ResponseEntity.ok(jobs);
+    }
+    
+    // Structured filtering: ?department=&employmentType=&salaryMin=&salaryMax=&publishedAfter=&publishedBefore=&status=
+    @GetMapping("/filter")
+    public ResponseEntity<Page<JobDto>> filterJobs(
+            JobFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "publishedAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+        
+        // id as tie-breaker keeps pages stable across equal publishedAt values
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy, "id"));
+        Page<JobDto> jobs = jobService.filterJobs(filter, pageable);
+        return ResponseEntity.ok(jobs);
+    }
+    
+    // Search-box autocomplete over published titles, departments and locations; tolerates one typo
+    @GetMapping("/suggest")
+    public ResponseEntity<List<JobSuggestion>> suggest(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(jobSuggester.suggest(q, limit));
+    }
+    
+    @GetMapping("/facets")
+    public ResponseEntity<JobFacetSearchResult> getJobFacets(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String employmentType) {
+        
+        Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        
+        JobStatus statusEnum = null;
+        if (status != null && !status.isEmpty()) {
+            try {
+                statusEnum = JobStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        
+        JobFacetSearchResult result = jobService.searchJobsWithFacets(title, location, statusEnum,
+                department, employmentType, pageable);
+        return ResponseEntity.ok(result);
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<JobDto> getJobById(@PathVariable String id) {
-        JobDto job = jobService.getJobById(id);
-        return ResponseEntity.ok(job);
+    public ResponseEntity<byte[]> getJobById(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cachedJson(jobService.getJobResponse(id), acceptEncoding);
     }
     
     @PutMapping("/{id}")
@@ -111,6 +257,25 @@ public class JobController {
         return ResponseEntity.ok().build();
     }
     
+    // Kanban board: count and newest cards of every application status
+    @GetMapping("/{id}/pipeline")
+    public ResponseEntity<ApplicationPipelineDto> getPipeline(@PathVariable String id,
+                                                              @RequestParam(defaultValue = "10") int size,
+                                                              Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        return ResponseEntity.ok(applicationService.getPipeline(id, recruiterId, size));
+    }
+    
+    @GetMapping("/{id}/pipeline/{status}")
+    public ResponseEntity<CursorPage<ApplicationDto>> getPipelineColumn(@PathVariable String id,
+                                                                        @PathVariable ApplicationStatus status,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(defaultValue = "10") int size,
+                                                                        Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        return ResponseEntity.ok(applicationService.getPipelineColumn(id, status, recruiterId, after, size));
+    }
+    
     @GetMapping("/recruiter/my-jobs")
     public ResponseEntity<Page<JobDto>> getMyJobs(
             @RequestParam(defaultValue = "0") int page,
@@ -121,5 +286,25 @@ public class JobController {
         Page<JobDto> jobs = jobService.getJobsByRecruiter(recruiterId, pageable);
         return ResponseEntity.ok(jobs);
     }
+    
+    @GetMapping(value = "/recruiter/my-jobs", params = "after")
+    public ResponseEntity<CursorPage<JobDto>> getMyJobsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        String recruiterId = userService.getCurrentUserId(authentication);
+        CursorPage<JobDto> jobs = jobService.getJobsByRecruiterAfter(recruiterId, after, size);
+        return ResponseEntity.ok(jobs);
+    }
+    
+    // Writes the cached serialization as-is, gzip-compressed when the client accepts it
+    private ResponseEntity<byte[]> cachedJson(CachedResponse<?> response, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzip());
+        }
+        return builder.body(response.getJson());
+    }
 }
-
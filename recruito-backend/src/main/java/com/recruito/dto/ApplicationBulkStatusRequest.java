@@ -0,0 +1,19 @@
+package com.recruito.dto;
+
+import com.recruito.model.enums.ApplicationStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ApplicationBulkStatusRequest {
+    @NotEmpty(message = "Application IDs are required")
+    @Size(max = 500, message = "At most 500 applications can be updated at once")
+    private List<String> applicationIds;
+    
+    @NotNull(message = "Status is required")
+    private ApplicationStatus status;
+}
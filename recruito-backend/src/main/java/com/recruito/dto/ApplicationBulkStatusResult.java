@@ -0,0 +1,14 @@
+package com.recruito.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ApplicationBulkStatusResult {
+    private int total;
+    private int updated; // status changed; ones already at the target succeed without a write
+    private int failed;
+    private List<ApplicationStatusResult> results = new ArrayList<>();
+}
@@ -16,6 +16,7 @@ public class ApplicationDto {
     private ApplicationStatus status;
     private String coverLetter;
     private String resumeUrl;
+    private Double matchScore;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,14 @@
+package com.recruito.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ApplicationPipelineDto {
+    private String jobId;
+    private String jobTitle;
+    private long total;
+    private List<PipelineColumnDto> columns = new ArrayList<>(); // One per ApplicationStatus, in enum order
+}
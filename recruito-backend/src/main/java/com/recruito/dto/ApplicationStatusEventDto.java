@@ -0,0 +1,18 @@
+package com.recruito.dto;
+
+import com.recruito.model.enums.ApplicationStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ApplicationStatusEventDto {
+    private String id;
+    private String applicationId;
+    private String jobId;
+    private ApplicationStatus fromStatus;
+    private ApplicationStatus toStatus;
+    private String actorId;
+    private LocalDateTime occurredAt;
+    private Long secondsInStage; // Timeline only: time spent in toStatus before the next event; null for the current stage
+}
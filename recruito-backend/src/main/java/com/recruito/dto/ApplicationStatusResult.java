@@ -0,0 +1,16 @@
+package com.recruito.dto;
+
+import com.recruito.model.enums.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusResult {
+    private String applicationId;
+    private boolean success;
+    private ApplicationStatus previousStatus; // null when the application could not be read
+    private String error;
+}
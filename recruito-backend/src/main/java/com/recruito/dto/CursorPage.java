@@ -0,0 +1,17 @@
+package com.recruito.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor; // Pass back as ?after= to fetch the next slice; null on the last slice
+    private boolean hasNext;
+    private int size;
+}
@@ -1,6 +1,8 @@
 package com.recruito.dto;
 
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -15,6 +17,10 @@ public class InterviewCreateRequest {
     @Future(message = "Scheduled time must be in the future")
     private LocalDateTime scheduledAt;
     
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    @Max(value = 480, message = "Duration cannot exceed 480 minutes")
+    private Integer durationMinutes; // Defaults to 60
+    
     private String location;
     private String interviewType;
     private String notes;
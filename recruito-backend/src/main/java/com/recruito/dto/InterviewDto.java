@@ -16,6 +16,7 @@ public class InterviewDto {
     private String recruiterName;
     private String recruiterEmail;
     private LocalDateTime scheduledAt;
+    private Integer durationMinutes;
     private LocalDateTime completedAt;
     private String notes;
     private String location;
@@ -0,0 +1,30 @@
+package com.recruito.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class InterviewSlotBatchRequest {
+    @NotNull(message = "Job ID is required")
+    private String jobId;
+    
+    // A start time may be repeated to publish parallel slots (several interview panels)
+    @NotEmpty(message = "At least one start time is required")
+    @Size(max = 1000, message = "At most 1000 slots can be published at once")
+    private List<@NotNull @Future(message = "Slot start times must be in the future") LocalDateTime> startTimes;
+    
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    @Max(value = 480, message = "Duration cannot exceed 480 minutes")
+    private Integer durationMinutes; // Defaults to 60
+    
+    private String location;
+    private String interviewType;
+}
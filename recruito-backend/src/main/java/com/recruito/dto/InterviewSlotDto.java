@@ -0,0 +1,19 @@
+package com.recruito.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class InterviewSlotDto {
+    private String id;
+    private String jobId;
+    private String recruiterId;
+    private LocalDateTime startsAt;
+    private Integer durationMinutes;
+    private String location;
+    private String interviewType;
+    private boolean booked;
+    private String interviewId; // Only on the candidate's own booking
+    private LocalDateTime bookedAt;
+}
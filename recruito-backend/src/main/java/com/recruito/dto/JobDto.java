@@ -5,6 +5,7 @@ import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class JobDto {
@@ -12,6 +13,8 @@ public class JobDto {
     private String title;
     private String description;
     private String location;
+    private String normalizedLocation;
+    private Double distanceKm; // only set on near searches
     private String department;
     private String employmentType;
     private BigDecimal salaryMin;
@@ -22,5 +25,6 @@ public class JobDto {
     private LocalDateTime createdAt;
     private LocalDateTime publishedAt;
     private Long applicationCount;
+    private Map<String, Long> applicationCountsByStatus;
 }
 
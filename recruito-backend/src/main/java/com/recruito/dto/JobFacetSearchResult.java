@@ -0,0 +1,14 @@
+package com.recruito.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobFacetSearchResult {
+    private Page<JobDto> jobs;
+    private JobFacets facets;
+}
@@ -0,0 +1,16 @@
+package com.recruito.dto;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Facet value -> number of matching jobs, most frequent first (salary bands in ascending order)
+@Data
+public class JobFacets {
+    private Map<String, Long> department = new LinkedHashMap<>();
+    private Map<String, Long> employmentType = new LinkedHashMap<>();
+    private Map<String, Long> location = new LinkedHashMap<>();
+    private Map<String, Long> salaryBand = new LinkedHashMap<>();
+    private Map<String, Long> status = new LinkedHashMap<>();
+}
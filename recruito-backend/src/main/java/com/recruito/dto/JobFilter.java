@@ -0,0 +1,25 @@
+package com.recruito.dto;
+
+import com.recruito.model.enums.JobStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Structured job filter; every field is optional. salaryMin/salaryMax describe the range the
+// caller is interested in and match jobs whose advertised range overlaps it.
+@Data
+public class JobFilter {
+    private JobStatus status;
+    private String department;
+    private String employmentType;
+    private BigDecimal salaryMin;
+    private BigDecimal salaryMax;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime publishedAfter;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime publishedBefore;
+}
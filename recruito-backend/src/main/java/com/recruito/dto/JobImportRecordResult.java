@@ -0,0 +1,15 @@
+package com.recruito.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobImportRecordResult {
+    private int record; // 1-based position in the upload, excluding the CSV header
+    private boolean success;
+    private String jobId;
+    private String error;
+}
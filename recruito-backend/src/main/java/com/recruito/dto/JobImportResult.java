@@ -0,0 +1,14 @@
+package com.recruito.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class JobImportResult {
+    private int total;
+    private int imported;
+    private int failed;
+    private List<JobImportRecordResult> records = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package com.recruito.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSuggestion {
+    private String text;
+    private String field; // title, department or location
+    private int jobCount; // published jobs carrying this value
+}
@@ -0,0 +1,18 @@
+package com.recruito.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessagePage {
+    private List<MessageDto> content; // Oldest first
+    private String beforeCursor; // Pass back as ?before= to load older messages; null when none are left or the page is empty
+    private String afterCursor; // Pass back as ?after= to load newer messages (e.g. when polling)
+    private boolean hasOlder;
+    private boolean hasNewer;
+}
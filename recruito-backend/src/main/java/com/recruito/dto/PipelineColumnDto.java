@@ -0,0 +1,16 @@
+package com.recruito.dto;
+
+import com.recruito.model.enums.ApplicationStatus;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class PipelineColumnDto {
+    private ApplicationStatus status;
+    private long count;
+    private List<ApplicationDto> cards = new ArrayList<>(); // Newest first
+    private String nextCursor; // Pass back as ?after= on /pipeline/{status} for the next cards of this column
+    private boolean hasNext;
+}
@@ -0,0 +1,13 @@
+package com.recruito.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ApplicationChangedEvent {
+    
+    private final String applicationId;
+    
+    private final String jobId;
+}
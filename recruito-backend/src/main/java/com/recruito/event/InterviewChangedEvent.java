@@ -0,0 +1,12 @@
+package com.recruito.event;
+
+import com.recruito.model.Interview;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InterviewChangedEvent {
+    
+    private final Interview interview;
+}
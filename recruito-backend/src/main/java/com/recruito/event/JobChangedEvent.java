@@ -0,0 +1,22 @@
+package com.recruito.event;
+
+import com.recruito.model.Job;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class JobChangedEvent {
+    
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        PUBLISHED,
+        CLOSED,
+        DELETED
+    }
+    
+    private final Job job; // State after the change (last known state for DELETED)
+    
+    private final ChangeType changeType;
+}
@@ -0,0 +1,14 @@
+package com.recruito.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Application counters of these jobs were rewritten outside the application write path (reconciler, rebuild)
+@Getter
+@AllArgsConstructor
+public class JobCountersChangedEvent {
+    
+    private final List<String> jobIds;
+}
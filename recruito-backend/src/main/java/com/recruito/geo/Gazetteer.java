@@ -0,0 +1,203 @@
+package com.recruito.geo;
+
+import com.recruito.model.Job;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Resolves free-text job locations ("Bangalore", "Bengaluru, KA", "Gurgaon - Haryana") to a canonical
+// place with coordinates, using the offline gazetteer bundled under resources/gazetteer.
+@Component
+public class Gazetteer {
+
+    private static final Logger log = LoggerFactory.getLogger(Gazetteer.class);
+
+    private static final int MAX_CACHED_LOCATIONS = 10_000;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern PART_SEPARATORS = Pattern.compile("[,;/|()\\-]+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9 ]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${app.geo.gazetteer:classpath:gazetteer/cities.tsv}")
+    private String gazetteerLocation;
+
+    // Names and aliases -> candidate places, in file order
+    private final Map<String, List<Place>> placesByName = new HashMap<>();
+
+    // Raw location -> resolution (Optional.empty() for misses), so repeated writes never re-parse a location
+    private final Map<String, Optional<Place>> resolved = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Optional<Place>> eldest) {
+            return size() > MAX_CACHED_LOCATIONS;
+        }
+    };
+
+    @Getter
+    @AllArgsConstructor
+    public static class Place {
+        private final String name;
+        private final String admin1Code;
+        private final String admin1Name;
+        private final String countryCode;
+        private final String countryName;
+        private final double latitude;
+        private final double longitude;
+
+        public String getDisplayName() {
+            return name + ", " + admin1Name + ", " + countryName;
+        }
+
+        public GeoJsonPoint toPoint() {
+            return new GeoJsonPoint(longitude, latitude);
+        }
+
+        private boolean isQualifiedBy(String part) {
+            return part.equals(normalize(admin1Code)) || part.equals(normalize(admin1Name))
+                    || part.equals(normalize(countryCode)) || part.equals(normalize(countryName));
+        }
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        int places = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                resourceLoader.getResource(gazetteerLocation).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t", -1);
+                if (columns.length < 7) {
+                    log.warn("Skipping malformed gazetteer line: {}", line);
+                    continue;
+                }
+
+                Place place = new Place(columns[0], columns[1], columns[2], columns[3], columns[4],
+                        Double.parseDouble(columns[5]), Double.parseDouble(columns[6]));
+                register(columns[0], place);
+                if (columns.length > 7 && !columns[7].isBlank()) {
+                    for (String alias : columns[7].split(",")) {
+                        register(alias, place);
+                    }
+                }
+                places++;
+            }
+        }
+        log.info("Loaded {} gazetteer places from {}", places, gazetteerLocation);
+    }
+
+    public Optional<Place> resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+        synchronized (resolved) {
+            Optional<Place> cached = resolved.get(location);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Optional<Place> place = Optional.ofNullable(lookup(location));
+        synchronized (resolved) {
+            resolved.put(location, place);
+        }
+        return place;
+    }
+
+    // Sets the normalized location and point from job.location; both are cleared when it cannot be resolved
+    public void locate(Job job) {
+        Optional<Place> place = resolve(job.getLocation());
+        job.setNormalizedLocation(place.map(Place::getDisplayName).orElse(null));
+        job.setLocationPoint(place.map(Place::toPoint).orElse(null));
+    }
+
+    private Place lookup(String location) {
+        String whole = normalize(location);
+        Place place = pick(whole, List.of());
+        if (place != null) {
+            return place;
+        }
+
+        // "Bengaluru, KA" / "Gurgaon - Haryana": try each part, using the others to disambiguate
+        List<String> parts = new ArrayList<>();
+        for (String part : PART_SEPARATORS.split(location)) {
+            String normalized = normalize(part);
+            if (!normalized.isEmpty()) {
+                parts.add(normalized);
+            }
+        }
+        for (String part : parts) {
+            place = pick(part, parts);
+            if (place != null) {
+                return place;
+            }
+        }
+
+        // "San Francisco Bay Area": drop trailing words from the first part
+        if (!parts.isEmpty()) {
+            String[] words = parts.get(0).split(" ");
+            for (int length = words.length - 1; length >= 1; length--) {
+                place = pick(String.join(" ", Arrays.copyOf(words, length)), parts);
+                if (place != null) {
+                    return place;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Place pick(String name, List<String> qualifiers) {
+        List<Place> candidates = placesByName.get(name);
+        if (candidates == null) {
+            return null;
+        }
+        for (Place candidate : candidates) {
+            for (String qualifier : qualifiers) {
+                if (candidate.isQualifiedBy(qualifier)) {
+                    return candidate;
+                }
+            }
+        }
+        return candidates.get(0);
+    }
+
+    private void register(String name, Place place) {
+        String key = normalize(name);
+        if (!key.isEmpty()) {
+            placesByName.computeIfAbsent(key, k -> new ArrayList<>()).add(place);
+        }
+    }
+
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String lower = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(NON_ALPHANUMERIC.matcher(lower).replaceAll(" ")).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,123 @@
+package com.recruito.migration;
+
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+// Backfills Application.recruiterId from the owning job. Runs in the background after startup, in
+// batches ordered by _id; the last processed id is checkpointed in the migrations collection so a
+// restart resumes where it stopped. Until it has finished, recruiter-scoped reads go through job ids.
+@Component
+public class ApplicationRecruiterMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationRecruiterMigration.class);
+
+    private static final String MIGRATIONS_COLLECTION = "migrations";
+    private static final String MIGRATION_ID = "application-recruiterId";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.batch-size:500}")
+    private int batchSize;
+
+    private volatile boolean complete;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Document progress = mongoTemplate.findById(MIGRATION_ID, Document.class, MIGRATIONS_COLLECTION);
+        if (progress != null && progress.get("completedAt") != null) {
+            complete = true;
+            return;
+        }
+
+        String lastId = progress != null ? progress.getString("lastId") : null;
+        CompletableFuture.runAsync(() -> backfill(lastId)).exceptionally(e -> {
+            log.error("Application recruiterId backfill stopped, it resumes on the next startup", e);
+            return null;
+        });
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // Matches the applications to jobs owned by the recruiter
+    public Criteria recruiterCriteria(String recruiterId) {
+        if (complete) {
+            return Criteria.where("recruiterId").is(recruiterId);
+        }
+
+        Query jobQuery = new Query(Criteria.where("recruiterId").is(recruiterId));
+        jobQuery.fields().include("id");
+        List<String> jobIds = mongoTemplate.find(jobQuery, Job.class).stream()
+                .map(Job::getId)
+                .collect(Collectors.toList());
+        return Criteria.where("jobId").in(jobIds);
+    }
+
+    private void backfill(String lastId) {
+        long processed = 0;
+        while (true) {
+            Query query = new Query(Criteria.where("recruiterId").exists(false));
+            if (lastId != null) {
+                query.addCriteria(Criteria.where("id").gt(lastId));
+            }
+            query.with(Sort.by("id")).limit(batchSize);
+            query.fields().include("jobId");
+            List<Application> batch = mongoTemplate.find(query, Application.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Set<String> jobIds = batch.stream().map(Application::getJobId).collect(Collectors.toSet());
+            Query jobQuery = new Query(Criteria.where("id").in(jobIds));
+            jobQuery.fields().include("recruiterId");
+            Map<String, String> recruiterByJobId = new HashMap<>();
+            mongoTemplate.find(jobQuery, Job.class).forEach(job -> recruiterByJobId.put(job.getId(), job.getRecruiterId()));
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+            for (Application application : batch) {
+                // Applications to deleted jobs get a null recruiterId so they are not scanned again
+                bulk.updateOne(
+                        new Query(Criteria.where("id").is(application.getId()).and("recruiterId").exists(false)),
+                        Update.update("recruiterId", recruiterByJobId.get(application.getJobId())));
+            }
+            bulk.execute();
+
+            lastId = batch.get(batch.size() - 1).getId();
+            processed += batch.size();
+            saveProgress(new Update().set("lastId", lastId).inc("processed", batch.size()));
+        }
+
+        saveProgress(new Update().set("completedAt", LocalDateTime.now()));
+        complete = true;
+        log.info("Backfilled recruiterId on {} applications", processed);
+    }
+
+    private void saveProgress(Update update) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(MIGRATION_ID)),
+                update.set("updatedAt", LocalDateTime.now()), MIGRATIONS_COLLECTION);
+    }
+}
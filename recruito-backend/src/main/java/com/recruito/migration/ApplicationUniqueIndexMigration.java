@@ -0,0 +1,63 @@
+package com.recruito.migration;
+
+import com.recruito.scheduling.MongoLease;
+import com.recruito.service.JobCounterService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// The (jobId, candidateId) index used to be non-unique. It is rebuilt as unique here, synchronously and on one
+// node at a time, after moving aside duplicate applications left by the old check-then-insert flow; the jobs
+// they belonged to get their counters repaired. Applies are refused until the unique index is known to
+// exist, since nothing else stops a second apply.
+@Component
+public class ApplicationUniqueIndexMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationUniqueIndexMigration.class);
+
+    private static final String INDEX_NAME = "jobId_candidateId";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoLease mongoLease;
+
+    @Autowired
+    private JobCounterService jobCounterService;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        List<Document> moved = UniqueIndexes.migrate(mongoTemplate, mongoLease, "applications", INDEX_NAME,
+                new Document("jobId", 1).append("candidateId", 1));
+        ready = true;
+        // The moved applications were still counted on their jobs
+        Set<String> jobIds = moved.stream()
+                .map(application -> application.getString("jobId"))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        int repaired = jobCounterService.repairCounters(jobIds);
+        if (repaired > 0) {
+            log.info("Repaired application counters on {} jobs after moving duplicate applications", repaired);
+        }
+    }
+}
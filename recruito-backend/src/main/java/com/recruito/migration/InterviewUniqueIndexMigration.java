@@ -0,0 +1,38 @@
+package com.recruito.migration;
+
+import com.recruito.scheduling.MongoLease;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+// Same as ApplicationUniqueIndexMigration, for the interviews applicationId index: extra interviews of an
+// application are moved aside, the index is rebuilt as unique, and scheduling is refused until it exists.
+@Component
+public class InterviewUniqueIndexMigration {
+
+    private static final String INDEX_NAME = "applicationId";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoLease mongoLease;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        UniqueIndexes.migrate(mongoTemplate, mongoLease, "interviews", INDEX_NAME, new Document("applicationId", 1));
+        ready = true;
+    }
+}
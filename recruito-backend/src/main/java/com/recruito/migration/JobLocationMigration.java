@@ -0,0 +1,66 @@
+package com.recruito.migration;
+
+import com.recruito.geo.Gazetteer;
+import com.recruito.model.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+// Resolves the location of jobs written before locations were normalized. Unresolvable locations are
+// marked with a null normalizedLocation so later startups skip them; idempotent otherwise.
+@Component
+public class JobLocationMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLocationMigration.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        Query query = new Query(Criteria.where("location").ne(null).and("normalizedLocation").exists(false));
+        query.fields().include("location");
+
+        int updated = 0;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            for (Job job : (Iterable<Job>) jobs::iterator) {
+                gazetteer.locate(job);
+                Update update = new Update()
+                        .set("normalizedLocation", job.getNormalizedLocation())
+                        .set("locationPoint", job.getLocationPoint());
+                bulk.updateOne(new Query(Criteria.where("_id").is(job.getId())), update);
+                if (++pending == BATCH_SIZE) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            updated += bulk.execute().getModifiedCount();
+        }
+        if (updated > 0) {
+            log.info("Normalized the location of {} jobs", updated);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.recruito.migration;
+
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Converts salaryMin/salaryMax written before they were mapped as Decimal128 (strings, or plain numbers
+// from manual inserts) in place with a single pipeline update. Idempotent: converted documents no longer match.
+@Component
+public class JobSalaryMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSalaryMigration.class);
+
+    private static final List<String> SALARY_FIELDS = List.of("salaryMin", "salaryMax");
+    private static final List<String> LEGACY_TYPES = List.of("string", "double", "int", "long");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        List<Document> legacyFilters = new ArrayList<>();
+        Document conversions = new Document();
+        for (String field : SALARY_FIELDS) {
+            legacyFilters.add(new Document(field, new Document("$type", LEGACY_TYPES)));
+            // Unparseable strings become null rather than failing the whole update
+            conversions.append(field, new Document("$convert", new Document("input", "$" + field)
+                    .append("to", "decimal")
+                    .append("onError", null)
+                    .append("onNull", null)));
+        }
+
+        UpdateResult result = mongoTemplate.getCollection("jobs").updateMany(
+                new Document("$or", legacyFilters),
+                List.of(new Document("$set", conversions)));
+        if (result.getModifiedCount() > 0) {
+            log.info("Converted salary fields of {} jobs to Decimal128", result.getModifiedCount());
+        }
+    }
+}
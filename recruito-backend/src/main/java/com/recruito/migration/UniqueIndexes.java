@@ -0,0 +1,124 @@
+package com.recruito.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.recruito.scheduling.MongoLease;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Turns a non-unique index into a unique one. Documents that share a key are resolved first: the oldest
+// (lowest _id) stays, and the others move to <collection>_duplicates for review. The old index keeps serving
+// reads until the unique one is built: a unique copy is built first under a temporary name (partial on the
+// first key, so Mongo accepts it next to an index with the same keys), then the old index is swapped for the
+// unique one, and the copy is dropped. Uniqueness is enforced from the first build on. The index is the only
+// thing enforcing uniqueness, so a failed build has to stop startup; logging it would leave the app running
+// unguarded. Callers run this under a lease, so only one node migrates at a time.
+final class UniqueIndexes {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueIndexes.class);
+
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final Duration LEASE_DURATION = Duration.ofMinutes(30);
+    private static final long WAIT_MILLIS = 1000;
+
+    private UniqueIndexes() {
+    }
+
+    static boolean isUnique(MongoTemplate mongoTemplate, String collection, String indexName) {
+        for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+            if (indexName.equals(index.getString("name"))) {
+                return Boolean.TRUE.equals(index.getBoolean("unique"));
+            }
+        }
+        return false;
+    }
+
+    // Makes the index unique once across the cluster. The node holding the lease migrates; the others wait for
+    // the unique index, or take over if the holder's lease runs out. Returns the documents this node moved aside.
+    static List<Document> migrate(MongoTemplate mongoTemplate, MongoLease mongoLease, String collection,
+                                  String indexName, Document keys) {
+        String leaseName = "unique-index:" + collection + "." + indexName;
+        while (!isUnique(mongoTemplate, collection, indexName)) {
+            if (mongoLease.tryAcquire(MIGRATIONS_COLLECTION, leaseName, LEASE_DURATION)) {
+                try {
+                    // Another node may have finished between the check and the lease
+                    return isUnique(mongoTemplate, collection, indexName)
+                            ? List.of()
+                            : ensureUnique(mongoTemplate, collection, indexName, keys);
+                } finally {
+                    mongoLease.release(MIGRATIONS_COLLECTION, leaseName);
+                }
+            }
+            log.info("Waiting for another node to build unique index {} on {}", indexName, collection);
+            try {
+                Thread.sleep(WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for unique index " + indexName, e);
+            }
+        }
+        return List.of();
+    }
+
+    private static List<Document> ensureUnique(MongoTemplate mongoTemplate, String collection, String indexName,
+                                               Document keys) {
+        MongoCollection<Document> source = mongoTemplate.getCollection(collection);
+        List<Document> moved = moveDuplicates(mongoTemplate, collection, keys);
+        if (!moved.isEmpty()) {
+            log.warn("Moved {} documents that duplicate the {} key of {} to {}_duplicates",
+                    moved.size(), indexName, collection, collection);
+        }
+
+        // Throws (and so fails startup) if the build still finds a duplicate
+        String copyName = indexName + "_unique";
+        String firstKey = keys.keySet().iterator().next();
+        source.createIndex(keys, new IndexOptions().name(copyName).unique(true)
+                .partialFilterExpression(new Document(firstKey, new Document("$exists", true))));
+
+        // Mongo refuses to change the options of an existing index, so the old one is dropped and rebuilt
+        for (Document index : source.listIndexes()) {
+            if (indexName.equals(index.getString("name"))) {
+                source.dropIndex(indexName);
+            }
+        }
+        source.createIndex(keys, new IndexOptions().name(indexName).unique(true));
+        source.dropIndex(copyName);
+        log.info("Built unique index {} on {}", indexName, collection);
+        return moved;
+    }
+
+    private static List<Document> moveDuplicates(MongoTemplate mongoTemplate, String collection, Document keys) {
+        Document groupKey = new Document();
+        keys.keySet().forEach(field -> groupKey.append(field, "$" + field));
+        List<Document> pipeline = List.of(
+                new Document("$sort", new Document("_id", 1)),
+                new Document("$group", new Document("_id", groupKey)
+                        .append("ids", new Document("$push", "$_id"))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$match", new Document("count", new Document("$gt", 1))));
+
+        MongoCollection<Document> source = mongoTemplate.getCollection(collection);
+        MongoCollection<Document> archive = mongoTemplate.getCollection(collection + "_duplicates");
+        List<Document> groups = source.aggregate(pipeline).allowDiskUse(true).into(new ArrayList<>());
+        List<Document> moved = new ArrayList<>();
+        for (Document group : groups) {
+            List<Object> ids = group.getList("ids", Object.class);
+            Document extras = new Document("_id", new Document("$in", ids.subList(1, ids.size())));
+            // Copied before they are deleted, so a crash in between leaves two copies rather than none
+            for (Document duplicate : source.find(extras)) {
+                archive.replaceOne(new Document("_id", duplicate.get("_id")), duplicate,
+                        new ReplaceOptions().upsert(true));
+                moved.add(duplicate);
+            }
+            source.deleteMany(extras);
+        }
+        return moved;
+    }
+}
@@ -7,10 +7,26 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+@CompoundIndexes({
+    @CompoundIndex(name = "candidateId_createdAt_id", def = "{'candidateId': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "jobId_createdAt_id", def = "{'jobId': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "jobId_status_createdAt_id", def = "{'jobId': 1, 'status': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "jobId_candidateId", def = "{'jobId': 1, 'candidateId': 1}", unique = true),
+    @CompoundIndex(name = "status_createdAt", def = "{'status': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "recruiterId_status_createdAt", def = "{'recruiterId': 1, 'status': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "recruiterId_createdAt_id", def = "{'recruiterId': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "pendingStatusChanges_transitionId", def = "{'pendingStatusChanges.transitionId': 1}",
+            partialFilter = "{'pendingStatusChanges.transitionId': {'$exists': true}}"),
+    @CompoundIndex(name = "jobId_matchScore_id", def = "{'jobId': 1, 'matchScore': -1, '_id': -1}"),
+    @CompoundIndex(name = "screenedAt", def = "{'screenedAt': 1}")
+})
 @Document(collection = "applications")
 @Data
 @NoArgsConstructor
@@ -23,12 +39,25 @@ public class Application {
     
     private String candidateId; // Reference to User
     
+    private String recruiterId; // Copied from the job on apply, so recruiter views need no job lookup
+    
     private ApplicationStatus status = ApplicationStatus.APPLIED;
     
     private String coverLetter;
     
     private String resumeUrl;
     
+    // Written together with status; the full history is in application_events
+    private ApplicationStatusEvent lastStatusChange;
+    
+    // Transitions whose event may not be in application_events yet: pushed with the status, pulled once the
+    // event is written, and replayed by the catch-up pass if the event insert was lost
+    private List<ApplicationStatusEvent> pendingStatusChanges;
+    
+    private Double matchScore; // 0-100 resume match against the job; null until screened or when unreadable
+    
+    private LocalDateTime screenedAt;
+    
     @CreatedDate
     private LocalDateTime createdAt;
     
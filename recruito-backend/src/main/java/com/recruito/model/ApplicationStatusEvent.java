@@ -0,0 +1,47 @@
+package com.recruito.model;
+
+import com.recruito.model.enums.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// One application status transition. Append-only: events are inserted, never updated or deleted.
+@CompoundIndexes({
+    @CompoundIndex(name = "applicationId_occurredAt_id", def = "{'applicationId': 1, 'occurredAt': 1, '_id': 1}"),
+    @CompoundIndex(name = "occurredAt_id", def = "{'occurredAt': 1, '_id': 1}"),
+    // Events from before transitionId existed have none; their _id is the transition id
+    @CompoundIndex(name = "transitionId", def = "{'transitionId': 1}", unique = true,
+            partialFilter = "{'transitionId': {'$type': 'string'}}")
+})
+@Document(collection = "application_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusEvent {
+    @Id
+    private String id; // ObjectId assigned when the event is inserted; the change feed is ordered by it
+    
+    private String transitionId; // Assigned when the transition is made and kept on the application, so an event is appended once
+    
+    private String applicationId; // Reference to Application
+    
+    private String jobId;
+    
+    private String recruiterId;
+    
+    private String candidateId;
+    
+    private ApplicationStatus fromStatus; // null for the initial APPLIED event
+    
+    private ApplicationStatus toStatus;
+    
+    private String actorId; // User who made the change
+    
+    private LocalDateTime occurredAt;
+}
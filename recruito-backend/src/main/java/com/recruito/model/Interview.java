@@ -7,10 +7,21 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@CompoundIndexes({
+    @CompoundIndex(name = "candidateId_scheduledAt_id", def = "{'candidateId': 1, 'scheduledAt': 1, '_id': 1}"),
+    @CompoundIndex(name = "recruiterId_scheduledAt_id", def = "{'recruiterId': 1, 'scheduledAt': 1, '_id': 1}"),
+    @CompoundIndex(name = "scheduledAt", def = "{'scheduledAt': 1}"),
+    @CompoundIndex(name = "updatedAt", def = "{'updatedAt': 1}"),
+    @CompoundIndex(name = "recruiterId_updatedAt_id", def = "{'recruiterId': 1, 'updatedAt': 1, '_id': 1}"),
+    @CompoundIndex(name = "candidateId_updatedAt_id", def = "{'candidateId': 1, 'updatedAt': 1, '_id': 1}"),
+    @CompoundIndex(name = "applicationId", def = "{'applicationId': 1}", unique = true)
+})
 @Document(collection = "interviews")
 @Data
 @NoArgsConstructor
@@ -25,8 +36,12 @@ public class Interview {
     
     private String recruiterId; // Reference to User
     
+    private String slotId; // Booked InterviewSlot, which holds the time while set
+    
     private LocalDateTime scheduledAt;
     
+    private Integer durationMinutes; // null on interviews created before durations; treated as 60
+    
     private LocalDateTime completedAt;
     
     private String notes;
@@ -0,0 +1,40 @@
+package com.recruito.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Lease and delivery record of one reminder, keyed by interview, lead time and scheduled time. Every node
+// times reminders on its own; whichever claims the lease first sends the mail. Rescheduling an interview
+// gives its reminders new ids, so they go out again for the new time.
+@Document(collection = "interview_reminders")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterviewReminder {
+    @Id
+    private String id; // interviewId:leadMinutes:scheduledAt epoch seconds
+    
+    private String interviewId; // Reference to Interview
+    
+    private Integer leadMinutes;
+    
+    // TTL: dropped 30 days after the interview, long after any reminder for it could fire
+    @Indexed(expireAfterSeconds = 2592000)
+    private LocalDateTime scheduledAt;
+    
+    private String leaseOwner; // Node holding the lease
+    
+    private LocalDateTime leaseUntil;
+    
+    private Integer attempts;
+    
+    private LocalDateTime sentAt;
+    
+    private LocalDateTime failedAt; // Set once attempts are used up
+}
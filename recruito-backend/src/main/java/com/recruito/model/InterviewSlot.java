@@ -0,0 +1,65 @@
+package com.recruito.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// An interview time a recruiter published for candidates to book themselves. Open while candidateId is null;
+// claimed with a single conditional update, so a slot can never be booked twice.
+@CompoundIndexes({
+    @CompoundIndex(name = "jobId_startsAt_id", def = "{'jobId': 1, 'startsAt': 1, '_id': 1}"),
+    // One booked slot per candidate and job
+    @CompoundIndex(name = "jobId_candidateId", def = "{'jobId': 1, 'candidateId': 1}", unique = true,
+            partialFilter = "{'candidateId': {'$type': 'string'}}"),
+    @CompoundIndex(name = "updatedAt", def = "{'updatedAt': 1}"),
+    @CompoundIndex(name = "startsAt", def = "{'startsAt': 1}"),
+    @CompoundIndex(name = "recruiterId_startsAt", def = "{'recruiterId': 1, 'startsAt': 1}")
+})
+@Document(collection = "interview_slots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterviewSlot {
+    @Id
+    private String id;
+    
+    private String jobId; // Reference to Job
+    
+    private String recruiterId; // Reference to User
+    
+    private LocalDateTime startsAt;
+    
+    private Integer durationMinutes;
+    
+    // Parallel panel the slot runs on: the n-th repeat of a start time in its batch. Panel 0 is the
+    // recruiter's own time; null on slots published before panels, treated as 0.
+    private Integer panel;
+    
+    private String location;
+    private String interviewType; // PHONE, VIDEO, IN_PERSON
+    
+    private String candidateId; // Set when booked
+    
+    private String applicationId;
+    
+    private String interviewId; // Interview created for the booking
+    
+    private LocalDateTime bookedAt;
+    
+    // Set when the booked interview was moved to another time; the slot no longer holds its time
+    private LocalDateTime releasedAt;
+    
+    @CreatedDate
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
@@ -7,11 +7,29 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
+@CompoundIndexes({
+    @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_publishedAt_id", def = "{'status': 1, 'publishedAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_title_id", def = "{'status': 1, 'title': 1, '_id': 1}"),
+    @CompoundIndex(name = "recruiterId_createdAt_id", def = "{'recruiterId': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "updatedAt", def = "{'updatedAt': 1}"),
+    @CompoundIndex(name = "status_department_publishedAt_id", def = "{'status': 1, 'department': 1, 'publishedAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_employmentType_publishedAt_id", def = "{'status': 1, 'employmentType': 1, 'publishedAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_salaryMin_salaryMax", def = "{'status': 1, 'salaryMin': 1, 'salaryMax': 1}"),
+    @CompoundIndex(name = "locationPoint_status", def = "{'locationPoint': '2dsphere', 'status': 1}")
+})
 @Document(collection = "jobs")
 @Data
 @NoArgsConstructor
@@ -26,17 +44,28 @@ public class Job {
     
     private String location;
     
+    // Resolved from location against the bundled gazetteer on every write; null when unresolved
+    private String normalizedLocation; // e.g. "Bengaluru, Karnataka, India"
+    private GeoJsonPoint locationPoint;
+    
     private String department;
     private String employmentType; // FULL_TIME, PART_TIME, CONTRACT
     
+    // Stored as Decimal128 (BigDecimal defaults to a string) so range queries and sorting compare numerically
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal salaryMin;
     
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal salaryMax;
     
     private JobStatus status = JobStatus.DRAFT;
     
     private String recruiterId; // Reference to User
     
+    // Denormalized counters, maintained with $inc by JobCounterService
+    private Long applicationCount = 0L;
+    private Map<String, Long> applicationCountsByStatus = new HashMap<>(); // keyed by ApplicationStatus name
+    
     @CreatedDate
     private LocalDateTime createdAt;
     
@@ -5,10 +5,17 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@CompoundIndexes({
+    @CompoundIndex(name = "chatRoomId_createdAt_id", def = "{'chatRoomId': 1, 'createdAt': 1, '_id': 1}"),
+    @CompoundIndex(name = "chatRoomId_receiverId_isRead", def = "{'chatRoomId': 1, 'receiverId': 1, 'isRead': 1}"),
+    @CompoundIndex(name = "receiverId_isRead", def = "{'receiverId': 1, 'isRead': 1}")
+})
 @Document(collection = "messages")
 @Data
 @NoArgsConstructor
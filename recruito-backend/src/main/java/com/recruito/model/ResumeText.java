@@ -0,0 +1,26 @@
+package com.recruito.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Text extracted from an uploaded resume, keyed by stored file name. Uploads are never overwritten
+// (FileController names them with a random UUID), so an entry never goes stale.
+@Document(collection = "resume_texts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeText {
+    @Id
+    private String id; // Stored file name under the upload directory
+    
+    private String text; // null when the file could not be read
+    
+    private String error;
+    
+    private LocalDateTime extractedAt;
+}
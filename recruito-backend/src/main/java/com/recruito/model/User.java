@@ -29,12 +29,17 @@ public class User {
     
     private String lastName;
     
+    @Indexed
     private Role role;
     
     private String phone;
     private String resumeUrl;
     private String profilePictureUrl;
     
+    // Secret part of the user's ICS feed URL; rotating it revokes the old URL
+    @Indexed(unique = true, sparse = true)
+    private String calendarFeedToken;
+    
     @CreatedDate
     private LocalDateTime createdAt;
     
@@ -0,0 +1,12 @@
+package com.recruito.repository;
+
+import com.recruito.model.ApplicationStatusEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApplicationStatusEventRepository extends MongoRepository<ApplicationStatusEvent, String> {
+    List<ApplicationStatusEvent> findByApplicationIdOrderByOccurredAtAscIdAsc(String applicationId);
+}
@@ -12,7 +12,11 @@ import java.util.List;
 public interface InterviewRepository extends MongoRepository<Interview, String> {
     List<Interview> findByCandidateId(String candidateId);
     List<Interview> findByRecruiterId(String recruiterId);
+    long countByRecruiterId(String recruiterId);
     
     @Query("{ 'scheduledAt': { $gte: ?0, $lte: ?1 } }")
     List<Interview> findInterviewsBetweenDates(LocalDateTime start, LocalDateTime end);
+    
+    @Query("{ 'recruiterId': ?0, 'scheduledAt': { $gte: ?1, $lte: ?2 } }")
+    List<Interview> findRecruiterInterviewsBetweenDates(String recruiterId, LocalDateTime start, LocalDateTime end);
 }
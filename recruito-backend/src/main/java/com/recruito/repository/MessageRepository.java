@@ -9,8 +9,6 @@ import java.util.List;
 
 @Repository
 public interface MessageRepository extends MongoRepository<Message, String> {
-    List<Message> findByChatRoomIdOrderByCreatedAtAsc(String chatRoomId);
-    
     @Query("{ 'chatRoomId': ?0, 'receiverId': ?1, 'isRead': false }")
     List<Message> findUnreadMessages(String chatRoomId, String userId);
     
@@ -10,6 +10,7 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
+    Optional<User> findByCalendarFeedToken(String calendarFeedToken);
     boolean existsByEmail(String email);
     long countByRole(Role role);
 }
@@ -0,0 +1,133 @@
+package com.recruito.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hierarchical timing wheel (Varghese & Lauck). Level 0 has wheelSize buckets one tick wide, and every
+// level above has wheelSize buckets as wide as the whole level below. A timer goes into the lowest level
+// whose span covers its delay, and moves down a level each time the bucket it sits in comes up. Adding and
+// cancelling are O(1). Each tick empties one level-0 bucket, and a higher-level bucket is cascaded once per
+// rotation of the level below it. So the cost of a tick does not grow with the number of pending timers.
+// Not thread-safe; callers synchronize.
+final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks; // Width of one bucket per level, in ticks
+    private final List<ArrayDeque<Timer<T>>[]> levels = new ArrayList<>();
+    private final Map<String, Timer<T>> timersByKey = new HashMap<>();
+
+    private long currentTick;
+
+    private static final class Timer<T> {
+        private final String key;
+        private final long deadlineTick;
+        private final T value;
+        private boolean cancelled;
+
+        private Timer(String key, long deadlineTick, T value) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levelCount];
+        long ticks = 1;
+        for (int level = 0; level < levelCount; level++) {
+            levelTicks[level] = ticks;
+            ticks *= wheelSize;
+            ArrayDeque<Timer<T>>[] buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            levels.add(buckets);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // Latest deadline the wheel can hold from now; later timers have to be added closer to their time
+    long horizonMillis() {
+        return (levelTicks[levelTicks.length - 1] * wheelSize - 1) * tickMillis;
+    }
+
+    int size() {
+        return timersByKey.size();
+    }
+
+    // Adds or replaces the timer for key. Overdue deadlines fire on the next tick. Returns false (and drops
+    // any previous timer for key) when the deadline is beyond the horizon.
+    boolean schedule(String key, long deadlineMillis, T value) {
+        cancel(key);
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        if (deadlineTick - currentTick >= levelTicks[levelTicks.length - 1] * wheelSize) {
+            return false;
+        }
+        Timer<T> timer = new Timer<>(key, deadlineTick, value);
+        timersByKey.put(key, timer);
+        place(timer);
+        return true;
+    }
+
+    boolean cancel(String key) {
+        Timer<T> timer = timersByKey.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        // Left in its bucket and skipped when the bucket comes up
+        timer.cancelled = true;
+        return true;
+    }
+
+    // Moves the wheel up to nowMillis and returns the values whose deadline has passed, in deadline order
+    List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so timers cascaded into the current lower-level bucket are seen below
+            for (int level = levelTicks.length - 1; level >= 1; level--) {
+                if (currentTick % levelTicks[level] == 0) {
+                    ArrayDeque<Timer<T>> bucket = bucket(level, currentTick);
+                    int cascading = bucket.size();
+                    for (int i = 0; i < cascading; i++) {
+                        Timer<T> timer = bucket.poll();
+                        if (!timer.cancelled) {
+                            place(timer);
+                        }
+                    }
+                }
+            }
+            ArrayDeque<Timer<T>> expiring = bucket(0, currentTick);
+            Timer<T> timer;
+            while ((timer = expiring.poll()) != null) {
+                if (!timer.cancelled) {
+                    timersByKey.remove(timer.key);
+                    due.add(timer.value);
+                }
+            }
+        }
+        return due;
+    }
+
+    private void place(Timer<T> timer) {
+        long delay = Math.max(timer.deadlineTick - currentTick, 0);
+        int level = 0;
+        while (level < levelTicks.length - 1 && delay >= levelTicks[level] * wheelSize) {
+            level++;
+        }
+        // A cascaded timer due on the current tick goes to the level-0 bucket that is about to expire
+        bucket(level, Math.max(timer.deadlineTick, currentTick)).add(timer);
+    }
+
+    private ArrayDeque<Timer<T>> bucket(int level, long tick) {
+        return levels.get(level)[(int) ((tick / levelTicks[level]) % wheelSize)];
+    }
+}
@@ -0,0 +1,83 @@
+package com.recruito.scheduling;
+
+import com.recruito.model.Interview;
+import com.recruito.model.User;
+import com.recruito.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Writes and sends the reminder mails of an interview, one to the candidate and one to the recruiter.
+// Goes through spring.mail.*, so pointing spring.mail.host/port at a local SMTP stand-in (MailHog,
+// GreenMail, smtp4dev) captures every reminder without sending real mail.
+@Component
+public class InterviewReminderMailer {
+
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("EEEE d MMMM yyyy 'at' HH:mm");
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${app.reminders.from:${spring.mail.username:no-reply@recruito.local}}")
+    private String from;
+
+    // Throws MailException when the SMTP server refuses or cannot be reached
+    public void send(Interview interview, int leadMinutes) {
+        Map<String, User> users = userService.getUsersByIds(
+                List.of(interview.getCandidateId(), interview.getRecruiterId()));
+        User candidate = users.get(interview.getCandidateId());
+        User recruiter = users.get(interview.getRecruiterId());
+
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        if (candidate != null) {
+            messages.add(message(candidate, recruiter, interview, leadMinutes));
+        }
+        if (recruiter != null) {
+            messages.add(message(recruiter, candidate, interview, leadMinutes));
+        }
+        if (!messages.isEmpty()) {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        }
+    }
+
+    private SimpleMailMessage message(User to, User other, Interview interview, int leadMinutes) {
+        String with = other != null ? other.getFirstName() + " " + other.getLastName() : "your interviewer";
+        StringBuilder text = new StringBuilder()
+                .append("Hi ").append(to.getFirstName()).append(",\n\n")
+                .append("This is a reminder of your interview with ").append(with)
+                .append(" on ").append(interview.getScheduledAt().format(WHEN))
+                .append(" (").append(RecruiterAvailabilityIndex.durationOf(interview)).append(" minutes).\n");
+        if (interview.getInterviewType() != null) {
+            text.append("Type: ").append(interview.getInterviewType()).append("\n");
+        }
+        if (interview.getLocation() != null) {
+            text.append("Location: ").append(interview.getLocation()).append("\n");
+        }
+        text.append("\nRecruito");
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(to.getEmail());
+        message.setSubject("Interview reminder: " + describeLead(leadMinutes));
+        message.setText(text.toString());
+        return message;
+    }
+
+    private static String describeLead(int leadMinutes) {
+        if (leadMinutes % 60 == 0) {
+            int hours = leadMinutes / 60;
+            return "in " + hours + (hours == 1 ? " hour" : " hours");
+        }
+        return "in " + leadMinutes + " minutes";
+    }
+}
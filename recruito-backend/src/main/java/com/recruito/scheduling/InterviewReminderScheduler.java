@@ -0,0 +1,356 @@
+package com.recruito.scheduling;
+
+import com.recruito.event.InterviewChangedEvent;
+import com.recruito.model.Interview;
+import com.recruito.model.InterviewReminder;
+import com.recruito.model.enums.InterviewResponseStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Interview reminder mails, timed on a hierarchical timing wheel, so a tick costs the same with a million
+// reminders pending as with ten. Each node puts on its wheel the interviews starting inside the look-ahead
+// window. It loads them through the scheduledAt index, one new slice each time the window moves. The wheel
+// is kept current by InterviewChangedEvent (schedule, update, complete, respond) and by an updatedAt
+// catch-up of other nodes' writes. The wheel only tells a node when to try. Sending needs the reminder's
+// lease in interview_reminders, and only the node that claims it sends the mail.
+@Component
+public class InterviewReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(InterviewReminderScheduler.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4; // 64^4 one-second ticks, about 194 days
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+    private static final long LEASE_SECONDS = 120;
+    private static final long RETRY_DELAY_SECONDS = 300;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private InterviewReminderMailer mailer;
+
+    @Value("${app.reminders.enabled:false}")
+    private boolean enabled;
+
+    // How long before the interview each reminder goes out
+    @Value("${app.reminders.lead-minutes:1440,60}")
+    private String leadMinutesValue;
+
+    @Value("${app.reminders.look-ahead-minutes:60}")
+    private long lookAheadMinutes;
+
+    // A reminder missed by more than this (node down, SMTP outage) is dropped rather than sent late
+    @Value("${app.reminders.max-lateness-minutes:15}")
+    private long maxLatenessMinutes;
+
+    @Value("${app.reminders.senders:2}")
+    private int senders;
+
+    @Value("${app.reminders.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Integer> leadMinutes = new ArrayList<>();
+    private long windowMinutes;
+
+    // Guarded by itself
+    private HierarchicalTimingWheel<Reminder> wheel;
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor sendExecutor;
+
+    // Interviews scheduled up to here are on the wheel
+    private volatile LocalDateTime loadedUntil;
+    private LocalDateTime lastSyncedAt;
+    private volatile boolean ready;
+
+    @Getter
+    @AllArgsConstructor
+    private static class Reminder {
+        private final String interviewId;
+        private final int leadMinutes;
+        private final LocalDateTime scheduledAt;
+    }
+
+    @PostConstruct
+    public void start() {
+        int maxLeadMinutes = 0;
+        for (String lead : leadMinutesValue.split(",")) {
+            if (!lead.isBlank()) {
+                int minutes = Integer.parseInt(lead.trim());
+                leadMinutes.add(minutes);
+                maxLeadMinutes = Math.max(maxLeadMinutes, minutes);
+            }
+        }
+        windowMinutes = lookAheadMinutes + maxLeadMinutes;
+
+        wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        if (TimeUnit.MINUTES.toMillis(windowMinutes) >= wheel.horizonMillis()) {
+            throw new RuntimeException("Reminder lead and look-ahead minutes exceed the timing wheel horizon");
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        sendExecutor = new ThreadPoolExecutor(senders, senders, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "interview-reminder-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "interview-reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            log.info("Interview reminders are disabled");
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        // Interviews that have already started get no reminders, so the load starts from now
+        loadedUntil = startedAt.plusMinutes(windowMinutes);
+        load(new Query(Criteria.where("scheduledAt").gt(startedAt).lte(loadedUntil)));
+        lastSyncedAt = startedAt;
+        ready = true;
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        log.info("Interview reminder wheel ready with {} reminders", pending());
+    }
+
+    @EventListener
+    public void onInterviewChanged(InterviewChangedEvent event) {
+        if (ready) {
+            sync(event.getInterview());
+        }
+    }
+
+    // Moves the window: adds the next slice of interviews by scheduledAt, then picks up interviews moved,
+    // completed or declined on other nodes
+    @Scheduled(fixedDelayString = "${app.reminders.load-interval-ms:60000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime from = loadedUntil;
+        loadedUntil = startedAt.plusMinutes(windowMinutes);
+        load(new Query(Criteria.where("scheduledAt").gt(from).lte(loadedUntil)));
+        load(new Query(Criteria.where("updatedAt").gte(lastSyncedAt.minusSeconds(CATCH_UP_OVERLAP_SECONDS))));
+        lastSyncedAt = startedAt;
+    }
+
+    public int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // Puts the interview's reminders on the wheel, moves them, or takes them off
+    public void sync(Interview interview) {
+        if (interview.getId() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean remindable = isRemindable(interview, now) && !interview.getScheduledAt().isAfter(loadedUntil);
+        // Mongo keeps milliseconds; an interview from an event compares equal to its stored copy in fire()
+        LocalDateTime scheduledAt = remindable ? interview.getScheduledAt().truncatedTo(ChronoUnit.MILLIS) : null;
+        synchronized (wheel) {
+            for (int lead : leadMinutes) {
+                String key = wheelKey(interview.getId(), lead);
+                LocalDateTime fireAt = remindable ? scheduledAt.minusMinutes(lead) : null;
+                if (fireAt == null || fireAt.isBefore(now.minusMinutes(maxLatenessMinutes))) {
+                    wheel.cancel(key);
+                } else {
+                    wheel.schedule(key, toMillis(fireAt),
+                            new Reminder(interview.getId(), lead, scheduledAt));
+                }
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            List<Reminder> due;
+            synchronized (wheel) {
+                due = wheel.advance(System.currentTimeMillis());
+            }
+            for (Reminder reminder : due) {
+                try {
+                    sendExecutor.execute(() -> fire(reminder));
+                } catch (RejectedExecutionException e) {
+                    log.warn("Reminder queue is full; retrying reminder of interview {} later", reminder.getInterviewId());
+                    retryLater(reminder, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(RETRY_DELAY_SECONDS));
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate task and stop the wheel for good
+            log.error("Interview reminder tick failed", e);
+        }
+    }
+
+    private void fire(Reminder reminder) {
+        try {
+            claimAndSend(reminder);
+        } catch (RuntimeException e) {
+            // Mongo failed before the claim or while releasing it; a lease left behind simply runs out
+            log.warn("Reminder of interview {} failed; retrying in {} seconds", reminder.getInterviewId(),
+                    RETRY_DELAY_SECONDS, e);
+            retryLater(reminder, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(RETRY_DELAY_SECONDS));
+        }
+    }
+
+    private void claimAndSend(Reminder reminder) {
+        LocalDateTime now = LocalDateTime.now();
+        // The wheel entry may predate a change made on another node; the stored interview decides
+        Interview interview = mongoTemplate.findById(reminder.getInterviewId(), Interview.class);
+        if (interview == null || !isRemindable(interview, now)
+                || !interview.getScheduledAt().truncatedTo(ChronoUnit.MILLIS).equals(reminder.getScheduledAt())) {
+            return;
+        }
+
+        String reminderId = reminderId(reminder);
+        InterviewReminder claimed = claim(reminderId, reminder, now);
+        if (claimed == null) {
+            watchLease(reminderId, reminder);
+            return;
+        }
+
+        try {
+            mailer.send(interview, reminder.getLeadMinutes());
+        } catch (RuntimeException e) {
+            // Any send failure, not only mail errors, gives the lease back so the reminder is not stuck until it expires
+            Update release = new Update().unset("leaseOwner").unset("leaseUntil");
+            if (claimed.getAttempts() >= MAX_ATTEMPTS) {
+                log.error("Giving up on reminder {} after {} attempts", reminderId, claimed.getAttempts(), e);
+                release.set("failedAt", LocalDateTime.now());
+            } else {
+                log.warn("Could not send reminder {}; retrying in {} seconds", reminderId, RETRY_DELAY_SECONDS, e);
+                retryLater(reminder, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(RETRY_DELAY_SECONDS));
+            }
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(reminderId).and("leaseOwner").is(nodeId)),
+                    release, InterviewReminder.class);
+            return;
+        }
+
+        // The mail went out: a failure to record it must not release the lease or retry, which would send it
+        // again at once. The lease is left to run out instead.
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(reminderId).and("leaseOwner").is(nodeId)),
+                    new Update().set("sentAt", LocalDateTime.now()).unset("leaseOwner").unset("leaseUntil"),
+                    InterviewReminder.class);
+        } catch (RuntimeException e) {
+            log.error("Reminder {} was sent but could not be marked sent; its lease is left to expire", reminderId, e);
+        }
+    }
+
+    // The lease: one conditional upsert. It only matches an unsent reminder that nobody holds, so of all
+    // the nodes firing the same reminder exactly one gets it back.
+    private InterviewReminder claim(String reminderId, Reminder reminder, LocalDateTime now) {
+        Query query = new Query(Criteria.where("id").is(reminderId).and("sentAt").is(null).and("failedAt").is(null)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now)));
+        Update update = new Update()
+                .set("leaseOwner", nodeId)
+                .set("leaseUntil", now.plusSeconds(LEASE_SECONDS))
+                .inc("attempts", 1)
+                .setOnInsert("interviewId", reminder.getInterviewId())
+                .setOnInsert("leadMinutes", reminder.getLeadMinutes())
+                .setOnInsert("scheduledAt", reminder.getScheduledAt());
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), InterviewReminder.class);
+        } catch (DuplicateKeyException e) {
+            // The record exists but did not match: sent, given up on, or leased by another node
+            return null;
+        }
+    }
+
+    // Checks back once another node's lease runs out, in case that node went down before sending
+    private void watchLease(String reminderId, Reminder reminder) {
+        InterviewReminder current = mongoTemplate.findById(reminderId, InterviewReminder.class);
+        if (current != null && current.getSentAt() == null && current.getFailedAt() == null
+                && current.getLeaseUntil() != null) {
+            retryLater(reminder, toMillis(current.getLeaseUntil()) + TICK_MILLIS);
+        }
+    }
+
+    private void retryLater(Reminder reminder, long atMillis) {
+        synchronized (wheel) {
+            wheel.schedule(wheelKey(reminder.getInterviewId(), reminder.getLeadMinutes()), atMillis, reminder);
+        }
+    }
+
+    private int load(Query query) {
+        query.fields().include("scheduledAt", "isCompleted", "candidateResponseStatus");
+        int loaded = 0;
+        try (Stream<Interview> interviews = mongoTemplate.stream(query, Interview.class)) {
+            for (Interview interview : (Iterable<Interview>) interviews::iterator) {
+                sync(interview);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    // Completed, declined and already started interviews get no reminders
+    private static boolean isRemindable(Interview interview, LocalDateTime now) {
+        return interview.getScheduledAt() != null
+                && interview.getScheduledAt().isAfter(now)
+                && !Boolean.TRUE.equals(interview.getIsCompleted())
+                && interview.getCandidateResponseStatus() != InterviewResponseStatus.REJECTED;
+    }
+
+    private static String wheelKey(String interviewId, int leadMinutes) {
+        return interviewId + ":" + leadMinutes;
+    }
+
+    // Includes the scheduled time, so a rescheduled interview gets a fresh record and its reminders go out again
+    private static String reminderId(Reminder reminder) {
+        return reminder.getInterviewId() + ":" + reminder.getLeadMinutes() + ":"
+                + reminder.getScheduledAt().atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static long toMillis(LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
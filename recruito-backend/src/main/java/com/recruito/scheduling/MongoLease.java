@@ -0,0 +1,50 @@
+package com.recruito.scheduling;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Cluster-wide leases for work only one node should do at a time, kept as documents keyed by the lease
+// name. Taking one is a single conditional upsert, like the reminder leases in InterviewReminderScheduler:
+// it only matches a lease nobody holds or one that ran out, so of all the nodes trying exactly one wins.
+// A node that goes down while holding a lease simply lets it run out.
+@Component
+public class MongoLease {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public boolean tryAcquire(String collection, String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now)));
+        Update update = new Update()
+                .set("leaseOwner", nodeId)
+                .set("leaseUntil", now.plus(duration));
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, collection) != null;
+        } catch (DuplicateKeyException e) {
+            // The lease exists and is held by another node
+            return false;
+        }
+    }
+
+    // Gives the lease back early; only the holder's release matches
+    public void release(String collection, String name) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(name).and("leaseOwner").is(nodeId)),
+                new Update().unset("leaseOwner").unset("leaseUntil"), collection);
+    }
+}
@@ -0,0 +1,150 @@
+package com.recruito.scheduling;
+
+import com.recruito.dto.InterviewSlotDto;
+import com.recruito.model.InterviewSlot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+// Open interview slots per job, so "what's left" reads never reach Mongo. Only concurrent collections are
+// used: reads take no lock, and writes only serialize per slot, inside openById.compute, so a sync and a
+// remove of the same slot cannot leave openByJob out of step with openById. The index may briefly list a
+// slot that another node has just claimed. Mongo decides every claim, and the losing claim drops the slot
+// from here.
+@Component
+public class OpenSlotIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenSlotIndex.class);
+
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+
+    private static final Comparator<InterviewSlotDto> BY_START = Comparator.comparing(InterviewSlotDto::getStartsAt)
+            .thenComparing(InterviewSlotDto::getId);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final Map<String, NavigableSet<InterviewSlotDto>> openByJob = new ConcurrentHashMap<>();
+    private final Map<String, InterviewSlotDto> openById = new ConcurrentHashMap<>();
+
+    private LocalDateTime lastSyncedAt;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        int loaded = load(new Query(Criteria.where("startsAt").gt(startedAt).and("candidateId").is(null)));
+        lastSyncedAt = startedAt;
+        ready = true;
+        log.info("Open interview slot index ready with {} slots", loaded);
+    }
+
+    // Picks up slots published or claimed on other nodes, and drops slots that have started
+    @Scheduled(fixedDelayString = "${app.interviews.slot-refresh-interval-ms:10000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        load(new Query(Criteria.where("updatedAt").gte(lastSyncedAt.minusSeconds(CATCH_UP_OVERLAP_SECONDS))));
+        lastSyncedAt = startedAt;
+
+        for (InterviewSlotDto slot : openById.values()) {
+            if (!slot.getStartsAt().isAfter(startedAt)) {
+                remove(slot.getId());
+            }
+        }
+    }
+
+    // Earliest open slots of the job that have not started yet
+    public List<InterviewSlotDto> openSlots(String jobId, int limit) {
+        NavigableSet<InterviewSlotDto> open = openByJob.get(jobId);
+        List<InterviewSlotDto> slots = new ArrayList<>();
+        if (open == null) {
+            return slots;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (InterviewSlotDto slot : open) {
+            if (slots.size() == limit) {
+                break;
+            }
+            if (slot.getStartsAt().isAfter(now)) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    public void sync(InterviewSlot slot) {
+        if (slot.getCandidateId() != null || !slot.getStartsAt().isAfter(LocalDateTime.now())) {
+            remove(slot.getId());
+            return;
+        }
+        InterviewSlotDto open = new InterviewSlotDto();
+        open.setId(slot.getId());
+        open.setJobId(slot.getJobId());
+        open.setRecruiterId(slot.getRecruiterId());
+        open.setStartsAt(slot.getStartsAt());
+        open.setDurationMinutes(slot.getDurationMinutes());
+        open.setLocation(slot.getLocation());
+        open.setInterviewType(slot.getInterviewType());
+
+        openById.compute(open.getId(), (id, previous) -> {
+            if (previous != null) {
+                removeFromJob(previous);
+            }
+            openByJob.computeIfAbsent(open.getJobId(), jobId -> new ConcurrentSkipListSet<>(BY_START)).add(open);
+            return open;
+        });
+    }
+
+    public void remove(String slotId) {
+        openById.computeIfPresent(slotId, (id, previous) -> {
+            removeFromJob(previous);
+            return null;
+        });
+    }
+
+    int size() {
+        return openById.size();
+    }
+
+    private void removeFromJob(InterviewSlotDto slot) {
+        NavigableSet<InterviewSlotDto> jobSlots = openByJob.get(slot.getJobId());
+        if (jobSlots != null) {
+            jobSlots.remove(slot);
+        }
+    }
+
+    private int load(Query query) {
+        int loaded = 0;
+        try (Stream<InterviewSlot> slots = mongoTemplate.stream(query, InterviewSlot.class)) {
+            for (InterviewSlot slot : (Iterable<InterviewSlot>) slots::iterator) {
+                sync(slot);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,415 @@
+package com.recruito.scheduling;
+
+import com.recruito.event.InterviewChangedEvent;
+import com.recruito.model.Interview;
+import com.recruito.model.InterviewSlot;
+import com.recruito.model.enums.InterviewResponseStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// In-memory index of each recruiter's booked interview intervals. It rejects double bookings and lists
+// free slots without querying Mongo. Bookings are kept sorted by start; since no booking is longer than
+// MAX_DURATION_MINUTES, the bookings that can overlap an interval are the ones starting in
+// [start - MAX_DURATION_MINUTES, end), found with one O(log n) seek.
+// Published interview slots hold time too, from publishing on, whether booked or not, until released. The n-th repeat of
+// a start time in a batch is a parallel panel with its own bookings (panelKey), so only panel 0 competes
+// with the recruiter's own interviews. An interview made from a booked slot adds nothing: its slot holds
+// the time.
+// Warmed with upcoming interviews and slots at startup, kept current by InterviewChangedEvent and
+// syncSlot, and caught up with writes from other nodes on a timer. Until the warm-up has finished,
+// bookings and availability checks wait for it (up to WARM_UP_WAIT_SECONDS) rather than answer from a
+// partial index; a warm-up that fails is retried by the refresh timer.
+@Component
+public class RecruiterAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RecruiterAvailabilityIndex.class);
+
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+    public static final int MAX_DURATION_MINUTES = 480;
+
+    private static final String SLOT_BOOKING_PREFIX = "slot:";
+
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+    private static final long RETAINED_PAST_HOURS = 24;
+    private static final long WARM_UP_WAIT_SECONDS = 10;
+
+    private static final Comparator<Booking> BY_START = Comparator.comparing(Booking::getStart)
+            .thenComparing(Booking::getInterviewId);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.interviews.working-day-start:09:00}")
+    private String workingDayStartValue;
+
+    @Value("${app.interviews.working-day-end:18:00}")
+    private String workingDayEndValue;
+
+    @Value("${app.interviews.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private String workingDaysValue;
+
+    private LocalTime workingDayStart;
+    private LocalTime workingDayEnd;
+    private final Set<DayOfWeek> workingDays = EnumSet.noneOf(DayOfWeek.class);
+
+    private final Map<String, Bookings> bookingsByRecruiter = new ConcurrentHashMap<>();
+
+    private LocalDateTime lastSyncedAt;
+    private volatile boolean ready;
+    private volatile boolean warmUpFailed;
+    private final CountDownLatch warmedUp = new CountDownLatch(1);
+
+    @Getter
+    @AllArgsConstructor
+    public static class Slot {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Booking {
+        private final String interviewId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+
+    // One recruiter's bookings; callers synchronize on the instance
+    private static class Bookings {
+        private final TreeSet<Booking> byStart = new TreeSet<>(BY_START);
+        private final Map<String, Booking> byInterviewId = new HashMap<>();
+
+        // Bookings overlapping [start, end), in start order
+        List<Booking> overlapping(LocalDateTime start, LocalDateTime end) {
+            NavigableSet<Booking> candidates = byStart.subSet(
+                    new Booking("", start.minusMinutes(MAX_DURATION_MINUTES), null), true,
+                    new Booking("", end, null), false);
+            List<Booking> overlapping = new ArrayList<>();
+            for (Booking booking : candidates) {
+                if (booking.getEnd().isAfter(start)) {
+                    overlapping.add(booking);
+                }
+            }
+            return overlapping;
+        }
+
+        void put(Booking booking) {
+            remove(booking.getInterviewId());
+            byStart.add(booking);
+            byInterviewId.put(booking.getInterviewId(), booking);
+        }
+
+        void remove(String interviewId) {
+            Booking previous = byInterviewId.remove(interviewId);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+        }
+
+        void removeEndedBefore(LocalDateTime cutoff) {
+            byStart.removeIf(booking -> {
+                if (booking.getEnd().isBefore(cutoff)) {
+                    byInterviewId.remove(booking.getInterviewId());
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    @PostConstruct
+    public void configure() {
+        workingDayStart = LocalTime.parse(workingDayStartValue);
+        workingDayEnd = LocalTime.parse(workingDayEndValue);
+        for (String day : workingDaysValue.split(",")) {
+            if (!day.isBlank()) {
+                workingDays.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            warmUp();
+        } catch (RuntimeException e) {
+            warmUpFailed = true;
+            log.error("Recruiter availability warm-up failed; retrying on the next refresh", e);
+        }
+    }
+
+    // Events that arrive meanwhile are applied as usual; the catch-up after it re-reads anything the
+    // warm-up may have streamed in an older state
+    private synchronized void warmUp() {
+        if (ready) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime cutoff = startedAt.minusHours(RETAINED_PAST_HOURS);
+        int loaded = load(new Query(Criteria.where("scheduledAt").gte(cutoff)));
+        int loadedSlots = loadSlots(new Query(Criteria.where("startsAt").gte(cutoff)));
+        lastSyncedAt = startedAt;
+        ready = true;
+        warmedUp.countDown();
+        log.info("Recruiter availability index ready with {} upcoming interviews and {} slots", loaded, loadedSlots);
+    }
+
+    @EventListener
+    public void onInterviewChanged(InterviewChangedEvent event) {
+        sync(event.getInterview());
+    }
+
+    // Picks up interviews written by other nodes, and drops bookings that are long over
+    @Scheduled(fixedDelayString = "${app.interviews.availability-refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!ready) {
+            // Only retries a failed warm-up; before ApplicationReadyEvent it is left to initialize()
+            if (warmUpFailed) {
+                warmUp();
+            }
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastSyncedAt.minusSeconds(CATCH_UP_OVERLAP_SECONDS);
+        load(new Query(Criteria.where("updatedAt").gte(since)));
+        loadSlots(new Query(Criteria.where("updatedAt").gte(since)));
+        lastSyncedAt = startedAt;
+
+        LocalDateTime cutoff = startedAt.minusHours(RETAINED_PAST_HOURS);
+        for (Bookings bookings : bookingsByRecruiter.values()) {
+            synchronized (bookings) {
+                bookings.removeEndedBefore(cutoff);
+            }
+        }
+    }
+
+    // Books the interval for the interview, or fails if it overlaps another interview of the recruiter.
+    // An existing booking of the same interview is moved.
+    public void reserve(String recruiterId, String interviewId, LocalDateTime start, int durationMinutes) {
+        if (durationMinutes <= 0 || durationMinutes > MAX_DURATION_MINUTES) {
+            throw new RuntimeException("Interview duration must be between 1 and " + MAX_DURATION_MINUTES + " minutes");
+        }
+        LocalDateTime end = start.plusMinutes(durationMinutes);
+        awaitWarmUp();
+        Bookings bookings = bookings(recruiterId);
+        synchronized (bookings) {
+            for (Booking booking : bookings.overlapping(start, end)) {
+                if (!booking.getInterviewId().equals(interviewId)) {
+                    throw new RuntimeException("Recruiter already has an interview from "
+                            + booking.getStart() + " to " + booking.getEnd());
+                }
+            }
+            bookings.put(new Booking(interviewId, start, end));
+        }
+    }
+
+    public void release(String recruiterId, String interviewId) {
+        Bookings bookings = bookingsByRecruiter.get(recruiterId);
+        if (bookings != null) {
+            synchronized (bookings) {
+                bookings.remove(interviewId);
+            }
+        }
+    }
+
+    // Mirrors a stored interview without a conflict check: it is already written
+    public void sync(Interview interview) {
+        if (interview.getRecruiterId() == null || interview.getId() == null) {
+            return;
+        }
+        if (!isBooked(interview)) {
+            release(interview.getRecruiterId(), interview.getId());
+            return;
+        }
+        Bookings bookings = bookings(interview.getRecruiterId());
+        synchronized (bookings) {
+            bookings.put(toBooking(interview));
+        }
+    }
+
+    // Mirrors a stored slot without a conflict check: it is already written. A released slot gives its time back.
+    public void syncSlot(InterviewSlot slot) {
+        if (slot.getRecruiterId() == null || slot.getId() == null || slot.getStartsAt() == null) {
+            return;
+        }
+        if (slot.getReleasedAt() != null) {
+            release(panelKey(slot.getRecruiterId(), slot.getPanel()), slotBookingId(slot.getId()));
+            return;
+        }
+        Bookings bookings = bookings(panelKey(slot.getRecruiterId(), slot.getPanel()));
+        synchronized (bookings) {
+            bookings.put(toBooking(slot));
+        }
+    }
+
+    // Key the bookings of a slot's panel are held under; panel 0 is the recruiter's own calendar
+    public static String panelKey(String recruiterId, Integer panel) {
+        return panel == null || panel == 0 ? recruiterId : recruiterId + "#" + panel;
+    }
+
+    public static String slotBookingId(String slotId) {
+        return SLOT_BOOKING_PREFIX + slotId;
+    }
+
+    // Free intervals of at least durationMinutes within working hours, in [from, to)
+    public List<Slot> freeSlots(String recruiterId, LocalDateTime from, LocalDateTime to, int durationMinutes) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("Availability range end must be after its start");
+        }
+        if (Duration.between(from, to).toDays() > MAX_AVAILABILITY_DAYS) {
+            throw new RuntimeException("Availability range cannot exceed " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (from.isBefore(now)) {
+            from = now;
+        }
+
+        awaitWarmUp();
+        List<Slot> slots = new ArrayList<>();
+        // Read path: a recruiter with nothing booked gets no entry
+        Bookings bookings = bookingsByRecruiter.get(recruiterId);
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(to.toLocalDate()); day = day.plusDays(1)) {
+            if (!workingDays.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            LocalDateTime windowStart = max(day.atTime(workingDayStart), from);
+            LocalDateTime windowEnd = min(day.atTime(workingDayEnd), to);
+            if (!windowEnd.isAfter(windowStart)) {
+                continue;
+            }
+
+            List<Booking> busy = List.of();
+            if (bookings != null) {
+                synchronized (bookings) {
+                    busy = bookings.overlapping(windowStart, windowEnd);
+                }
+            }
+            LocalDateTime gapStart = windowStart;
+            for (Booking booking : busy) {
+                addSlot(slots, gapStart, booking.getStart(), durationMinutes);
+                gapStart = max(gapStart, booking.getEnd());
+            }
+            addSlot(slots, gapStart, windowEnd, durationMinutes);
+        }
+        return slots;
+    }
+
+    public static int durationOf(Interview interview) {
+        return interview.getDurationMinutes() != null ? interview.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+    }
+
+    // Write paths only; reads use get so that lookups do not leave empty entries behind
+    private Bookings bookings(String key) {
+        return bookingsByRecruiter.computeIfAbsent(key, id -> new Bookings());
+    }
+
+    private void awaitWarmUp() {
+        if (ready) {
+            return;
+        }
+        try {
+            if (warmedUp.await(WARM_UP_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new RuntimeException("Interview availability is still loading, please retry shortly");
+    }
+
+    private int load(Query query) {
+        int loaded = 0;
+        try (Stream<Interview> interviews = mongoTemplate.stream(withBookingFields(query), Interview.class)) {
+            for (Interview interview : (Iterable<Interview>) interviews::iterator) {
+                sync(interview);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    private int loadSlots(Query query) {
+        int loaded = 0;
+        try (Stream<InterviewSlot> slots = mongoTemplate.stream(withSlotFields(query), InterviewSlot.class)) {
+            for (InterviewSlot slot : (Iterable<InterviewSlot>) slots::iterator) {
+                syncSlot(slot);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    private static Query withBookingFields(Query query) {
+        query.fields().include("recruiterId", "slotId", "scheduledAt", "durationMinutes", "candidateResponseStatus");
+        return query;
+    }
+
+    private static Query withSlotFields(Query query) {
+        query.fields().include("recruiterId", "panel", "startsAt", "durationMinutes", "releasedAt");
+        return query;
+    }
+
+    // A declined interview no longer holds the recruiter's time, and a booked slot's interview is held by the slot
+    private static boolean isBooked(Interview interview) {
+        return interview.getScheduledAt() != null
+                && interview.getSlotId() == null
+                && interview.getCandidateResponseStatus() != InterviewResponseStatus.REJECTED;
+    }
+
+    private static Booking toBooking(Interview interview) {
+        return new Booking(interview.getId(), interview.getScheduledAt(),
+                interview.getScheduledAt().plusMinutes(durationOf(interview)));
+    }
+
+    private static Booking toBooking(InterviewSlot slot) {
+        int duration = slot.getDurationMinutes() != null ? slot.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+        return new Booking(slotBookingId(slot.getId()), slot.getStartsAt(), slot.getStartsAt().plusMinutes(duration));
+    }
+
+    private static void addSlot(List<Slot> slots, LocalDateTime start, LocalDateTime end, int durationMinutes) {
+        if (!start.plusMinutes(durationMinutes).isAfter(end)) {
+            slots.add(new Slot(start, end));
+        }
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,58 @@
+package com.recruito.screening;
+
+import com.recruito.model.Job;
+import com.recruito.search.JobTextAnalyzer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+// Weighted term match of a resume against a job. Job terms are weighted by the field they come from, and each
+// term's contribution saturates with its frequency in the resume (as in BM25), so repeating a keyword does not
+// inflate the score. The result is 0-100: the share of the job's term weight the resume covers.
+final class ResumeScorer {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DEPARTMENT_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double K1 = 1.2;
+
+    private final Map<String, Integer> weights = new HashMap<>();
+    private final long totalWeight;
+
+    ResumeScorer(Job job) {
+        addTerms(job.getTitle(), TITLE_WEIGHT);
+        addTerms(job.getDepartment(), DEPARTMENT_WEIGHT);
+        addTerms(job.getDescription(), DESCRIPTION_WEIGHT);
+        this.totalWeight = weights.values().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    // Thread-safe: the weights are only read after construction
+    double score(String resumeText) {
+        if (totalWeight == 0 || resumeText == null) {
+            return 0;
+        }
+
+        Map<String, Integer> termFreqs = new HashMap<>();
+        for (String term : JobTextAnalyzer.analyze(resumeText)) {
+            if (weights.containsKey(term)) {
+                termFreqs.merge(term, 1, Integer::sum);
+            }
+        }
+
+        double matched = 0;
+        for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+            int tf = entry.getValue();
+            matched += weights.get(entry.getKey()) * (tf * (K1 + 1) / (tf + K1)) / (K1 + 1);
+        }
+        return Math.round(matched / totalWeight * 1000) / 10.0;
+    }
+
+    private void addTerms(String text, int weight) {
+        // A term counts once per field, so long descriptions do not drown out the title
+        for (String term : new HashSet<>(JobTextAnalyzer.analyze(text))) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.recruito.screening;
+
+import com.recruito.event.ApplicationChangedEvent;
+import com.recruito.event.JobChangedEvent;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.ResumeText;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Scores applications against their job from the text of the uploaded resume. Work runs on a small bounded
+// pool off the request path: new applications are screened once, and all applications of a job are rescored
+// when the job is edited. Extracted text is cached in resume_texts, so rescoring never re-parses a file.
+// Anything dropped (full queue, restart) is picked up by the catch-up pass, which screens applications
+// that have no screenedAt yet.
+@Service
+public class ResumeScreeningService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeScreeningService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    // FileController serves uploads as /files/<random name>.<ext>
+    private static final String FILES_PREFIX = "/files/";
+    private static final Pattern STORED_FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9]+)?");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Same directory FileController writes to
+    @Value("${app.screening.upload-dir:${user.home}/recruito-uploads}")
+    private String uploadDir;
+
+    @Value("${app.screening.workers:2}")
+    private int workers;
+
+    @Value("${app.screening.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "resume-screening-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // Also fires on status changes; those find the application already screened and stop after one query
+    @EventListener
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        submit(new Query(Criteria.where("id").is(event.getApplicationId()).and("screenedAt").exists(false)));
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.getChangeType() == JobChangedEvent.ChangeType.UPDATED) {
+            submit(new Query(Criteria.where("jobId").is(event.getJob().getId())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.screening.catch-up-interval-ms:300000}",
+            initialDelayString = "${app.screening.catch-up-initial-delay-ms:60000}")
+    public void catchUp() {
+        submit(new Query(Criteria.where("screenedAt").exists(false)));
+    }
+
+    private void submit(Query applications) {
+        try {
+            executor.execute(() -> {
+                try {
+                    screen(applications);
+                } catch (RuntimeException e) {
+                    log.error("Resume screening failed for {}", applications, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Screening queue full, left for the catch-up pass");
+        }
+    }
+
+    private void screen(Query query) {
+        query.fields().include("jobId", "resumeUrl");
+        List<Application> batch = new ArrayList<>(BATCH_SIZE);
+        int screened = 0;
+        try (Stream<Application> applications = mongoTemplate.stream(query, Application.class)) {
+            for (Application application : (Iterable<Application>) applications::iterator) {
+                batch.add(application);
+                if (batch.size() == BATCH_SIZE) {
+                    screened += screenBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        screened += screenBatch(batch);
+        if (screened > BATCH_SIZE) {
+            log.info("Screened {} applications", screened);
+        }
+    }
+
+    private int screenBatch(List<Application> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, ResumeScorer> scorers = new HashMap<>();
+        Query jobQuery = new Query(Criteria.where("id").in(
+                batch.stream().map(Application::getJobId).collect(Collectors.toSet())));
+        jobQuery.fields().include("title", "description", "department");
+        mongoTemplate.find(jobQuery, Job.class).forEach(job -> scorers.put(job.getId(), new ResumeScorer(job)));
+
+        Map<String, String> texts = resumeTexts(batch);
+
+        // Tokenizing resumes is the CPU-heavy part, so the batch is scored across cores
+        Map<String, Double> scores = batch.parallelStream()
+                .filter(application -> scorers.containsKey(application.getJobId()))
+                .filter(application -> texts.containsKey(storedFileName(application.getResumeUrl())))
+                .collect(Collectors.toMap(Application::getId, application -> scorers.get(application.getJobId())
+                        .score(texts.get(storedFileName(application.getResumeUrl())))));
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        for (Application application : batch) {
+            // No score when the resume is missing, external or unreadable; it still counts as screened
+            bulkOps.updateOne(new Query(Criteria.where("id").is(application.getId())),
+                    new Update().set("matchScore", scores.get(application.getId())).set("screenedAt", now));
+        }
+        bulkOps.execute();
+        return batch.size();
+    }
+
+    // Stored file name -> text, extracting and caching the ones not seen before
+    private Map<String, String> resumeTexts(List<Application> batch) {
+        Set<String> fileNames = batch.stream()
+                .map(application -> storedFileName(application.getResumeUrl()))
+                .filter(fileName -> fileName != null)
+                .collect(Collectors.toSet());
+
+        Map<String, String> texts = new HashMap<>();
+        Set<String> cached = new HashSet<>();
+        for (ResumeText resumeText : mongoTemplate.find(new Query(Criteria.where("id").in(fileNames)), ResumeText.class)) {
+            cached.add(resumeText.getId());
+            if (resumeText.getText() != null) {
+                texts.put(resumeText.getId(), resumeText.getText());
+            }
+        }
+
+        for (String fileName : fileNames) {
+            if (cached.contains(fileName)) {
+                continue;
+            }
+            ResumeText resumeText = new ResumeText(fileName, null, null, LocalDateTime.now());
+            try {
+                Path file = Paths.get(uploadDir).resolve(fileName);
+                if (!Files.isRegularFile(file)) {
+                    throw new IOException("File not found");
+                }
+                resumeText.setText(ResumeTextExtractor.extract(file));
+                texts.put(fileName, resumeText.getText());
+            } catch (IOException | RuntimeException e) {
+                // Recorded so that a bad file is not parsed again on every pass
+                resumeText.setError(e.getMessage());
+            }
+            mongoTemplate.save(resumeText);
+        }
+        return texts;
+    }
+
+    private static String storedFileName(String resumeUrl) {
+        if (resumeUrl == null || !resumeUrl.startsWith(FILES_PREFIX)) {
+            return null;
+        }
+        String fileName = resumeUrl.substring(FILES_PREFIX.length());
+        return STORED_FILE_NAME.matcher(fileName).matches() ? fileName : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.recruito.screening;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Plain text from PDF, DOCX and TXT resumes, truncated to MAX_CHARS. Not a Spring bean: it holds no state
+// and is called from the screening workers.
+final class ResumeTextExtractor {
+
+    static final int MAX_CHARS = 100_000;
+    static final long MAX_FILE_BYTES = 10L * 1024 * 1024;
+
+    private static final String WORD_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private ResumeTextExtractor() {
+    }
+
+    static String extract(Path file) throws IOException {
+        if (Files.size(file) > MAX_FILE_BYTES) {
+            throw new IOException("Resume is larger than " + MAX_FILE_BYTES + " bytes");
+        }
+
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        String text;
+        if (name.endsWith(".pdf")) {
+            text = extractPdf(file);
+        } else if (name.endsWith(".docx")) {
+            text = extractDocx(file);
+        } else if (name.endsWith(".txt")) {
+            text = Files.readString(file);
+        } else {
+            throw new IOException("Unsupported resume format: " + name);
+        }
+        return text.length() > MAX_CHARS ? text.substring(0, MAX_CHARS) : text;
+    }
+
+    private static String extractPdf(Path file) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    // The body text of a DOCX is the w:t runs of word/document.xml; paragraphs become lines
+    private static String extractDocx(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("word/document.xml");
+            if (entry == null) {
+                throw new IOException("Not a Word document");
+            }
+
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+            StringBuilder text = new StringBuilder();
+            try (InputStream in = zip.getInputStream(entry)) {
+                XMLStreamReader reader = factory.createXMLStreamReader(in);
+                boolean inText = false;
+                // Stop reading once enough text is collected; also bounds a decompression bomb
+                while (reader.hasNext() && text.length() < MAX_CHARS) {
+                    int event = reader.next();
+                    if (event == XMLStreamReader.START_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                        inText = "t".equals(reader.getLocalName());
+                        if ("tab".equals(reader.getLocalName())) {
+                            text.append('\t');
+                        }
+                    } else if (event == XMLStreamReader.END_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                        inText = false;
+                        if ("p".equals(reader.getLocalName())) {
+                            text.append('\n');
+                        }
+                    } else if (event == XMLStreamReader.CHARACTERS && inText) {
+                        text.append(reader.getText());
+                    }
+                }
+                reader.close();
+            } catch (XMLStreamException e) {
+                throw new IOException("Malformed Word document", e);
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,600 @@
+package com.recruito.search;
+
+import com.recruito.event.JobChangedEvent;
+import com.recruito.model.Job;
+import com.recruito.model.enums.JobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory inverted index over published and draft jobs, ranked with BM25.
+// Documents get increasing doc numbers, so postings stay sorted without re-sorting;
+// updates tombstone the old doc number and the index is compacted on every refresh, or sooner once
+// tombstones pile up. Tombstoned postings are left out of document frequencies, so ranking never
+// depends on how many times a job has been edited.
+@Component
+public class JobSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x4A534958;
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DEPARTMENT_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Location terms are also indexed under this prefix so the location filter only matches that field
+    private static final String LOCATION_FIELD_PREFIX = "loc:";
+
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 1024;
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.search.snapshot-path:${user.home}/recruito-search/jobs.idx}")
+    private String snapshotPath;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docsByJobId = new HashMap<>();
+    private final BitSet deletedDocs = new BitSet();
+
+    private String[] jobIds = new String[1024];
+    private byte[] statuses = new byte[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    private LocalDateTime lastSyncedAt;
+    private volatile boolean ready;
+    private volatile boolean dirty;
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<String> jobIds; // Requested page, best match first
+        private final int total;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDateTime snapshotTakenAt = loadSnapshot();
+        if (snapshotTakenAt != null) {
+            catchUp(snapshotTakenAt);
+            // Deletions made while this node was down leave no updatedAt trail, so fall back to a rebuild
+            long storedJobs = mongoTemplate.count(new Query(), Job.class);
+            if (storedJobs != liveDocCount()) {
+                log.info("Search snapshot is out of date ({} indexed, {} stored), rebuilding", liveDocCount(), storedJobs);
+                rebuild();
+            }
+        } else {
+            rebuild();
+        }
+        ready = true;
+        log.info("Job search index ready with {} documents", liveDocCount());
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.getChangeType() == JobChangedEvent.ChangeType.DELETED) {
+            remove(event.getJob().getId());
+        } else {
+            index(event.getJob());
+        }
+    }
+
+    // Picks up writes made by other nodes since the last sync, then drops the tombstones left behind
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (ready) {
+            catchUp(lastSyncedAt);
+            lock.writeLock().lock();
+            try {
+                compact();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.snapshot-interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (ready && dirty) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ready && dirty) {
+            writeSnapshot();
+        }
+    }
+
+    public void index(Job job) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = addTerms(termFreqs, job.getTitle(), TITLE_WEIGHT, "")
+                + addTerms(termFreqs, job.getDepartment(), DEPARTMENT_WEIGHT, "")
+                + addTerms(termFreqs, job.getLocation(), LOCATION_WEIGHT, "")
+                + addTerms(termFreqs, job.getDescription(), DESCRIPTION_WEIGHT, "");
+        addTerms(termFreqs, job.getLocation(), 1, LOCATION_FIELD_PREFIX);
+        addTerms(termFreqs, job.getNormalizedLocation(), 1, LOCATION_FIELD_PREFIX);
+
+        JobStatus status = job.getStatus() != null ? job.getStatus() : JobStatus.DRAFT;
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(job.getId());
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            jobIds[doc] = job.getId();
+            statuses[doc] = (byte) status.ordinal();
+            docLengths[doc] = length;
+            docsByJobId.put(job.getId(), doc);
+            totalLength += length;
+
+            termFreqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, freq));
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String jobId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(String text, String location, JobStatus status, int offset, int limit) {
+        List<String> textTerms = distinctTerms(text, "");
+        List<String> locationTerms = distinctTerms(location, LOCATION_FIELD_PREFIX);
+        List<String> terms = concat(textTerms, locationTerms);
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = liveDocCount();
+            if (terms.isEmpty() || liveDocs == 0) {
+                return new SearchResult(new ArrayList<>(), 0);
+            }
+
+            // Every term must match, so the rarest term bounds the candidate set
+            Postings rarest = null;
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    return new SearchResult(new ArrayList<>(), 0);
+                }
+                if (rarest == null || termPostings.size < rarest.size) {
+                    rarest = termPostings;
+                }
+            }
+
+            // Candidates come from the rarest term; each other term then narrows them with a forward seek
+            // through its sorted postings, so the work and the scratch arrays scale with the candidate set
+            int[] candidates = new int[rarest.size];
+            float[] scores = new float[rarest.size];
+            int total = 0;
+            for (int i = 0; i < rarest.size; i++) {
+                int doc = rarest.docs[i];
+                if (deletedDocs.get(doc) || (status != null && statuses[doc] != status.ordinal())) {
+                    continue;
+                }
+                candidates[total++] = doc;
+            }
+
+            double avgLength = Math.max(1.0, (double) totalLength / liveDocs);
+            for (int t = 0; t < terms.size(); t++) {
+                Postings termPostings = postings.get(terms.get(t));
+                // Location terms only filter
+                boolean scored = t < textTerms.size();
+                double idf = 0;
+                if (scored) {
+                    int docFreq = liveDocFrequency(termPostings);
+                    idf = Math.log(1 + (liveDocs - docFreq + 0.5) / (docFreq + 0.5));
+                }
+
+                int cursor = 0;
+                int kept = 0;
+                for (int c = 0; c < total && cursor < termPostings.size; c++) {
+                    int doc = candidates[c];
+                    cursor = termPostings.seek(doc, cursor);
+                    if (cursor == termPostings.size || termPostings.docs[cursor] != doc) {
+                        continue;
+                    }
+                    float score = scores[c];
+                    if (scored) {
+                        int tf = termPostings.freqs[cursor];
+                        double norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                        score += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                    }
+                    candidates[kept] = doc;
+                    scores[kept] = score;
+                    kept++;
+                }
+                total = kept;
+            }
+
+            // Score bits in the high word, doc number in the low word: ascending sort puts the best last,
+            // with ties going to the most recently indexed job
+            long[] ranked = new long[total];
+            for (int c = 0; c < total; c++) {
+                ranked[c] = ((long) Float.floatToIntBits(scores[c]) << 32) | candidates[c];
+            }
+            Arrays.sort(ranked);
+
+            List<String> page = new ArrayList<>();
+            for (int i = total - 1 - offset; i >= 0 && page.size() < limit; i--) {
+                page.add(jobIds[(int) ranked[i]]);
+            }
+            return new SearchResult(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try (Stream<Job> jobs = mongoTemplate.stream(indexedFieldsQuery(new Query()), Job.class)) {
+            jobs.forEach(this::index);
+        }
+        lastSyncedAt = startedAt;
+        dirty = true;
+    }
+
+    private void catchUp(LocalDateTime since) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Query query = new Query(Criteria.where("updatedAt").gte(since.minusSeconds(CATCH_UP_OVERLAP_SECONDS)));
+        try (Stream<Job> jobs = mongoTemplate.stream(indexedFieldsQuery(query), Job.class)) {
+            jobs.forEach(this::index);
+        }
+        lastSyncedAt = startedAt;
+    }
+
+    private Query indexedFieldsQuery(Query query) {
+        query.fields().include("title", "description", "department", "location", "normalizedLocation", "status");
+        return query;
+    }
+
+    private void writeSnapshot() {
+        Path target = Paths.get(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        try {
+            compact();
+        } finally {
+            // Downgrade so searches can proceed while the file is written
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeUTF(lastSyncedAt.toString());
+
+                out.writeInt(docCount);
+                for (int doc = 0; doc < docCount; doc++) {
+                    out.writeUTF(jobIds[doc]);
+                    out.writeByte(statuses[doc]);
+                    out.writeInt(docLengths[doc]);
+                }
+
+                out.writeInt(postings.size());
+                for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                    Postings termPostings = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(termPostings.size);
+                    for (int i = 0; i < termPostings.size; i++) {
+                        out.writeInt(termPostings.docs[i]);
+                        out.writeInt(termPostings.freqs[i]);
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            log.warn("Failed to write job search snapshot to {}", target, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns the time the snapshot was taken, or null when there is no usable snapshot
+    private LocalDateTime loadSnapshot() {
+        Path source = Paths.get(snapshotPath);
+        if (!Files.exists(source)) {
+            return null;
+        }
+
+        lock.writeLock().lock();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring job search snapshot {} with unknown format", source);
+                return null;
+            }
+            LocalDateTime takenAt = LocalDateTime.parse(in.readUTF());
+
+            clear();
+            int docs = in.readInt();
+            ensureCapacity(docs);
+            for (int doc = 0; doc < docs; doc++) {
+                jobIds[doc] = in.readUTF();
+                statuses[doc] = in.readByte();
+                docLengths[doc] = in.readInt();
+                docsByJobId.put(jobIds[doc], doc);
+                totalLength += docLengths[doc];
+            }
+            docCount = docs;
+
+            int terms = in.readInt();
+            for (int t = 0; t < terms; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                Postings termPostings = new Postings(size);
+                for (int i = 0; i < size; i++) {
+                    termPostings.add(in.readInt(), in.readInt());
+                }
+                postings.put(term, termPostings);
+            }
+
+            lastSyncedAt = takenAt;
+            log.info("Loaded job search snapshot with {} documents", docs);
+            return takenAt;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load job search snapshot from {}, rebuilding", source, e);
+            clear();
+            return null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInternal(String jobId) {
+        Integer doc = docsByJobId.remove(jobId);
+        if (doc == null) {
+            return;
+        }
+        deletedDocs.set(doc);
+        deletedCount++;
+        totalLength -= docLengths[doc];
+
+        if (deletedCount > MIN_TOMBSTONES_BEFORE_COMPACTION && deletedCount > docCount / 4) {
+            compact();
+        }
+    }
+
+    // Drops tombstoned docs and renumbers the rest; the mapping is monotonic so postings stay sorted
+    private void compact() {
+        if (deletedCount == 0) {
+            return;
+        }
+
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deletedDocs.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            jobIds[next] = jobIds[doc];
+            statuses[next] = statuses[doc];
+            docLengths[next] = docLengths[doc];
+            docsByJobId.put(jobIds[next], next);
+            next++;
+        }
+        Arrays.fill(jobIds, next, docCount, null);
+
+        Iterator<Postings> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            Postings termPostings = iterator.next();
+            termPostings.remap(remap);
+            if (termPostings.size == 0) {
+                iterator.remove();
+            }
+        }
+
+        docCount = next;
+        deletedDocs.clear();
+        deletedCount = 0;
+    }
+
+    private void clear() {
+        postings.clear();
+        docsByJobId.clear();
+        deletedDocs.clear();
+        Arrays.fill(jobIds, null);
+        docCount = 0;
+        deletedCount = 0;
+        totalLength = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= jobIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, jobIds.length * 2);
+        jobIds = Arrays.copyOf(jobIds, newCapacity);
+        statuses = Arrays.copyOf(statuses, newCapacity);
+        docLengths = Arrays.copyOf(docLengths, newCapacity);
+    }
+
+    private int liveDocCount() {
+        return docCount - deletedCount;
+    }
+
+    // Postings minus the tombstoned docs they still list, walking whichever of the two is shorter
+    private int liveDocFrequency(Postings termPostings) {
+        if (deletedCount == 0) {
+            return termPostings.size;
+        }
+        int deleted = 0;
+        if (deletedCount < termPostings.size) {
+            int cursor = 0;
+            for (int doc = deletedDocs.nextSetBit(0); doc >= 0 && cursor < termPostings.size;
+                 doc = deletedDocs.nextSetBit(doc + 1)) {
+                cursor = termPostings.seek(doc, cursor);
+                if (cursor < termPostings.size && termPostings.docs[cursor] == doc) {
+                    deleted++;
+                }
+            }
+        } else {
+            for (int i = 0; i < termPostings.size; i++) {
+                if (deletedDocs.get(termPostings.docs[i])) {
+                    deleted++;
+                }
+            }
+        }
+        return termPostings.size - deleted;
+    }
+
+    private static int addTerms(Map<String, Integer> termFreqs, String text, int weight, String prefix) {
+        List<String> terms = JobTextAnalyzer.analyze(text);
+        for (String term : terms) {
+            termFreqs.merge(prefix + term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private static List<String> distinctTerms(String text, String prefix) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : JobTextAnalyzer.analyze(text)) {
+            if (terms.size() == MAX_QUERY_TERMS) {
+                break;
+            }
+            terms.add(prefix + term);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    // Doc numbers and weighted term frequencies kept in parallel primitive arrays
+    private static final class Postings {
+        private int[] docs;
+        private int[] freqs;
+        private int size;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacity) {
+            docs = new int[Math.max(capacity, 1)];
+            freqs = new int[Math.max(capacity, 1)];
+        }
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        // First position at or after from whose doc is >= doc; gallops forward, then binary searches
+        int seek(int doc, int from) {
+            if (from >= size || docs[from] >= doc) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (low + step < size && docs[low + step] < doc) {
+                low += step;
+                step <<= 1;
+            }
+            int high = Math.min(low + step, size);
+            // docs[low] < doc, and docs[high] >= doc or high == size
+            while (high - low > 1) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] < doc) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            return high;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
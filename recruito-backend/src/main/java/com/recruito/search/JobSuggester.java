@@ -0,0 +1,210 @@
+package com.recruito.search;
+
+import com.recruito.dto.JobSuggestion;
+import com.recruito.event.JobChangedEvent;
+import com.recruito.model.Job;
+import com.recruito.model.enums.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Autocomplete over the titles, departments and locations of published jobs. Each field has its own
+// SuggestionTrie counting how many published jobs carry a value; publish/close/update/delete events
+// adjust the counts incrementally.
+@Component
+public class JobSuggester {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSuggester.class);
+
+    private static final String[] FIELDS = {"title", "department", "location"};
+
+    // Shorter queries match too much at one edit to be useful
+    private static final int MIN_FUZZY_QUERY_LENGTH = 4;
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_LIMIT = 20;
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SuggestionTrie[] tries = {new SuggestionTrie(), new SuggestionTrie(), new SuggestionTrie()};
+
+    // Values currently counted per job, indexed like FIELDS, so updates can undo the old ones
+    private final Map<String, String[]> valuesByJobId = new HashMap<>();
+
+    private LocalDateTime lastSyncedAt;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Query query = suggestedFieldsQuery(new Query(Criteria.where("status").is(JobStatus.PUBLISHED)));
+
+        lock.writeLock().lock();
+        try {
+            for (SuggestionTrie trie : tries) {
+                trie.clear();
+            }
+            valuesByJobId.clear();
+            try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+                jobs.forEach(job -> apply(job.getId(), valuesOf(job), false));
+            }
+            for (SuggestionTrie trie : tries) {
+                trie.rebuildTop();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastSyncedAt = startedAt;
+        ready = true;
+        log.info("Job suggestions ready for {} published jobs", valuesByJobId.size());
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        boolean deleted = event.getChangeType() == JobChangedEvent.ChangeType.DELETED;
+        update(job.getId(), deleted ? null : valuesOf(job));
+    }
+
+    // Picks up publishes and closes made by other nodes; their deletions are only seen on restart
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Query query = new Query(Criteria.where("updatedAt").gte(lastSyncedAt.minusSeconds(CATCH_UP_OVERLAP_SECONDS)));
+        try (Stream<Job> jobs = mongoTemplate.stream(suggestedFieldsQuery(query), Job.class)) {
+            jobs.forEach(job -> update(job.getId(), valuesOf(job)));
+        }
+        lastSyncedAt = startedAt;
+    }
+
+    public List<JobSuggestion> suggest(String prefix, int limit) {
+        String query = normalize(prefix);
+        if (query == null || !ready) {
+            return new ArrayList<>();
+        }
+        int maxEdits = query.length() >= MIN_FUZZY_QUERY_LENGTH ? 1 : 0;
+
+        List<Candidate> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int field = 0; field < FIELDS.length; field++) {
+                for (Map.Entry<SuggestionTrie.Entry, Integer> match : tries[field].search(query, maxEdits).entrySet()) {
+                    SuggestionTrie.Entry entry = match.getKey();
+                    candidates.add(new Candidate(entry.display, FIELDS[field], entry.count, match.getValue()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Exact prefix matches first, then typo matches; most common values first within each
+        candidates.sort(Comparator.comparingInt((Candidate candidate) -> candidate.edits)
+                .thenComparing(Comparator.comparingInt((Candidate candidate) -> candidate.count).reversed())
+                .thenComparing(candidate -> candidate.text));
+
+        List<JobSuggestion> suggestions = new ArrayList<>();
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        for (int i = 0; i < candidates.size() && suggestions.size() < max; i++) {
+            Candidate candidate = candidates.get(i);
+            suggestions.add(new JobSuggestion(candidate.text, candidate.field, candidate.count));
+        }
+        return suggestions;
+    }
+
+    private void update(String jobId, String[] values) {
+        lock.writeLock().lock();
+        try {
+            apply(jobId, values, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // values == null removes the job; callers hold the write lock
+    private void apply(String jobId, String[] values, boolean updateTop) {
+        String[] previous = values != null ? valuesByJobId.put(jobId, values) : valuesByJobId.remove(jobId);
+        for (int field = 0; field < FIELDS.length; field++) {
+            String oldKey = previous != null ? normalize(previous[field]) : null;
+            String newKey = values != null ? normalize(values[field]) : null;
+            if (oldKey != null && oldKey.equals(newKey)) {
+                continue;
+            }
+            if (oldKey != null) {
+                tries[field].remove(oldKey);
+            }
+            if (newKey != null) {
+                tries[field].add(newKey, values[field].trim(), updateTop);
+            }
+        }
+    }
+
+    // Only published jobs are suggested; anything else counts as removed
+    private String[] valuesOf(Job job) {
+        if (job.getStatus() != JobStatus.PUBLISHED) {
+            return null;
+        }
+        return new String[] {job.getTitle(), job.getDepartment(), job.getLocation()};
+    }
+
+    private Query suggestedFieldsQuery(Query query) {
+        query.fields().include("title", "department", "location", "status");
+        return query;
+    }
+
+    // Case, accents and spacing are ignored, so "Senior Engineer" and "senior  engineer" share one entry
+    static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String key = WHITESPACE.matcher(DIACRITICS.matcher(decomposed).replaceAll(""))
+                .replaceAll(" ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return null;
+        }
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static final class Candidate {
+        private final String text;
+        private final String field;
+        private final int count;
+        private final int edits;
+
+        private Candidate(String text, String field, int count, int edits) {
+            this.text = text;
+            this.field = field;
+            this.count = count;
+            this.edits = edits;
+        }
+    }
+}
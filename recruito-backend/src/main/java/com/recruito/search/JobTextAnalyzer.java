@@ -0,0 +1,93 @@
+package com.recruito.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Tokenizer and light English stemmer shared by the job search index.
+// Queries and documents must go through the same analysis so that terms line up.
+public final class JobTextAnalyzer {
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "of", "on", "or", "our", "the", "to", "we", "will", "with", "you", "your");
+
+    private JobTextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(lower.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            // '+' and '#' are kept inside tokens so that "c++" and "c#" survive
+            while (i < length && isTokenChar(lower.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String token = lower.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    static String stem(String token) {
+        if (token.length() <= MIN_STEM_LENGTH || !isAlphabetic(token)) {
+            return token;
+        }
+
+        String stem = token;
+        // Plurals
+        if (stem.endsWith("sses")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        // Verb and noun suffixes, applied in sequence so "engineering" and "engineer" meet
+        stem = stripSuffix(stem, "ing");
+        stem = stripSuffix(stem, "ed");
+        stem = stripSuffix(stem, "ment");
+        stem = stripSuffix(stem, "ness");
+        stem = stripSuffix(stem, "er");
+        stem = stripSuffix(stem, "e");
+        return stem;
+    }
+
+    private static String stripSuffix(String word, String suffix) {
+        if (word.endsWith(suffix) && word.length() - suffix.length() >= MIN_STEM_LENGTH) {
+            return word.substring(0, word.length() - suffix.length());
+        }
+        return word;
+    }
+
+    private static boolean isAlphabetic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isLetter(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
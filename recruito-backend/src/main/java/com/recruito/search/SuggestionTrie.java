@@ -0,0 +1,284 @@
+package com.recruito.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Radix (path-compressed) trie of normalized phrases with a reference count per phrase. Every node caches
+// the TOP_K most frequent phrases below it, so a prefix lookup reads one cached list instead of walking the
+// subtree. Not thread-safe; JobSuggester guards it with its lock.
+final class SuggestionTrie {
+
+    static final int TOP_K = 10;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> BY_FREQUENCY =
+            Comparator.comparingInt((Entry entry) -> entry.count).reversed().thenComparing(entry -> entry.key);
+
+    private final Node root = new Node("");
+
+    static final class Entry {
+        final String key;
+        String display;
+        int count;
+
+        private Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Node {
+        String label; // edge label from the parent
+        Node[] children = NO_CHILDREN; // ordered by first label character
+        Entry entry; // set when a phrase ends here
+        Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void putChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            if (index >= 0) {
+                children[index] = child;
+                return;
+            }
+            int insertAt = -(index + 1);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+        }
+
+        void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            if (index < 0) {
+                return;
+            }
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+    }
+
+    // Adds one reference to the phrase. With updateTop false the cached rankings are left stale,
+    // for bulk loads that call rebuildTop() once at the end.
+    void add(String key, String display, boolean updateTop) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.putChild(child);
+                path.add(child);
+                node = child;
+                break;
+            }
+
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge where the new key diverges
+                // (replace the child before relabelling it, the lookup keys on the first label character)
+                Node split = new Node(child.label.substring(0, common));
+                node.putChild(split);
+                child.label = child.label.substring(common);
+                split.children = new Node[] {child};
+                split.top = child.top;
+                child = split;
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+
+        if (node.entry == null) {
+            node.entry = new Entry(key);
+        }
+        node.entry.count++;
+        node.entry.display = display;
+
+        if (updateTop) {
+            updateTop(path);
+        }
+    }
+
+    // Drops one reference; the phrase disappears when its count reaches zero
+    void remove(String key) {
+        List<Node> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        if (--node.entry.count == 0) {
+            node.entry = null;
+            prune(path);
+        }
+        updateTop(path);
+    }
+
+    void rebuildTop() {
+        rebuildTop(root);
+    }
+
+    void clear() {
+        root.children = NO_CHILDREN;
+        root.entry = null;
+        root.top = NO_ENTRIES;
+    }
+
+    // Phrases starting with the query or within maxEdits edits (insert, delete, substitute) of it;
+    // the value is the number of edits needed
+    Map<Entry, Integer> search(String query, int maxEdits) {
+        Map<Entry, Integer> matches = new HashMap<>();
+        walk(root, 0, query, 0, maxEdits, maxEdits, matches);
+        return matches;
+    }
+
+    private void walk(Node node, int offset, String query, int queryIndex, int editsLeft, int maxEdits,
+                      Map<Entry, Integer> matches) {
+        if (queryIndex == query.length()) {
+            // Every phrase below this point starts with what has been matched
+            int edits = maxEdits - editsLeft;
+            for (Entry entry : node.top) {
+                matches.merge(entry, edits, Math::min);
+            }
+            return;
+        }
+
+        if (editsLeft > 0) {
+            // Extra character in the query
+            walk(node, offset, query, queryIndex + 1, editsLeft - 1, maxEdits, matches);
+        }
+
+        if (offset == node.label.length()) {
+            if (editsLeft == 0) {
+                Node child = node.child(query.charAt(queryIndex));
+                if (child != null) {
+                    walk(child, 0, query, queryIndex, 0, maxEdits, matches);
+                }
+            } else {
+                for (Node child : node.children) {
+                    walk(child, 0, query, queryIndex, editsLeft, maxEdits, matches);
+                }
+            }
+            return;
+        }
+
+        if (node.label.charAt(offset) == query.charAt(queryIndex)) {
+            walk(node, offset + 1, query, queryIndex + 1, editsLeft, maxEdits, matches);
+        } else if (editsLeft > 0) {
+            // Wrong character in the query
+            walk(node, offset + 1, query, queryIndex + 1, editsLeft - 1, maxEdits, matches);
+        }
+        if (editsLeft > 0) {
+            // Character missing from the query
+            walk(node, offset + 1, query, queryIndex, editsLeft - 1, maxEdits, matches);
+        }
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            path.add(child);
+            node = child;
+            i += child.label.length();
+        }
+        return node.entry != null ? path : null;
+    }
+
+    // Removes nodes left without phrases and re-merges single-child chains to keep the trie compressed
+    private void prune(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 1; depth--) {
+            Node node = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (node.entry != null) {
+                break;
+            }
+            if (node.children.length == 0) {
+                parent.removeChild(node);
+            } else if (node.children.length == 1) {
+                Node child = node.children[0];
+                node.label = node.label + child.label;
+                node.children = child.children;
+                node.entry = child.entry;
+                node.top = child.top;
+                break;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void updateTop(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            computeTop(path.get(depth));
+        }
+    }
+
+    private void rebuildTop(Node node) {
+        for (Node child : node.children) {
+            rebuildTop(child);
+        }
+        computeTop(node);
+    }
+
+    private void computeTop(Node node) {
+        List<Entry> candidates = new ArrayList<>();
+        if (node.entry != null) {
+            candidates.add(node.entry);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BY_FREQUENCY);
+        node.top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_ENTRIES);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -1,20 +1,24 @@
 package com.recruito.service;
 
 import com.recruito.dto.AnalyticsDto;
+import com.recruito.migration.ApplicationRecruiterMigration;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
 import com.recruito.model.enums.ApplicationStatus;
 import com.recruito.model.enums.JobStatus;
 import com.recruito.model.enums.Role;
 import com.recruito.repository.*;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class AnalyticsService {
@@ -34,80 +38,53 @@ public class AnalyticsService {
     @Autowired
     private MessageRepository messageRepository;
     
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private ApplicationRecruiterMigration applicationRecruiterMigration;
+    
     public AnalyticsDto getDashboardAnalytics(String recruiterId) {
         AnalyticsDto analytics = new AnalyticsDto();
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        
-        // Total counts
-        analytics.setTotalJobs(recruiterId != null ? 
-            jobRepository.findByRecruiterId(recruiterId, pageable).getTotalElements() : 
-            jobRepository.count());
-        
-        // For recruiter, get applications through their jobs
-        if (recruiterId != null) {
-            List<String> jobIds = jobRepository.findByRecruiterId(recruiterId, pageable)
-                    .getContent()
-                    .stream()
-                    .map(com.recruito.model.Job::getId)
-                    .collect(Collectors.toList());
-            analytics.setTotalApplications(applicationRepository.findByJobIds(jobIds, pageable).getTotalElements());
-        } else {
-            analytics.setTotalApplications(applicationRepository.count());
-        }
         
-        analytics.setTotalInterviews(recruiterId != null ?
-                interviewRepository.findByRecruiterId(recruiterId).size() :
-                    interviewRepository.count());
+        // Recruiter scope reads applications by their denormalized recruiterId
+        Criteria jobScope = recruiterId != null ? Criteria.where("recruiterId").is(recruiterId) : new Criteria();
+        Criteria applicationScope = recruiterId != null
+                ? applicationRecruiterMigration.recruiterCriteria(recruiterId)
+                : new Criteria();
         
-        analytics.setTotalUsers(userRepository.count());
-        analytics.setActiveRecruiters(userRepository.countByRole(Role.RECRUITER));
-        analytics.setActiveCandidates(userRepository.countByRole(Role.CANDIDATE));
-        
-        // Applications by status
+        // Applications by status, one grouped count instead of a query per status
         Map<String, Long> applicationsByStatus = new HashMap<>();
         for (ApplicationStatus status : ApplicationStatus.values()) {
-            long count;
-            if (recruiterId != null) {
-                List<String> jobIds = jobRepository.findByRecruiterId(recruiterId, pageable)
-                        .getContent()
-                        .stream()
-                        .map(com.recruito.model.Job::getId)
-                        .collect(Collectors.toList());
-                count = applicationRepository.findByJobIds(jobIds, pageable)
-                        .stream()
-                        .filter(app -> app.getStatus() == status)
-                        .count();
-            } else {
-                count = applicationRepository.findByStatus(status).size();
-            }
-            applicationsByStatus.put(status.name(), count);
+            applicationsByStatus.put(status.name(), 0L);
         }
+        applicationsByStatus.putAll(countByStatus(applicationScope, Application.class));
         analytics.setApplicationsByStatus(applicationsByStatus);
+        analytics.setTotalApplications(applicationsByStatus.values().stream().mapToLong(Long::longValue).sum());
         
         // Jobs by status
         Map<String, Long> jobsByStatus = new HashMap<>();
         for (JobStatus status : JobStatus.values()) {
-            long count = recruiterId != null ?
-                jobRepository.findByRecruiterId(recruiterId, pageable)
-                    .stream()
-                    .filter(job -> job.getStatus() == status)
-                    .count() :
-                jobRepository.findByStatus(status, pageable).getTotalElements();
-            jobsByStatus.put(status.name(), count);
+            jobsByStatus.put(status.name(), 0L);
         }
+        jobsByStatus.putAll(countByStatus(jobScope, Job.class));
         analytics.setJobsByStatus(jobsByStatus);
+        analytics.setTotalJobs(jobsByStatus.values().stream().mapToLong(Long::longValue).sum());
+        
+        analytics.setTotalInterviews(recruiterId != null ?
+                interviewRepository.countByRecruiterId(recruiterId) :
+                    interviewRepository.count());
+        
+        analytics.setTotalUsers(userRepository.count());
+        analytics.setActiveRecruiters(userRepository.countByRole(Role.RECRUITER));
+        analytics.setActiveCandidates(userRepository.countByRole(Role.CANDIDATE));
         
         // Interviews by month (last 6 months)
         Map<String, Long> interviewsByMonth = new HashMap<>();
         LocalDateTime sixMonthsAgo = LocalDateTime.now().minusMonths(6);
-        List<com.recruito.model.Interview> recentInterviews = interviewRepository
-            .findInterviewsBetweenDates(sixMonthsAgo, LocalDateTime.now());
-        
-        if (recruiterId != null) {
-            recentInterviews = recentInterviews.stream()
-                .filter(i -> i.getRecruiterId().equals(recruiterId))
-                .collect(Collectors.toList());
-        }
+        List<com.recruito.model.Interview> recentInterviews = recruiterId != null ?
+            interviewRepository.findRecruiterInterviewsBetweenDates(recruiterId, sixMonthsAgo, LocalDateTime.now()) :
+            interviewRepository.findInterviewsBetweenDates(sixMonthsAgo, LocalDateTime.now());
         
         recentInterviews.forEach(interview -> {
             String monthKey = interview.getScheduledAt().getYear() + "-" + 
@@ -124,5 +101,19 @@ public class AnalyticsService {
         
         return analytics;
     }
+    
+    private Map<String, Long> countByStatus(Criteria criteria, Class<?> type) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("status").count().as("count"));
+        
+        Map<String, Long> counts = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, type, Document.class)) {
+            if (group.get("_id") != null) {
+                counts.put(group.get("_id").toString(), group.get("count", Number.class).longValue());
+            }
+        }
+        return counts;
+    }
 }
 
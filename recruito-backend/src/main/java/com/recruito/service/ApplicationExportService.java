@@ -0,0 +1,267 @@
+package com.recruito.service;
+
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.User;
+import com.recruito.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Applicant export for one job. Applications are read from a cursor and written out chunk by chunk, with the
+// candidates of each chunk resolved in one lookup, so memory stays flat however many applications there are.
+@Service
+public class ApplicationExportService {
+
+    public enum Format { CSV, XLSX }
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final List<String> HEADER = List.of("Application ID", "Job Title", "Candidate Name",
+            "Candidate Email", "Status", "Applied At", "Updated At", "Resume URL", "Cover Letter");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserService userService;
+
+    // Checked before the response starts streaming, so failures still become a normal error response
+    public Job getExportableJob(String jobId, String recruiterId) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+
+        if (!job.getRecruiterId().equals(recruiterId)) {
+            throw new RuntimeException("Unauthorized to export applications for this job");
+        }
+        return job;
+    }
+
+    public void export(Job job, Format format, OutputStream out) throws IOException {
+        Query query = new Query(Criteria.where("jobId").is(job.getId()))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "id"));
+        query.fields().include("candidateId", "status", "coverLetter", "resumeUrl", "createdAt", "updatedAt");
+
+        RowWriter writer = format == Format.XLSX ? new XlsxRowWriter(out) : new CsvRowWriter(out);
+        writer.writeRow(HEADER);
+
+        List<Application> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Application> applications = mongoTemplate.stream(query, Application.class)) {
+            for (Application application : (Iterable<Application>) applications::iterator) {
+                chunk.add(application);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(writer, job, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        writeChunk(writer, job, chunk);
+        writer.finish();
+    }
+
+    private void writeChunk(RowWriter writer, Job job, List<Application> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, User> candidates = userService.getUsersByIds(
+                chunk.stream().map(Application::getCandidateId).collect(Collectors.toList()));
+
+        for (Application application : chunk) {
+            User candidate = candidates.get(application.getCandidateId());
+            List<String> row = new ArrayList<>(HEADER.size());
+            row.add(application.getId());
+            row.add(job.getTitle());
+            row.add(candidate != null ? candidate.getFirstName() + " " + candidate.getLastName() : null);
+            row.add(candidate != null ? candidate.getEmail() : null);
+            row.add(application.getStatus() != null ? application.getStatus().name() : null);
+            row.add(application.getCreatedAt() != null ? application.getCreatedAt().toString() : null);
+            row.add(application.getUpdatedAt() != null ? application.getUpdatedAt().toString() : null);
+            row.add(application.getResumeUrl());
+            row.add(application.getCoverLetter());
+            writer.writeRow(row);
+        }
+        // Push the chunk to the client instead of letting the response buffer grow
+        writer.flush();
+    }
+
+    // Spreadsheet apps evaluate cells starting with these characters as formulas
+    private static String neutralizeFormula(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        void writeRow(List<String> values) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    // RFC 4180, with a byte order mark so Excel opens it as UTF-8
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void writeRow(List<String> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = values.get(i) != null ? neutralizeFormula(values.get(i)) : "";
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(value.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // Minimal single-sheet workbook written straight into a zip stream. Cells are inline strings, so no
+    // shared-string table has to be held in memory until the end.
+    private static class XlsxRowWriter implements RowWriter {
+        private final ZipOutputStream zip;
+        private final Writer writer;
+
+        XlsxRowWriter(OutputStream out) throws IOException {
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+            writeEntry("[Content_Types].xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/xl/workbook.xml\" "
+                    + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                    + "<Override PartName=\"/xl/worksheets/sheet1.xml\" "
+                    + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                    + "</Types>");
+            writeEntry("_rels/.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Target=\"xl/workbook.xml\" "
+                    + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\"/>"
+                    + "</Relationships>");
+            writeEntry("xl/workbook.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                    + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                    + "<sheets><sheet name=\"Applications\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+                    + "</workbook>");
+            writeEntry("xl/_rels/workbook.xml.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Target=\"worksheets/sheet1.xml\" "
+                    + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\"/>"
+                    + "</Relationships>");
+
+            // The sheet stays open while rows are written
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        }
+
+        @Override
+        public void writeRow(List<String> values) throws IOException {
+            writer.write("<row>");
+            for (String value : values) {
+                if (value == null) {
+                    writer.write("<c/>");
+                    continue;
+                }
+                writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writer.write(escapeXml(value));
+                writer.write("</t></is></c>");
+            }
+            writer.write("</row>");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.write("</sheetData></worksheet>");
+            writer.flush();
+            zip.closeEntry();
+            zip.finish();
+            zip.flush();
+        }
+
+        private void writeEntry(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            writer.write(content);
+            writer.flush();
+            zip.closeEntry();
+        }
+
+        // Characters not allowed in XML 1.0 (most control characters) are dropped
+        private static String escapeXml(String value) {
+            StringBuilder escaped = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&':
+                        escaped.append("&amp;");
+                        break;
+                    case '<':
+                        escaped.append("&lt;");
+                        break;
+                    case '>':
+                        escaped.append("&gt;");
+                        break;
+                    case '"':
+                        escaped.append("&quot;");
+                        break;
+                    default:
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            escaped.append(c);
+                        }
+                        break;
+                }
+            }
+            return escaped.toString();
+        }
+    }
+}
@@ -1,21 +1,50 @@
 package com.recruito.service;
 
 import com.recruito.dto.ApplicationCreateRequest;
+import com.recruito.dto.ApplicationBulkStatusResult;
 import com.recruito.dto.ApplicationDto;
+import com.recruito.dto.ApplicationPipelineDto;
+import com.recruito.dto.ApplicationStatusEventDto;
+import com.recruito.dto.ApplicationStatusResult;
+import com.recruito.dto.CursorPage;
+import com.recruito.dto.PipelineColumnDto;
+import com.recruito.event.ApplicationChangedEvent;
+import com.recruito.migration.ApplicationRecruiterMigration;
+import com.recruito.migration.ApplicationUniqueIndexMigration;
 import com.recruito.model.Application;
+import com.recruito.model.ApplicationStatusEvent;
 import com.recruito.model.Job;
 import com.recruito.model.User;
 import com.recruito.model.enums.ApplicationStatus;
 import com.recruito.repository.ApplicationRepository;
 import com.recruito.repository.JobRepository;
 import com.recruito.repository.UserRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,50 +59,109 @@ public class ApplicationService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private JobCounterService jobCounterService;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ApplicationRecruiterMigration applicationRecruiterMigration;
+    
+    @Autowired
+    private ApplicationStatusEventService applicationStatusEventService;
+    
+    @Autowired
+    private ApplicationUniqueIndexMigration applicationUniqueIndexMigration;
+    
     public ApplicationDto createApplication(ApplicationCreateRequest request, String candidateId) {
-        Job job = jobRepository.findById(request.getJobId())
-                .orElseThrow(() -> new RuntimeException("Job not found"));
-        
-        if (job.getStatus() != com.recruito.model.enums.JobStatus.PUBLISHED) {
-            throw new RuntimeException("Cannot apply to unpublished job");
+        // The unique index is what makes apply-once hold; until it is confirmed, a second apply could get through
+        if (!applicationUniqueIndexMigration.isReady()) {
+            throw new RuntimeException("Applications are not being accepted yet, please retry shortly");
         }
         
-        if (applicationRepository.findByJobIdAndCandidateId(request.getJobId(), candidateId).isPresent()) {
-            throw new RuntimeException("You have already applied for this job");
+        // Only the fields needed to validate the apply and build the response
+        Query jobQuery = new Query(Criteria.where("id").is(request.getJobId()));
+        jobQuery.fields().include("title", "status", "recruiterId");
+        Job job = mongoTemplate.findOne(jobQuery, Job.class);
+        if (job == null) {
+            throw new RuntimeException("Job not found");
         }
         
-        User candidate = userRepository.findById(candidateId)
-                .orElseThrow(() -> new RuntimeException("Candidate not found"));
+        if (job.getStatus() != com.recruito.model.enums.JobStatus.PUBLISHED) {
+            throw new RuntimeException("Cannot apply to unpublished job");
+        }
         
+        // The id is assigned up front so the initial status event can reference it
         Application application = new Application();
+        application.setId(new ObjectId().toHexString());
         application.setJobId(request.getJobId());
         application.setCandidateId(candidateId);
+        application.setRecruiterId(job.getRecruiterId());
         application.setStatus(ApplicationStatus.APPLIED);
         application.setCoverLetter(request.getCoverLetter());
         application.setResumeUrl(request.getResumeUrl());
-        // createdAt and updatedAt are automatically handled by @CreatedDate and @LastModifiedDate
+        ApplicationStatusEvent statusEvent = applicationStatusEventService.transition(application, null,
+                ApplicationStatus.APPLIED, candidateId);
+        // Auditing treats an entity with an id as existing and would skip @CreatedDate
+        application.setCreatedAt(statusEvent.getOccurredAt());
+        application.setUpdatedAt(statusEvent.getOccurredAt());
         
-        application = applicationRepository.save(application);
-        return mapToDto(application);
+        // The unique (jobId, candidateId) index rejects a second apply, including concurrent double submits
+        try {
+            application = applicationRepository.insert(application);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("You have already applied for this job");
+        }
+        applicationStatusEventService.record(List.of(statusEvent));
+        jobCounterService.recordApplicationCreated(application.getJobId(), application.getStatus());
+        eventPublisher.publishEvent(new ApplicationChangedEvent(application.getId(), application.getJobId()));
+        
+        User candidate = userRepository.findById(candidateId).orElse(null);
+        return mapToDto(application, job, candidate);
     }
     
     public Page<ApplicationDto> getApplicationsByCandidate(String candidateId, Pageable pageable) {
-        return applicationRepository.findByCandidateId(candidateId, pageable).map(this::mapToDto);
+        return mapToDtos(applicationRepository.findByCandidateId(candidateId, pageable));
     }
     
-    public Page<ApplicationDto> getApplicationsByJob(String jobId, Pageable pageable) {
-        return applicationRepository.findByJobId(jobId, pageable).map(this::mapToDto);
+    // Applicants (with their match scores) are listed to the recruiter who owns the job and to admins
+    public Page<ApplicationDto> getApplicationsByJob(String jobId, String recruiterId, boolean isAdmin,
+                                                     Pageable pageable) {
+        if (!isAdmin) {
+            getOwnedJob(jobId, recruiterId);
+        }
+        return mapToDtos(applicationRepository.findByJobId(jobId, pageable));
     }
     
     public Page<ApplicationDto> getApplicationsByRecruiter(String recruiterId, Pageable pageable) {
-        // Get all jobs by recruiter, then get applications for those jobs
-        List<String> jobIds = jobRepository.findByRecruiterId(recruiterId, Pageable.unpaged())
-                .getContent()
-                .stream()
-                .map(Job::getId)
-                .collect(Collectors.toList());
+        Criteria criteria = applicationRecruiterMigration.recruiterCriteria(recruiterId);
         
-        return applicationRepository.findByJobIds(jobIds, pageable).map(this::mapToDto);
+        List<Application> applications = mongoTemplate.find(new Query(criteria).with(pageable), Application.class);
+        long total = mongoTemplate.count(new Query(criteria), Application.class);
+        return mapToDtos(new PageImpl<>(applications, pageable, total));
+    }
+    
+    public CursorPage<ApplicationDto> getApplicationsByCandidateAfter(String candidateId, String after, int size) {
+        return fetchApplications(new Query(Criteria.where("candidateId").is(candidateId)), after, size);
+    }
+    
+    public CursorPage<ApplicationDto> getApplicationsByJobAfter(String jobId, String recruiterId, boolean isAdmin,
+                                                                String after, int size) {
+        if (!isAdmin) {
+            getOwnedJob(jobId, recruiterId);
+        }
+        return fetchApplications(new Query(Criteria.where("jobId").is(jobId)), after, size);
+    }
+    
+    public CursorPage<ApplicationDto> getApplicationsByRecruiterAfter(String recruiterId, String after, int size) {
+        return fetchApplications(new Query(applicationRecruiterMigration.recruiterCriteria(recruiterId)), after, size);
     }
     
     public ApplicationDto getApplicationById(String id) {
@@ -82,6 +170,104 @@ public class ApplicationService {
         return mapToDto(application);
     }
     
+    // Status history, visible to the candidate and to the recruiter who owns the job
+    public List<ApplicationStatusEventDto> getApplicationTimeline(String id, String userId) {
+        Application application = applicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        
+        String recruiterId = application.getRecruiterId();
+        if (recruiterId == null) {
+            recruiterId = jobRepository.findById(application.getJobId()).map(Job::getRecruiterId).orElse(null);
+        }
+        if (!userId.equals(application.getCandidateId()) && !userId.equals(recruiterId)) {
+            throw new RuntimeException("Unauthorized to view this application");
+        }
+        return applicationStatusEventService.getTimeline(id);
+    }
+    
+    // Kanban board for a job: the count of every status plus the newest cards of each column, in one
+    // aggregation. Each column is its own $unionWith branch on the jobId_status_createdAt_id index, so only
+    // size + 1 applications per column are read, and the counts are a group over the same index.
+    public ApplicationPipelineDto getPipeline(String jobId, String recruiterId, int size) {
+        Job job = getOwnedJob(jobId, recruiterId);
+        int limit = KeysetPagination.clampSize(size);
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        
+        List<Document> pipeline = new ArrayList<>(pipelineColumnStages(jobId, statuses[0], limit));
+        for (int i = 1; i < statuses.length; i++) {
+            pipeline.add(new Document("$unionWith", new Document("coll", "applications")
+                    .append("pipeline", pipelineColumnStages(jobId, statuses[i], limit))));
+        }
+        pipeline.add(new Document("$unionWith", new Document("coll", "applications").append("pipeline", List.of(
+                new Document("$match", new Document("jobId", jobId)),
+                new Document("$group", new Document("_id", "$status").append("count", new Document("$sum", 1))),
+                new Document("$project", new Document("_id", 0).append("countOf", "$_id").append("count", 1))))));
+        // Candidate ids are stored as strings, user ids as ObjectIds
+        Document candidateId = new Document("$convert", new Document("input", "$$candidateId")
+                .append("to", "objectId").append("onError", null).append("onNull", null));
+        pipeline.add(new Document("$lookup", new Document("from", "users")
+                .append("let", new Document("candidateId", "$candidateId"))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr", new Document("$eq", List.of("$_id", candidateId)))),
+                        new Document("$project", new Document("firstName", 1).append("lastName", 1).append("email", 1))))
+                .append("as", "candidate")));
+        
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        Map<ApplicationStatus, List<Application>> cards = new EnumMap<>(ApplicationStatus.class);
+        Map<String, User> candidates = new HashMap<>();
+        for (Document result : mongoTemplate.getCollection("applications").aggregate(pipeline)) {
+            if (result.containsKey("countOf")) {
+                if (result.get("countOf") != null) {
+                    counts.put(ApplicationStatus.valueOf(result.getString("countOf")),
+                            result.get("count", Number.class).longValue());
+                }
+                continue;
+            }
+            Application application = mongoTemplate.getConverter().read(Application.class, result);
+            cards.computeIfAbsent(application.getStatus(), status -> new ArrayList<>()).add(application);
+            List<Document> candidate = result.getList("candidate", Document.class);
+            if (!candidate.isEmpty()) {
+                candidates.put(application.getCandidateId(), mongoTemplate.getConverter().read(User.class, candidate.get(0)));
+            }
+        }
+        
+        ApplicationPipelineDto board = new ApplicationPipelineDto();
+        board.setJobId(job.getId());
+        board.setJobTitle(job.getTitle());
+        for (ApplicationStatus status : statuses) {
+            CursorPage<Application> page = KeysetPagination.page(cards.getOrDefault(status, new ArrayList<>()), limit,
+                    Application::getCreatedAt, Application::getId);
+            PipelineColumnDto column = new PipelineColumnDto();
+            column.setStatus(status);
+            column.setCount(counts.getOrDefault(status, 0L));
+            column.setCards(page.getContent().stream()
+                    .map(application -> mapToDto(application, job, candidates.get(application.getCandidateId())))
+                    .collect(Collectors.toList()));
+            column.setNextCursor(page.getNextCursor());
+            column.setHasNext(page.isHasNext());
+            board.getColumns().add(column);
+            board.setTotal(board.getTotal() + column.getCount());
+        }
+        return board;
+    }
+    
+    // Next cards of one board column; the cursor comes from the board or a previous call
+    public CursorPage<ApplicationDto> getPipelineColumn(String jobId, ApplicationStatus status, String recruiterId,
+                                                        String after, int size) {
+        Job job = getOwnedJob(jobId, recruiterId);
+        Query query = new Query(Criteria.where("jobId").is(jobId).and("status").is(status));
+        query.fields().exclude("coverLetter");
+        CursorPage<Application> page = KeysetPagination.fetch(mongoTemplate, query, Application.class,
+                "createdAt", Sort.Direction.DESC, after, size, Application::getCreatedAt, Application::getId);
+        return KeysetPagination.map(page, applications -> {
+            Map<String, User> candidates = userService.getUsersByIds(
+                    applications.stream().map(Application::getCandidateId).collect(Collectors.toList()));
+            return applications.stream()
+                    .map(application -> mapToDto(application, job, candidates.get(application.getCandidateId())))
+                    .collect(Collectors.toList());
+        });
+    }
+    
     public ApplicationDto updateApplicationStatus(String id, ApplicationStatus status, String recruiterId) {
         Application application = applicationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Application not found"));
@@ -93,27 +279,211 @@ public class ApplicationService {
             throw new RuntimeException("Unauthorized to update this application");
         }
         
-        application.setStatus(status);
-        // updatedAt is automatically handled by @LastModifiedDate
-        application = applicationRepository.save(application);
-        return mapToDto(application);
+        ApplicationStatus previousStatus = application.getStatus();
+        if (previousStatus == status) {
+            return mapToDto(application);
+        }
+        if (application.getRecruiterId() == null) {
+            application.setRecruiterId(job.getRecruiterId());
+        }
+        ApplicationStatusEvent statusEvent = applicationStatusEventService.transition(application, previousStatus,
+                status, recruiterId);
+        // Same conditional write as the bulk path: it only applies while the status is still the one read
+        // above, and touches no other field, so concurrent writers (backfill, screener) keep their values
+        Application updated = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(id).and("status").is(previousStatus)),
+                applicationStatusEventService.statusUpdate(statusEvent, LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Application.class);
+        if (updated == null) {
+            throw new RuntimeException("Status was changed concurrently, retry");
+        }
+        applicationStatusEventService.record(List.of(statusEvent));
+        jobCounterService.recordStatusChange(updated.getJobId(), previousStatus, status);
+        eventPublisher.publishEvent(new ApplicationChangedEvent(updated.getId(), updated.getJobId()));
+        return mapToDto(updated);
+    }
+    
+    // Moves many applications to one status: one read for the set plus ownership, then a single unordered
+    // bulk write whose updates only apply while the status is still the one that was read
+    public ApplicationBulkStatusResult bulkUpdateApplicationStatus(List<String> applicationIds, ApplicationStatus status,
+                                                                   String recruiterId) {
+        Set<String> ids = new LinkedHashSet<>(applicationIds);
+        
+        Query query = new Query(Criteria.where("id").in(ids));
+        query.fields().include("jobId", "candidateId", "recruiterId", "status");
+        Map<String, Application> applications = new HashMap<>();
+        mongoTemplate.find(query, Application.class).forEach(application -> applications.put(application.getId(), application));
+        
+        // Applications not yet backfilled with recruiterId are checked through their job
+        Set<String> unresolvedJobIds = applications.values().stream()
+                .filter(application -> application.getRecruiterId() == null)
+                .map(Application::getJobId)
+                .collect(Collectors.toSet());
+        Set<String> ownedJobIds = new HashSet<>();
+        if (!unresolvedJobIds.isEmpty()) {
+            Query jobQuery = new Query(Criteria.where("id").in(unresolvedJobIds).and("recruiterId").is(recruiterId));
+            jobQuery.fields().include("id");
+            mongoTemplate.find(jobQuery, Job.class).forEach(job -> ownedJobIds.add(job.getId()));
+        }
+        
+        ApplicationBulkStatusResult result = new ApplicationBulkStatusResult();
+        Map<String, ApplicationStatusResult> results = new HashMap<>();
+        List<Application> toUpdate = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        
+        for (String id : ids) {
+            Application application = applications.get(id);
+            ApplicationStatusResult outcome = new ApplicationStatusResult(id, false, null, null);
+            result.getResults().add(outcome);
+            results.put(id, outcome);
+            
+            if (application == null) {
+                outcome.setError("Application not found");
+                continue;
+            }
+            boolean owned = application.getRecruiterId() != null
+                    ? application.getRecruiterId().equals(recruiterId)
+                    : ownedJobIds.contains(application.getJobId());
+            if (!owned) {
+                outcome.setError("Unauthorized to update this application");
+                continue;
+            }
+            
+            outcome.setPreviousStatus(application.getStatus());
+            if (application.getStatus() == status) {
+                outcome.setSuccess(true);
+                continue;
+            }
+            application.setRecruiterId(recruiterId);
+            ApplicationStatusEvent statusEvent = applicationStatusEventService.transition(application,
+                    application.getStatus(), status, recruiterId);
+            bulkOps.updateOne(
+                    new Query(Criteria.where("id").is(id).and("status").is(application.getStatus())),
+                    applicationStatusEventService.statusUpdate(statusEvent, now));
+            toUpdate.add(application);
+        }
+        
+        List<Application> updated = toUpdate;
+        if (!toUpdate.isEmpty()) {
+            int modified = bulkOps.execute().getModifiedCount();
+            if (modified < toUpdate.size()) {
+                // Some statuses changed between the read and the write
+                updated = reconcileConcurrentChanges(toUpdate, results);
+            }
+        }
+        for (Application application : updated) {
+            results.get(application.getId()).setSuccess(true);
+        }
+        
+        applicationStatusEventService.record(updated.stream()
+                .map(Application::getLastStatusChange)
+                .collect(Collectors.toList()));
+        jobCounterService.recordStatusChanges(updated, status);
+        for (Application application : updated) {
+            eventPublisher.publishEvent(new ApplicationChangedEvent(application.getId(), application.getJobId()));
+        }
+        
+        result.setTotal(result.getResults().size());
+        result.setUpdated(updated.size());
+        result.setFailed((int) result.getResults().stream().filter(outcome -> !outcome.isSuccess()).count());
+        return result;
+    }
+    
+    // An update was applied iff the application now carries the status event written with it
+    private List<Application> reconcileConcurrentChanges(List<Application> attempted,
+                                                         Map<String, ApplicationStatusResult> results) {
+        List<String> eventIds = attempted.stream()
+                .map(application -> application.getLastStatusChange().getTransitionId())
+                .collect(Collectors.toList());
+        List<String> ids = attempted.stream().map(Application::getId).collect(Collectors.toList());
+        Query query = new Query(Criteria.where("id").in(ids).and("lastStatusChange.transitionId").in(eventIds));
+        query.fields().include("id");
+        Set<String> applied = mongoTemplate.find(query, Application.class).stream()
+                .map(Application::getId)
+                .collect(Collectors.toSet());
+        
+        List<Application> updated = new ArrayList<>();
+        for (Application application : attempted) {
+            if (applied.contains(application.getId())) {
+                updated.add(application);
+            } else {
+                results.get(application.getId()).setError("Status was changed concurrently, retry");
+            }
+        }
+        return updated;
+    }
+    
+    private Job getOwnedJob(String jobId, String recruiterId) {
+        Query query = new Query(Criteria.where("id").is(jobId));
+        query.fields().include("title", "recruiterId");
+        Job job = mongoTemplate.findOne(query, Job.class);
+        if (job == null) {
+            throw new RuntimeException("Job not found");
+        }
+        if (!recruiterId.equals(job.getRecruiterId())) {
+            throw new RuntimeException("Unauthorized to view applications for this job");
+        }
+        return job;
+    }
+    
+    // Newest cards of one status, without the cover letter the board does not show
+    private List<Document> pipelineColumnStages(String jobId, ApplicationStatus status, int limit) {
+        return List.of(
+                new Document("$match", new Document("jobId", jobId).append("status", status.name())),
+                new Document("$sort", new Document("createdAt", -1).append("_id", -1)),
+                new Document("$limit", limit + 1),
+                new Document("$project", new Document("coverLetter", 0)));
+    }
+    
+    private CursorPage<ApplicationDto> fetchApplications(Query query, String after, int size) {
+        // Newest first, keyed on (createdAt, _id)
+        CursorPage<Application> page = KeysetPagination.fetch(mongoTemplate, query, Application.class,
+                "createdAt", Sort.Direction.DESC, after, size, Application::getCreatedAt, Application::getId);
+        return KeysetPagination.map(page, applications -> mapToDtos(applications));
     }
     
     private ApplicationDto mapToDto(Application application) {
+        return mapToDtos(List.of(application)).get(0);
+    }
+    
+    private Page<ApplicationDto> mapToDtos(Page<Application> applications) {
+        return new PageImpl<>(mapToDtos(applications.getContent()), applications.getPageable(),
+                applications.getTotalElements());
+    }
+    
+    private List<ApplicationDto> mapToDtos(List<Application> applications) {
+        if (applications.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Resolve jobs and candidates for the whole page with one $in query each
+        Map<String, Job> jobs = new HashMap<>();
+        jobRepository.findAllById(applications.stream()
+                        .map(Application::getJobId)
+                        .collect(Collectors.toSet()))
+                .forEach(job -> jobs.put(job.getId(), job));
+        Map<String, User> candidates = userService.getUsersByIds(
+                applications.stream().map(Application::getCandidateId).collect(Collectors.toList()));
+        
+        return applications.stream()
+                .map(application -> mapToDto(application, jobs.get(application.getJobId()),
+                        candidates.get(application.getCandidateId())))
+                .collect(Collectors.toList());
+    }
+    
+    private ApplicationDto mapToDto(Application application, Job job, User candidate) {
         ApplicationDto dto = new ApplicationDto();
         dto.setId(application.getId());
         dto.setJobId(application.getJobId());
         
-        // Fetch job for title
-        Job job = jobRepository.findById(application.getJobId()).orElse(null);
         if (job != null) {
             dto.setJobTitle(job.getTitle());
         }
         
         dto.setCandidateId(application.getCandidateId());
         
-        // Fetch candidate for name and email
-        User candidate = userRepository.findById(application.getCandidateId()).orElse(null);
         if (candidate != null) {
             dto.setCandidateName(candidate.getFirstName() + " " + candidate.getLastName());
             dto.setCandidateEmail(candidate.getEmail());
@@ -122,6 +492,7 @@ public class ApplicationService {
         dto.setStatus(application.getStatus());
         dto.setCoverLetter(application.getCoverLetter());
         dto.setResumeUrl(application.getResumeUrl());
+        dto.setMatchScore(application.getMatchScore());
         dto.setCreatedAt(application.getCreatedAt());
         dto.setUpdatedAt(application.getUpdatedAt());
         return dto;
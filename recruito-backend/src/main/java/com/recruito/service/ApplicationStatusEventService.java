@@ -0,0 +1,226 @@
+package com.recruito.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.recruito.dto.ApplicationStatusEventDto;
+import com.recruito.dto.CursorPage;
+import com.recruito.model.Application;
+import com.recruito.model.ApplicationStatusEvent;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.repository.ApplicationStatusEventRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Status history of applications. Every transition is stamped on the application as lastStatusChange, and
+// pushed onto its pendingStatusChanges, in the same write as the status; it is then appended to
+// application_events and pulled from the pending list. A crash between the two writes is repaired by the
+// catch-up pass, which re-appends whatever is still pending, so two quick transitions are both kept even if
+// the first event insert was lost. Inserts are idempotent on the transitionId fixed up front (unique index),
+// while the event id, which orders the feed, is only minted at insert time: a repaired event lands at the
+// end of the feed instead of behind cursors that have passed it.
+@Service
+public class ApplicationStatusEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationStatusEventService.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int MAX_FEED_LIMIT = 1000;
+    private static final int CATCH_UP_BATCH_SIZE = 500;
+    // Oldest pending transitions are dropped past this, should event inserts keep failing for an application
+    private static final int MAX_PENDING_STATUS_CHANGES = 50;
+
+    @Autowired
+    private ApplicationStatusEventRepository applicationStatusEventRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Events younger than this are held back from the feed, so ids minted on other nodes in the same
+    // moment have been inserted before a consumer's cursor moves past them
+    @Value("${app.applications.event-feed-settle-seconds:5}")
+    private long feedSettleSeconds;
+
+    // Builds the event for a transition and stamps it on the application; the caller writes the application
+    public ApplicationStatusEvent transition(Application application, ApplicationStatus from, ApplicationStatus to,
+                                             String actorId) {
+        ApplicationStatusEvent event = new ApplicationStatusEvent();
+        event.setTransitionId(new ObjectId().toHexString());
+        event.setApplicationId(application.getId());
+        event.setJobId(application.getJobId());
+        event.setRecruiterId(application.getRecruiterId());
+        event.setCandidateId(application.getCandidateId());
+        event.setFromStatus(from);
+        event.setToStatus(to);
+        event.setActorId(actorId);
+        event.setOccurredAt(LocalDateTime.now());
+        application.setLastStatusChange(event);
+        application.setPendingStatusChanges(new ArrayList<>(List.of(event)));
+        return event;
+    }
+
+    // The status write for an existing application: the status, lastStatusChange and the pending transition
+    public Update statusUpdate(ApplicationStatusEvent event, LocalDateTime now) {
+        Update update = new Update()
+                .set("status", event.getToStatus())
+                .set("updatedAt", now)
+                .set("lastStatusChange", event);
+        update.push("pendingStatusChanges").slice(-MAX_PENDING_STATUS_CHANGES).each(event);
+        return update;
+    }
+
+    // Appends events after their application write, giving each its feed id; ones already present are skipped.
+    // The transitions are then cleared from their applications' pending lists.
+    public void record(List<ApplicationStatusEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        insert(events);
+        clearPending(events);
+    }
+
+    public List<ApplicationStatusEventDto> getTimeline(String applicationId) {
+        List<ApplicationStatusEvent> events =
+                applicationStatusEventRepository.findByApplicationIdOrderByOccurredAtAscIdAsc(applicationId);
+
+        List<ApplicationStatusEventDto> timeline = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            ApplicationStatusEventDto dto = mapToDto(events.get(i));
+            if (i + 1 < events.size()) {
+                dto.setSecondsInStage(Duration.between(events.get(i).getOccurredAt(),
+                        events.get(i + 1).getOccurredAt()).getSeconds());
+            }
+            timeline.add(dto);
+        }
+        return timeline;
+    }
+
+    // Events in id order after the given cursor. nextCursor is always set (to after itself when nothing new
+    // has settled), so a consumer can keep polling with the last cursor it received.
+    public CursorPage<ApplicationStatusEventDto> getFeed(String after, int limit) {
+        Criteria criteria = Criteria.where("id").lt(settledBoundary());
+        if (after != null && !after.isEmpty()) {
+            if (!ObjectId.isValid(after)) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            criteria.gt(new ObjectId(after));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_FEED_LIMIT));
+        Query query = new Query(criteria).with(Sort.by("id")).limit(pageSize);
+        List<ApplicationStatusEventDto> events = mongoTemplate.find(query, ApplicationStatusEvent.class).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+
+        String nextCursor = events.isEmpty() ? after : events.get(events.size() - 1).getId();
+        return new CursorPage<>(events, nextCursor, events.size() == pageSize, events.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.applications.event-catch-up-interval-ms:60000}")
+    public void catchUp() {
+        Query query = new Query(Criteria.where("pendingStatusChanges.transitionId").exists(true));
+        query.fields().include("pendingStatusChanges");
+        int repaired = 0;
+        List<ApplicationStatusEvent> batch = new ArrayList<>();
+        try (Stream<Application> applications = mongoTemplate.stream(query, Application.class)) {
+            for (Application application : (Iterable<Application>) applications::iterator) {
+                batch.addAll(application.getPendingStatusChanges());
+                if (batch.size() >= CATCH_UP_BATCH_SIZE) {
+                    repaired += recordMissing(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        repaired += recordMissing(batch);
+        if (repaired > 0) {
+            log.info("Appended {} application events lost between the status write and the event insert", repaired);
+        }
+    }
+
+    private int recordMissing(List<ApplicationStatusEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<String> transitionIds = events.stream()
+                .map(ApplicationStatusEvent::getTransitionId)
+                .collect(Collectors.toList());
+        Query query = new Query(Criteria.where("transitionId").in(transitionIds));
+        query.fields().include("transitionId");
+        Set<String> existing = mongoTemplate.find(query, ApplicationStatusEvent.class).stream()
+                .map(ApplicationStatusEvent::getTransitionId)
+                .collect(Collectors.toSet());
+
+        List<ApplicationStatusEvent> missing = events.stream()
+                .filter(event -> !existing.contains(event.getTransitionId()))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            insert(missing);
+        }
+        // Events already written by a caller that stopped before clearing them are cleared too
+        clearPending(events);
+        return missing.size();
+    }
+
+    private void insert(List<ApplicationStatusEvent> events) {
+        for (ApplicationStatusEvent event : events) {
+            event.setId(new ObjectId().toHexString());
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ApplicationStatusEvent.class)
+                    .insert(events)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void clearPending(List<ApplicationStatusEvent> events) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        for (ApplicationStatusEvent event : events) {
+            bulkOps.updateOne(new Query(Criteria.where("id").is(event.getApplicationId())),
+                    new Update().pull("pendingStatusChanges", new Document("transitionId", event.getTransitionId())));
+        }
+        bulkOps.execute();
+    }
+
+    // Smallest ObjectId of the first second that has not settled yet
+    private ObjectId settledBoundary() {
+        long seconds = System.currentTimeMillis() / 1000 - feedSettleSeconds;
+        return new ObjectId(String.format("%08x%016x", seconds, 0L));
+    }
+
+    private ApplicationStatusEventDto mapToDto(ApplicationStatusEvent event) {
+        ApplicationStatusEventDto dto = new ApplicationStatusEventDto();
+        dto.setId(event.getId());
+        dto.setApplicationId(event.getApplicationId());
+        dto.setJobId(event.getJobId());
+        dto.setFromStatus(event.getFromStatus());
+        dto.setToStatus(event.getToStatus());
+        dto.setActorId(event.getActorId());
+        dto.setOccurredAt(event.getOccurredAt());
+        return dto;
+    }
+}
@@ -0,0 +1,279 @@
+package com.recruito.service;
+
+import com.recruito.model.Interview;
+import com.recruito.model.User;
+import com.recruito.model.enums.InterviewResponseStatus;
+import com.recruito.repository.UserRepository;
+import com.recruito.scheduling.RecruiterAvailabilityIndex;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Per-user ICS feeds of interviews. A plain request (what subscribed calendar clients send) gets the window
+// from 30 days back to 180 days ahead, at most MAX_FEED_EVENTS interviews. Token-aware clients page through
+// a full sync instead, and the last page carries a sync token: the (updatedAt, _id) position the client has
+// seen up to. Passing it back returns only the interviews changed since, through the
+// (recruiterId|candidateId, updatedAt, _id) indexes, instead of the whole calendar.
+@Service
+public class InterviewCalendarService {
+
+    public static final String SYNC_TOKEN_HEADER = "X-Sync-Token";
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+    private static final int MAX_FEED_EVENTS = 1000;
+    private static final int FEED_HISTORY_DAYS = 30;
+    private static final int FEED_HORIZON_DAYS = 180;
+    // Writes stamped just before "now" may not be visible yet, so the watermark stays this far behind
+    private static final long SETTLE_SECONDS = 5;
+
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int ICS_LINE_OCTETS = 75;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Getter
+    @AllArgsConstructor
+    public static class CalendarFeed {
+        private final String ics;
+        private final String syncToken; // null until the last page of a paged full sync
+        private final String nextPageToken; // null on the last page
+    }
+
+    public String createFeedToken(String userId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String feedToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(userId)),
+                new Update().set("calendarFeedToken", feedToken), User.class);
+        return feedToken;
+    }
+
+    // syncToken: incremental sync. paged or pageToken: paged full sync. Neither: the bounded window at once.
+    public CalendarFeed getFeed(String feedToken, String syncToken, String pageToken, boolean paged) {
+        User user = userRepository.findByCalendarFeedToken(feedToken)
+                .orElseThrow(() -> new RuntimeException("Calendar feed not found"));
+        String userId = user.getId();
+        Criteria scope = new Criteria().orOperator(
+                Criteria.where("recruiterId").is(userId), Criteria.where("candidateId").is(userId));
+        LocalDateTime watermark = LocalDateTime.now().minusSeconds(SETTLE_SECONDS);
+
+        List<Interview> interviews;
+        String nextSyncToken = encodeSyncToken(watermark, null);
+        String nextPageToken = null;
+        boolean hasSyncToken = syncToken != null && !syncToken.isEmpty();
+        boolean hasPageToken = pageToken != null && !pageToken.isEmpty();
+        if (hasSyncToken && hasPageToken) {
+            throw new RuntimeException("Pass either syncToken or pageToken, not both");
+        }
+        Criteria window = Criteria.where("scheduledAt").gte(LocalDateTime.now().minusDays(FEED_HISTORY_DAYS));
+        if (!hasSyncToken && !paged && !hasPageToken) {
+            // Recent and upcoming interviews: calendar clients replace their copy with it. Bounded in time and
+            // size; clients that need more use the paged sync.
+            Criteria horizon = Criteria.where("scheduledAt").lt(LocalDateTime.now().plusDays(FEED_HORIZON_DAYS));
+            Query query = new Query(new Criteria().andOperator(scope, window, horizon))
+                    .with(Sort.by(Sort.Direction.ASC, "scheduledAt", "id"))
+                    .limit(MAX_FEED_EVENTS);
+            interviews = mongoTemplate.find(query, Interview.class);
+        } else if (!hasSyncToken) {
+            // Paged full sync. Every page keeps the watermark of the first, and only the last page hands it
+            // out as the sync token, so the client cannot skip interviews it has not been sent yet. Changes
+            // made while paging are after the watermark and come with the first incremental sync.
+            Criteria page = window;
+            if (hasPageToken) {
+                String[] position = decodePageToken(pageToken);
+                watermark = LocalDateTime.parse(position[0]);
+                LocalDateTime scheduledAt = LocalDateTime.parse(position[1]);
+                page = new Criteria().orOperator(Criteria.where("scheduledAt").gt(scheduledAt),
+                        Criteria.where("scheduledAt").is(scheduledAt).and("_id").gt(new ObjectId(position[2])));
+            }
+            Query query = new Query(new Criteria().andOperator(scope, window, page))
+                    .with(Sort.by(Sort.Direction.ASC, "scheduledAt", "id"))
+                    .limit(MAX_FEED_EVENTS + 1);
+            interviews = mongoTemplate.find(query, Interview.class);
+            if (interviews.size() > MAX_FEED_EVENTS) {
+                interviews = new ArrayList<>(interviews.subList(0, MAX_FEED_EVENTS));
+                Interview last = interviews.get(interviews.size() - 1);
+                nextPageToken = encodePageToken(watermark, last.getScheduledAt(), last.getId());
+                nextSyncToken = null;
+            } else {
+                nextSyncToken = encodeSyncToken(watermark, null);
+            }
+        } else {
+            // Incremental: everything changed after the token, up to the watermark, oldest change first
+            String[] position = decodeSyncToken(syncToken);
+            LocalDateTime since = LocalDateTime.parse(position[0]);
+            Criteria changed = position[1].isEmpty()
+                    ? Criteria.where("updatedAt").gt(since)
+                    : new Criteria().orOperator(Criteria.where("updatedAt").gt(since),
+                            Criteria.where("updatedAt").is(since).and("_id").gt(new ObjectId(position[1])));
+            Query query = new Query(new Criteria().andOperator(scope, changed,
+                    Criteria.where("updatedAt").lte(watermark)))
+                    .with(Sort.by(Sort.Direction.ASC, "updatedAt", "id"))
+                    .limit(MAX_FEED_EVENTS + 1);
+            interviews = mongoTemplate.find(query, Interview.class);
+            if (interviews.size() > MAX_FEED_EVENTS) {
+                // More changes than one response carries; the client continues from the last one sent
+                interviews = new ArrayList<>(interviews.subList(0, MAX_FEED_EVENTS));
+                Interview last = interviews.get(interviews.size() - 1);
+                nextSyncToken = encodeSyncToken(last.getUpdatedAt(), last.getId());
+            }
+        }
+
+        Map<String, User> users = userService.getUsersByIds(interviews.stream()
+                .flatMap(interview -> Stream.of(interview.getCandidateId(), interview.getRecruiterId()))
+                .collect(Collectors.toList()));
+        return new CalendarFeed(toIcs(interviews, users, userId, nextSyncToken, nextPageToken),
+                nextSyncToken, nextPageToken);
+    }
+
+    private String toIcs(List<Interview> interviews, Map<String, User> users, String userId, String syncToken,
+                         String nextPageToken) {
+        StringBuilder ics = new StringBuilder();
+        appendLine(ics, "BEGIN:VCALENDAR");
+        appendLine(ics, "VERSION:2.0");
+        appendLine(ics, "PRODID:-//Recruito//Interviews//EN");
+        appendLine(ics, "CALSCALE:GREGORIAN");
+        appendLine(ics, "X-WR-CALNAME:Recruito interviews");
+        if (syncToken != null) {
+            appendLine(ics, "X-RECRUITO-SYNC-TOKEN:" + syncToken);
+        }
+        if (nextPageToken != null) {
+            appendLine(ics, "X-RECRUITO-NEXT-PAGE-TOKEN:" + nextPageToken);
+        }
+        for (Interview interview : interviews) {
+            // Recruiters see who they interview; candidates see who interviews them
+            boolean asRecruiter = userId.equals(interview.getRecruiterId());
+            User other = users.get(asRecruiter ? interview.getCandidateId() : interview.getRecruiterId());
+            String summary = other != null
+                    ? "Interview with " + other.getFirstName() + " " + other.getLastName()
+                    : "Interview";
+            // Interviews from before auditing have no timestamps; their schedule stands in
+            LocalDateTime updatedAt = interview.getUpdatedAt() != null ? interview.getUpdatedAt()
+                    : interview.getCreatedAt() != null ? interview.getCreatedAt() : interview.getScheduledAt();
+
+            appendLine(ics, "BEGIN:VEVENT");
+            appendLine(ics, "UID:" + interview.getId() + "@recruito");
+            appendLine(ics, "DTSTAMP:" + toUtc(updatedAt));
+            appendLine(ics, "LAST-MODIFIED:" + toUtc(updatedAt));
+            // Clients keep the copy with the highest sequence
+            appendLine(ics, "SEQUENCE:" + updatedAt.atZone(ZoneId.systemDefault()).toEpochSecond());
+            appendLine(ics, "DTSTART:" + toUtc(interview.getScheduledAt()));
+            appendLine(ics, "DTEND:" + toUtc(interview.getScheduledAt()
+                    .plusMinutes(RecruiterAvailabilityIndex.durationOf(interview))));
+            appendLine(ics, "SUMMARY:" + escapeText(summary));
+            if (interview.getLocation() != null) {
+                appendLine(ics, "LOCATION:" + escapeText(interview.getLocation()));
+            }
+            if (interview.getInterviewType() != null) {
+                appendLine(ics, "CATEGORIES:" + escapeText(interview.getInterviewType()));
+            }
+            appendLine(ics, "STATUS:" + status(interview));
+            appendLine(ics, "END:VEVENT");
+        }
+        appendLine(ics, "END:VCALENDAR");
+        return ics.toString();
+    }
+
+    private static String status(Interview interview) {
+        if (interview.getCandidateResponseStatus() == InterviewResponseStatus.REJECTED) {
+            return "CANCELLED";
+        }
+        return interview.getCandidateResponseStatus() == InterviewResponseStatus.ACCEPTED ? "CONFIRMED" : "TENTATIVE";
+    }
+
+    private static String toUtc(LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(ICS_UTC);
+    }
+
+    // RFC 5545 TEXT escaping
+    private static String escapeText(String value) {
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+                .replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "");
+    }
+
+    // Lines longer than 75 octets are folded onto continuation lines starting with a space
+    private static void appendLine(StringBuilder ics, String line) {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > ICS_LINE_OCTETS) {
+                ics.append("\r\n ");
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+
+    private static String encodeSyncToken(LocalDateTime updatedAt, String id) {
+        String raw = updatedAt + "|" + (id != null ? id : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodePageToken(LocalDateTime watermark, LocalDateTime scheduledAt, String id) {
+        String raw = watermark + "|" + scheduledAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodePageToken(String pageToken) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !ObjectId.isValid(parts[2])) {
+                throw new RuntimeException("Invalid page token");
+            }
+            LocalDateTime.parse(parts[0]);
+            LocalDateTime.parse(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid page token");
+        }
+    }
+
+    private static String[] decodeSyncToken(String syncToken) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(syncToken), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2 || (!parts[1].isEmpty() && !ObjectId.isValid(parts[1]))) {
+                throw new RuntimeException("Invalid sync token");
+            }
+            LocalDateTime.parse(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid sync token");
+        }
+    }
+}
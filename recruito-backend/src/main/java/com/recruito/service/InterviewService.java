@@ -1,10 +1,14 @@
 package com.recruito.service;
 
+import com.recruito.dto.CursorPage;
 import com.recruito.dto.InterviewCreateRequest;
 import com.recruito.dto.InterviewDto;
 import com.recruito.dto.InterviewResponseRequest;
+import com.recruito.event.InterviewChangedEvent;
+import com.recruito.migration.InterviewUniqueIndexMigration;
 import com.recruito.model.Application;
 import com.recruito.model.Interview;
+import com.recruito.model.InterviewSlot;
 import com.recruito.model.Job;
 import com.recruito.model.User;
 import com.recruito.model.enums.InterviewResponseStatus;
@@ -12,16 +16,32 @@ import com.recruito.repository.ApplicationRepository;
 import com.recruito.repository.InterviewRepository;
 import com.recruito.repository.JobRepository;
 import com.recruito.repository.UserRepository;
+import com.recruito.scheduling.RecruiterAvailabilityIndex;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class InterviewService {
     
+    private static final int MAX_CALENDAR_DAYS = 31;
+    
     @Autowired
     private InterviewRepository interviewRepository;
     
@@ -34,39 +54,53 @@ public class InterviewService {
     @Autowired
     private UserRepository userRepository;
     
-    public InterviewDto scheduleInterview(InterviewCreateRequest request, String recruiterId) {
-        Application application = applicationRepository.findById(request.getApplicationId())
-                .orElseThrow(() -> new RuntimeException("Application not found"));
-        
-        Job job = jobRepository.findById(application.getJobId())
-                .orElseThrow(() -> new RuntimeException("Job not found"));
-        
-        // Check if user is admin or the job's recruiter
-        User currentUser = userRepository.findById(recruiterId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        boolean isAdmin = currentUser.getRole() == com.recruito.model.enums.Role.ADMIN;
-        boolean isJobRecruiter = job.getRecruiterId().equals(recruiterId);
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private RecruiterAvailabilityIndex availabilityIndex;
+    
+    @Autowired
+    private InterviewUniqueIndexMigration interviewUniqueIndexMigration;
+    
+    public InterviewDto scheduleInterview(InterviewCreateRequest request, String recruiterId, boolean isAdmin) {
+        requireUniqueIndex();
         
-        if (!isAdmin && !isJobRecruiter) {
-            throw new RuntimeException("Unauthorized to schedule interview for this application");
+        Query applicationQuery = new Query(Criteria.where("id").is(request.getApplicationId()));
+        applicationQuery.fields().include("jobId", "candidateId", "recruiterId");
+        Application application = mongoTemplate.findOne(applicationQuery, Application.class);
+        if (application == null) {
+            throw new RuntimeException("Application not found");
         }
         
-        // Check if interview already exists
-        List<Interview> existingInterviews = interviewRepository.findByCandidateId(application.getCandidateId())
-                .stream()
-                .filter(i -> i.getApplicationId().equals(application.getId()))
-                .collect(Collectors.toList());
-        
-        if (!existingInterviews.isEmpty()) {
-            throw new RuntimeException("Interview already scheduled for this application");
+        // Admins may schedule for any application; otherwise the caller must own the job
+        if (!isAdmin) {
+            String jobRecruiterId = application.getRecruiterId();
+            if (jobRecruiterId == null) {
+                // Not yet backfilled with recruiterId
+                jobRecruiterId = jobRepository.findById(application.getJobId())
+                        .map(Job::getRecruiterId)
+                        .orElseThrow(() -> new RuntimeException("Job not found"));
+            }
+            if (!jobRecruiterId.equals(recruiterId)) {
+                throw new RuntimeException("Unauthorized to schedule interview for this application");
+            }
         }
         
+        // The id is assigned up front so the recruiter's time can be booked before the insert
         Interview interview = new Interview();
+        interview.setId(new ObjectId().toHexString());
         interview.setApplicationId(request.getApplicationId());
         interview.setCandidateId(application.getCandidateId());
         interview.setRecruiterId(recruiterId);
         interview.setScheduledAt(request.getScheduledAt());
+        interview.setDurationMinutes(durationOf(request, RecruiterAvailabilityIndex.DEFAULT_DURATION_MINUTES));
         interview.setLocation(request.getLocation());
         interview.setInterviewType(request.getInterviewType());
         interview.setNotes(request.getNotes());
@@ -74,24 +108,75 @@ public class InterviewService {
         interview.setCandidateResponseStatus(InterviewResponseStatus.PENDING);
         interview.setCandidateRespondedAt(null);
         interview.setCandidateResponseNote(null);
-        // createdAt and updatedAt are automatically handled by @CreatedDate and @LastModifiedDate
+        // Auditing treats an entity with an id as existing and would skip @CreatedDate
+        interview.setCreatedAt(LocalDateTime.now());
+        interview.setUpdatedAt(interview.getCreatedAt());
         
-        interview = interviewRepository.save(interview);
+        // Fails on an overlap with the recruiter's other interviews; released again if the insert fails
+        availabilityIndex.reserve(recruiterId, interview.getId(), interview.getScheduledAt(), interview.getDurationMinutes());
+        // The unique applicationId index rejects a second interview, including concurrent scheduling
+        try {
+            interview = interviewRepository.insert(interview);
+        } catch (DuplicateKeyException e) {
+            availabilityIndex.release(recruiterId, interview.getId());
+            throw new RuntimeException("Interview already scheduled for this application");
+        } catch (RuntimeException e) {
+            availabilityIndex.release(recruiterId, interview.getId());
+            throw e;
+        }
+        eventPublisher.publishEvent(new InterviewChangedEvent(interview));
         return mapToDto(interview);
     }
     
+    // One interview per application is only enforced once the unique applicationId index exists
+    private void requireUniqueIndex() {
+        if (!interviewUniqueIndexMigration.isReady()) {
+            throw new RuntimeException("Interviews cannot be scheduled yet, please retry shortly");
+        }
+    }
+    
+    // Interview for a slot the candidate booked. The slot claim already gave the candidate this time, and
+    // picking it counts as accepting, so there is no pending response. There is no reserve either: the slot
+    // has held this time in the availability index since it was published, and keeps holding it.
+    public Interview scheduleBookedSlot(InterviewSlot slot) {
+        requireUniqueIndex();
+        
+        Interview interview = new Interview();
+        interview.setApplicationId(slot.getApplicationId());
+        interview.setCandidateId(slot.getCandidateId());
+        interview.setRecruiterId(slot.getRecruiterId());
+        interview.setSlotId(slot.getId());
+        interview.setScheduledAt(slot.getStartsAt());
+        interview.setDurationMinutes(slot.getDurationMinutes());
+        interview.setLocation(slot.getLocation());
+        interview.setInterviewType(slot.getInterviewType());
+        interview.setIsCompleted(false);
+        interview.setCandidateResponseStatus(InterviewResponseStatus.ACCEPTED);
+        interview.setCandidateRespondedAt(slot.getBookedAt());
+        
+        try {
+            interview = interviewRepository.insert(interview);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("Interview already scheduled for this application");
+        }
+        eventPublisher.publishEvent(new InterviewChangedEvent(interview));
+        return interview;
+    }
+    
     public List<InterviewDto> getInterviewsByCandidate(String candidateId) {
-        return interviewRepository.findByCandidateId(candidateId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapToDtos(interviewRepository.findByCandidateId(candidateId));
     }
     
     public List<InterviewDto> getInterviewsByRecruiter(String recruiterId) {
-        return interviewRepository.findByRecruiterId(recruiterId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapToDtos(interviewRepository.findByRecruiterId(recruiterId));
+    }
+    
+    public CursorPage<InterviewDto> getInterviewsByCandidateAfter(String candidateId, String after, int size) {
+        return fetchInterviews(new Query(Criteria.where("candidateId").is(candidateId)), after, size);
+    }
+    
+    public CursorPage<InterviewDto> getInterviewsByRecruiterAfter(String recruiterId, String after, int size) {
+        return fetchInterviews(new Query(Criteria.where("recruiterId").is(recruiterId)), after, size);
     }
     
     public InterviewDto getInterviewById(String id) {
@@ -115,7 +200,17 @@ public class InterviewService {
             throw new RuntimeException("Unauthorized to update this interview");
         }
         
+        int duration = durationOf(request, RecruiterAvailabilityIndex.durationOf(interview));
+        boolean moved = !Objects.equals(request.getScheduledAt(), interview.getScheduledAt())
+                || duration != RecruiterAvailabilityIndex.durationOf(interview);
+        // An interview booked from a slot stays on it while its time is unchanged; the slot keeps holding the time
+        boolean staysOnSlot = interview.getSlotId() != null && !moved;
+        InterviewSlot slot = moved && interview.getSlotId() != null
+                ? mongoTemplate.findById(interview.getSlotId(), InterviewSlot.class)
+                : null;
+        
         interview.setScheduledAt(request.getScheduledAt());
+        interview.setDurationMinutes(duration);
         interview.setLocation(request.getLocation());
         interview.setInterviewType(request.getInterviewType());
         interview.setNotes(request.getNotes());
@@ -124,10 +219,47 @@ public class InterviewService {
         interview.setCandidateResponseNote(null);
         // updatedAt is automatically handled by @LastModifiedDate
         
-        interview = interviewRepository.save(interview);
+        if (staysOnSlot) {
+            interview = interviewRepository.save(interview);
+            eventPublisher.publishEvent(new InterviewChangedEvent(interview));
+            return mapToDto(interview);
+        }
+        
+        // Moved off its slot, the interview now holds its own time on the recruiter's calendar. The slot's
+        // time is let go first, so a move that overlaps the old time does not collide with it.
+        interview.setSlotId(null);
+        if (slot != null) {
+            availabilityIndex.release(RecruiterAvailabilityIndex.panelKey(slot.getRecruiterId(), slot.getPanel()),
+                    RecruiterAvailabilityIndex.slotBookingId(slot.getId()));
+        }
+        
+        // Moves the booking, failing on an overlap; on a failure the stored interview and slot are re-synced
+        try {
+            availabilityIndex.reserve(interview.getRecruiterId(), interview.getId(), interview.getScheduledAt(),
+                    interview.getDurationMinutes());
+            interview = interviewRepository.save(interview);
+        } catch (RuntimeException e) {
+            interviewRepository.findById(id).ifPresent(availabilityIndex::sync);
+            if (slot != null) {
+                availabilityIndex.syncSlot(slot);
+            }
+            throw e;
+        }
+        if (slot != null) {
+            releaseSlot(slot);
+        }
+        eventPublisher.publishEvent(new InterviewChangedEvent(interview));
         return mapToDto(interview);
     }
     
+    // A slot whose interview was moved away is retired: it stays booked, so it is never offered again,
+    // and no longer holds time on any node (RecruiterAvailabilityIndex skips released slots)
+    private void releaseSlot(InterviewSlot slot) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(slot.getId())),
+                new Update().set("releasedAt", now).set("updatedAt", now), InterviewSlot.class);
+    }
+    
     public InterviewDto completeInterview(String id, String notes, String recruiterId) {
         Interview interview = interviewRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Interview not found"));
@@ -151,14 +283,25 @@ public class InterviewService {
         // updatedAt is automatically handled by @LastModifiedDate
         
         interview = interviewRepository.save(interview);
+        eventPublisher.publishEvent(new InterviewChangedEvent(interview));
         return mapToDto(interview);
     }
     
-    public List<InterviewDto> getInterviewsBetweenDates(LocalDateTime start, LocalDateTime end) {
-        return interviewRepository.findInterviewsBetweenDates(start, end)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    // The caller's interviews (as recruiter or candidate) in [start, end), a page at a time. The range is
+    // capped, so a wide request cannot pull in the whole collection.
+    public CursorPage<InterviewDto> getCalendar(String userId, LocalDateTime start, LocalDateTime end,
+                                                String after, int size) {
+        if (!end.isAfter(start)) {
+            throw new RuntimeException("Calendar end must be after its start");
+        }
+        if (Duration.between(start, end).toDays() > MAX_CALENDAR_DAYS) {
+            throw new RuntimeException("Calendar range cannot exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        // Wrapped in $and so the cursor's own $or can be added next to it
+        Query query = new Query(new Criteria().andOperator(
+                new Criteria().orOperator(Criteria.where("recruiterId").is(userId), Criteria.where("candidateId").is(userId)),
+                Criteria.where("scheduledAt").gte(start).lt(end)));
+        return fetchInterviews(query, after, size);
     }
 
     public InterviewDto respondToInterview(String id, String candidateId, InterviewResponseRequest request) {
@@ -174,16 +317,62 @@ public class InterviewService {
         interview.setCandidateRespondedAt(LocalDateTime.now());
 
         interview = interviewRepository.save(interview);
+        eventPublisher.publishEvent(new InterviewChangedEvent(interview));
         return mapToDto(interview);
     }
     
+    // Visible to the recruiter, admins, and candidates who have applied to one of the recruiter's jobs
+    public List<RecruiterAvailabilityIndex.Slot> getAvailability(String recruiterId, String userId, boolean isAdmin,
+                                                                 LocalDateTime from, LocalDateTime to,
+                                                                 Integer durationMinutes) {
+        if (!isAdmin && !recruiterId.equals(userId)) {
+            Query applied = new Query(Criteria.where("candidateId").is(userId).and("recruiterId").is(recruiterId));
+            if (!mongoTemplate.exists(applied, Application.class)) {
+                throw new RuntimeException("Unauthorized to view this recruiter's availability");
+            }
+        }
+        
+        int duration = durationMinutes != null ? durationMinutes : RecruiterAvailabilityIndex.DEFAULT_DURATION_MINUTES;
+        return availabilityIndex.freeSlots(recruiterId, from, to, duration);
+    }
+    
+    private static int durationOf(InterviewCreateRequest request, int defaultMinutes) {
+        return request.getDurationMinutes() != null ? request.getDurationMinutes() : defaultMinutes;
+    }
+    
+    private CursorPage<InterviewDto> fetchInterviews(Query query, String after, int size) {
+        // Chronological, keyed on (scheduledAt, _id)
+        CursorPage<Interview> page = KeysetPagination.fetch(mongoTemplate, query, Interview.class,
+                "scheduledAt", Sort.Direction.ASC, after, size, Interview::getScheduledAt, Interview::getId);
+        return KeysetPagination.map(page, interviews -> mapToDtos(interviews));
+    }
+    
     private InterviewDto mapToDto(Interview interview) {
+        return mapToDtos(List.of(interview)).get(0);
+    }
+    
+    private List<InterviewDto> mapToDtos(List<Interview> interviews) {
+        if (interviews.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Candidates and recruiters live in the same collection, so one $in query covers both
+        Map<String, User> users = userService.getUsersByIds(interviews.stream()
+                .flatMap(interview -> Stream.of(interview.getCandidateId(), interview.getRecruiterId()))
+                .collect(Collectors.toList()));
+        
+        return interviews.stream()
+                .map(interview -> mapToDto(interview, users.get(interview.getCandidateId()),
+                        users.get(interview.getRecruiterId())))
+                .collect(Collectors.toList());
+    }
+    
+    private InterviewDto mapToDto(Interview interview, User candidate, User recruiter) {
         InterviewDto dto = new InterviewDto();
         dto.setId(interview.getId());
         dto.setApplicationId(interview.getApplicationId());
         dto.setCandidateId(interview.getCandidateId());
         
-        User candidate = userRepository.findById(interview.getCandidateId()).orElse(null);
         if (candidate != null) {
             dto.setCandidateName(candidate.getFirstName() + " " + candidate.getLastName());
             dto.setCandidateEmail(candidate.getEmail());
@@ -191,13 +380,13 @@ public class InterviewService {
         
         dto.setRecruiterId(interview.getRecruiterId());
         
-        User recruiter = userRepository.findById(interview.getRecruiterId()).orElse(null);
         if (recruiter != null) {
             dto.setRecruiterName(recruiter.getFirstName() + " " + recruiter.getLastName());
             dto.setRecruiterEmail(recruiter.getEmail());
         }
         
         dto.setScheduledAt(interview.getScheduledAt());
+        dto.setDurationMinutes(RecruiterAvailabilityIndex.durationOf(interview));
         dto.setCompletedAt(interview.getCompletedAt());
         dto.setNotes(interview.getNotes());
         dto.setLocation(interview.getLocation());
@@ -0,0 +1,207 @@
+package com.recruito.service;
+
+import com.recruito.dto.InterviewSlotBatchRequest;
+import com.recruito.dto.InterviewSlotDto;
+import com.recruito.model.Application;
+import com.recruito.model.Interview;
+import com.recruito.model.InterviewSlot;
+import com.recruito.model.Job;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.scheduling.OpenSlotIndex;
+import com.recruito.scheduling.RecruiterAvailabilityIndex;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Candidate self-booking of published interview slots. A claim is one conditional findAndModify on an open
+// slot, so concurrent claims on the same slot have exactly one winner. The unique (jobId, candidateId)
+// index stops one candidate from holding two slots of a job.
+@Service
+public class InterviewSlotService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private OpenSlotIndex openSlotIndex;
+
+    @Autowired
+    private RecruiterAvailabilityIndex availabilityIndex;
+
+    public List<InterviewSlotDto> publishSlots(InterviewSlotBatchRequest request, String recruiterId) {
+        Query jobQuery = new Query(Criteria.where("id").is(request.getJobId()));
+        jobQuery.fields().include("recruiterId");
+        Job job = mongoTemplate.findOne(jobQuery, Job.class);
+        if (job == null) {
+            throw new RuntimeException("Job not found");
+        }
+        if (!recruiterId.equals(job.getRecruiterId())) {
+            throw new RuntimeException("Unauthorized to publish interview slots for this job");
+        }
+
+        int duration = request.getDurationMinutes() != null
+                ? request.getDurationMinutes()
+                : RecruiterAvailabilityIndex.DEFAULT_DURATION_MINUTES;
+        List<InterviewSlot> slots = new ArrayList<>();
+        Map<LocalDateTime, Integer> repeats = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (LocalDateTime startTime : request.getStartTimes()) {
+            InterviewSlot slot = new InterviewSlot();
+            // The id is assigned up front so the time can be reserved before the insert
+            slot.setId(new ObjectId().toHexString());
+            slot.setJobId(job.getId());
+            slot.setRecruiterId(recruiterId);
+            slot.setStartsAt(startTime);
+            slot.setDurationMinutes(duration);
+            // A repeated start time goes to the next parallel panel
+            slot.setPanel(repeats.merge(startTime, 1, Integer::sum) - 1);
+            slot.setLocation(request.getLocation());
+            slot.setInterviewType(request.getInterviewType());
+            // Auditing treats an entity with an id as existing and would skip @CreatedDate
+            slot.setCreatedAt(now);
+            slot.setUpdatedAt(now);
+            slots.add(slot);
+        }
+
+        // All or nothing: a slot overlapping an interview or another slot of its panel fails the batch
+        List<InterviewSlot> reserved = new ArrayList<>();
+        Collection<InterviewSlot> inserted;
+        try {
+            for (InterviewSlot slot : slots) {
+                availabilityIndex.reserve(RecruiterAvailabilityIndex.panelKey(recruiterId, slot.getPanel()),
+                        RecruiterAvailabilityIndex.slotBookingId(slot.getId()), slot.getStartsAt(), duration);
+                reserved.add(slot);
+            }
+            // One batched insert for the whole set
+            inserted = mongoTemplate.insert(slots, InterviewSlot.class);
+        } catch (RuntimeException e) {
+            for (InterviewSlot slot : reserved) {
+                availabilityIndex.release(RecruiterAvailabilityIndex.panelKey(recruiterId, slot.getPanel()),
+                        RecruiterAvailabilityIndex.slotBookingId(slot.getId()));
+            }
+            throw e;
+        }
+        inserted.forEach(openSlotIndex::sync);
+        return inserted.stream().map(slot -> mapToDto(slot, false)).collect(Collectors.toList());
+    }
+
+    // Served from the in-memory index once it is warm
+    public List<InterviewSlotDto> getOpenSlots(String jobId, int limit) {
+        if (openSlotIndex.isReady()) {
+            return openSlotIndex.openSlots(jobId, limit);
+        }
+        Query query = new Query(Criteria.where("jobId").is(jobId)
+                .and("startsAt").gt(LocalDateTime.now())
+                .and("candidateId").is(null))
+                .with(Sort.by(Sort.Direction.ASC, "startsAt", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, InterviewSlot.class).stream()
+                .map(slot -> mapToDto(slot, false))
+                .collect(Collectors.toList());
+    }
+
+    // Idempotent: claiming a slot the candidate already holds returns that booking again
+    public InterviewSlotDto claimSlot(String slotId, String candidateId) {
+        InterviewSlot slot = mongoTemplate.findById(slotId, InterviewSlot.class);
+        if (slot == null) {
+            throw new RuntimeException("Interview slot not found");
+        }
+        if (candidateId.equals(slot.getCandidateId())) {
+            return mapToDto(slot, true);
+        }
+        if (slot.getCandidateId() != null) {
+            openSlotIndex.remove(slotId);
+            throw new RuntimeException("Interview slot is already booked");
+        }
+        if (!slot.getStartsAt().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Interview slot has already started");
+        }
+
+        Query applicationQuery = new Query(Criteria.where("jobId").is(slot.getJobId()).and("candidateId").is(candidateId));
+        applicationQuery.fields().include("status");
+        Application application = mongoTemplate.findOne(applicationQuery, Application.class);
+        if (application == null || application.getStatus() == ApplicationStatus.REJECTED) {
+            throw new RuntimeException("No active application for this job");
+        }
+
+        // The claim: only matches while the slot is still open
+        LocalDateTime now = LocalDateTime.now();
+        InterviewSlot claimed;
+        try {
+            claimed = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("id").is(slotId).and("candidateId").is(null)),
+                    new Update().set("candidateId", candidateId).set("applicationId", application.getId())
+                            .set("bookedAt", now).set("updatedAt", now),
+                    FindAndModifyOptions.options().returnNew(true),
+                    InterviewSlot.class);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("You have already booked an interview slot for this job");
+        }
+        openSlotIndex.remove(slotId);
+        if (claimed == null) {
+            // Lost the race, or a double submit of our own that won it
+            InterviewSlot current = mongoTemplate.findById(slotId, InterviewSlot.class);
+            if (current != null && candidateId.equals(current.getCandidateId())) {
+                return mapToDto(current, true);
+            }
+            throw new RuntimeException("Interview slot is already booked");
+        }
+
+        Interview interview;
+        try {
+            interview = interviewService.scheduleBookedSlot(claimed);
+        } catch (RuntimeException e) {
+            // Give the slot back so it can be booked by someone else
+            InterviewSlot released = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("id").is(slotId).and("candidateId").is(candidateId)),
+                    new Update().unset("candidateId").unset("applicationId").unset("bookedAt")
+                            .set("updatedAt", LocalDateTime.now()),
+                    FindAndModifyOptions.options().returnNew(true),
+                    InterviewSlot.class);
+            if (released != null) {
+                openSlotIndex.sync(released);
+            }
+            throw e;
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(slotId)),
+                new Update().set("interviewId", interview.getId()), InterviewSlot.class);
+        claimed.setInterviewId(interview.getId());
+        return mapToDto(claimed, true);
+    }
+
+    private InterviewSlotDto mapToDto(InterviewSlot slot, boolean ownBooking) {
+        InterviewSlotDto dto = new InterviewSlotDto();
+        dto.setId(slot.getId());
+        dto.setJobId(slot.getJobId());
+        dto.setRecruiterId(slot.getRecruiterId());
+        dto.setStartsAt(slot.getStartsAt());
+        dto.setDurationMinutes(slot.getDurationMinutes());
+        dto.setLocation(slot.getLocation());
+        dto.setInterviewType(slot.getInterviewType());
+        dto.setBooked(slot.getCandidateId() != null);
+        if (ownBooking) {
+            dto.setInterviewId(slot.getInterviewId());
+            dto.setBookedAt(slot.getBookedAt());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,223 @@
+package com.recruito.service;
+
+import com.recruito.event.JobCountersChangedEvent;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.scheduling.MongoLease;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+public class JobCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobCounterService.class);
+
+    private static final int BULK_BATCH_SIZE = 500;
+    private static final String LEASES_COLLECTION = "leases";
+    private static final String RECONCILE_LEASE = "job-counter-reconcile";
+    private static final List<Object> ZERO_OR_MISSING = Arrays.asList(0, null);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoLease mongoLease;
+
+    @Value("${app.jobs.counter-reconcile-interval-ms:900000}")
+    private long reconcileIntervalMillis;
+
+    public void recordApplicationCreated(String jobId, ApplicationStatus status) {
+        Update update = new Update()
+                .inc("applicationCount", 1)
+                .inc(statusCounterField(status), 1);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(jobId)), update, Job.class);
+    }
+
+    public void recordStatusChange(String jobId, ApplicationStatus from, ApplicationStatus to) {
+        if (from == to) {
+            return;
+        }
+
+        Update update = new Update()
+                .inc(statusCounterField(from), -1)
+                .inc(statusCounterField(to), 1);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(jobId)), update, Job.class);
+    }
+
+    // Counter moves for a batch of status changes, one $inc per job; each application carries its previous status
+    public void recordStatusChanges(List<Application> applications, ApplicationStatus to) {
+        Map<String, Map<String, Integer>> deltasByJob = new HashMap<>();
+        for (Application application : applications) {
+            if (application.getStatus() == to) {
+                continue;
+            }
+            Map<String, Integer> deltas = deltasByJob.computeIfAbsent(application.getJobId(), jobId -> new HashMap<>());
+            deltas.merge(statusCounterField(application.getStatus()), -1, Integer::sum);
+            deltas.merge(statusCounterField(to), 1, Integer::sum);
+        }
+        if (deltasByJob.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+        deltasByJob.forEach((jobId, deltas) -> {
+            Update update = new Update();
+            deltas.forEach(update::inc);
+            bulkOps.updateOne(Query.query(Criteria.where("_id").is(jobId)), update);
+        });
+        bulkOps.execute();
+    }
+
+    // Periodically repairs counters that drifted (e.g. a crash between the application write and the $inc).
+    // One node per interval does it: the lease is kept for the whole interval, not given back after the run.
+    @Scheduled(fixedDelayString = "${app.jobs.counter-reconcile-interval-ms:900000}",
+            initialDelayString = "${app.jobs.counter-reconcile-initial-delay-ms:60000}")
+    public void reconcileCounters() {
+        if (!mongoLease.tryAcquire(LEASES_COLLECTION, RECONCILE_LEASE, Duration.ofMillis(reconcileIntervalMillis))) {
+            return;
+        }
+        int repaired = repairCounters(null, false);
+        if (repaired > 0) {
+            log.info("Repaired application counters on {} jobs", repaired);
+        }
+    }
+
+    public int rebuildCounters() {
+        return repairCounters(null, true);
+    }
+
+    // Repairs the counters of these jobs only, e.g. after some of their applications were removed in bulk
+    public int repairCounters(Collection<String> jobIds) {
+        return jobIds.isEmpty() ? 0 : repairCounters(jobIds, false);
+    }
+
+    // The counters are read before the applications are counted, and each repair only applies while the job
+    // still holds the counters that were read. A $inc landing in between makes the repair miss, so it is never
+    // overwritten; the job is looked at again on the next run. updatedAt is left alone: only the counters move,
+    // so search indexes have nothing to pick up, and other nodes' cached responses expire on their TTL.
+    private int repairCounters(Collection<String> jobIds, boolean rewriteAll) {
+        Query jobsQuery = jobIds != null ? new Query(Criteria.where("_id").in(jobIds)) : new Query();
+        jobsQuery.fields().include("applicationCount").include("applicationCountsByStatus");
+        Map<String, Job> storedCounters = new HashMap<>();
+        try (Stream<Job> jobs = mongoTemplate.stream(jobsQuery, Job.class)) {
+            jobs.forEach(job -> storedCounters.put(job.getId(), job));
+        }
+
+        Map<String, Map<String, Long>> actualCounts = countApplicationsByJobAndStatus(jobIds);
+
+        List<String> candidateJobIds = new ArrayList<>();
+        int repaired = 0;
+        int pending = 0;
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+        for (Job job : storedCounters.values()) {
+            Map<String, Long> byStatus = actualCounts.getOrDefault(job.getId(), new HashMap<>());
+            long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+
+            if (!rewriteAll && !hasDrifted(job, total, byStatus)) {
+                continue;
+            }
+
+            bulkOps.updateOne(unchangedCounters(job),
+                    new Update()
+                            .set("applicationCount", total)
+                            .set("applicationCountsByStatus", byStatus));
+            candidateJobIds.add(job.getId());
+
+            if (++pending == BULK_BATCH_SIZE) {
+                repaired += bulkOps.execute().getMatchedCount();
+                bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+                pending = 0;
+            }
+        }
+
+        if (pending > 0) {
+            repaired += bulkOps.execute().getMatchedCount();
+        }
+        // Cached job responses and validators still carry the drifted numbers
+        if (!candidateJobIds.isEmpty()) {
+            eventPublisher.publishEvent(new JobCountersChangedEvent(candidateJobIds));
+        }
+        return repaired;
+    }
+
+    // Matches the job only while every counter still has the value read; a missing counter reads as 0
+    private Query unchangedCounters(Job job) {
+        Criteria criteria = Criteria.where("_id").is(job.getId())
+                .and("applicationCount").is(job.getApplicationCount());
+        Map<String, Long> stored = job.getApplicationCountsByStatus() != null
+                ? job.getApplicationCountsByStatus()
+                : new HashMap<>();
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            Long value = stored.get(status.name());
+            criteria.and(statusCounterField(status)).in(value != null && value != 0 ? List.of(value) : ZERO_OR_MISSING);
+        }
+        return Query.query(criteria);
+    }
+
+    private Map<String, Map<String, Long>> countApplicationsByJobAndStatus(Collection<String> jobIds) {
+        Aggregation aggregation = jobIds != null
+                ? Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("jobId").in(jobIds)),
+                        Aggregation.group("jobId", "status").count().as("count"))
+                // Every application is counted: walking the (jobId, status, ...) index reads no documents
+                : Aggregation.newAggregation(
+                        Aggregation.group("jobId", "status").count().as("count"))
+                        .withOptions(AggregationOptions.builder().hint("jobId_status_createdAt_id").build());
+
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, Application.class, Document.class).forEach(result -> {
+            Document key = result.get("_id", Document.class);
+            counts.computeIfAbsent(key.getString("jobId"), jobId -> new HashMap<>())
+                    .put(key.getString("status"), ((Number) result.get("count")).longValue());
+        });
+        return counts;
+    }
+
+    private boolean hasDrifted(Job job, long total, Map<String, Long> byStatus) {
+        if (job.getApplicationCount() == null || job.getApplicationCount() != total) {
+            return true;
+        }
+
+        Map<String, Long> stored = job.getApplicationCountsByStatus() != null
+                ? job.getApplicationCountsByStatus()
+                : new HashMap<>();
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            long expected = byStatus.getOrDefault(status.name(), 0L);
+            long actual = stored.getOrDefault(status.name(), 0L);
+            if (expected != actual) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String statusCounterField(ApplicationStatus status) {
+        return "applicationCountsByStatus." + status.name();
+    }
+}
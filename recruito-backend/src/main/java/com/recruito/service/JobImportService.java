@@ -0,0 +1,365 @@
+package com.recruito.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.recruito.dto.JobCreateRequest;
+import com.recruito.dto.JobImportRecordResult;
+import com.recruito.dto.JobImportResult;
+import com.recruito.event.JobChangedEvent;
+import com.recruito.geo.Gazetteer;
+import com.recruito.model.Job;
+import com.recruito.model.enums.JobStatus;
+import com.recruito.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk job import from NDJSON or CSV. The body is parsed record by record and written in unordered
+// bulk inserts, so only one batch of jobs is held in memory regardless of upload size.
+@Service
+public class JobImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "title", "description", "location", "department", "employmentType", "salaryMin", "salaryMax");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Value("${app.jobs.import-batch-size:500}")
+    private int batchSize;
+
+    public JobImportResult importJobs(InputStream body, Format format, String recruiterId) throws IOException {
+        // One lookup for the whole upload instead of one per job
+        if (!userRepository.existsById(recruiterId)) {
+            throw new RuntimeException("Recruiter not found");
+        }
+
+        JobImportResult result = new JobImportResult();
+        Batch batch = new Batch();
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RecordSource source = format == Format.CSV ? new CsvSource(reader) : new NdjsonSource(reader);
+            int recordNumber = 0;
+            while (true) {
+                JobCreateRequest request;
+                recordNumber++;
+                try {
+                    request = source.next();
+                } catch (InvalidRecordException e) {
+                    result.getRecords().add(new JobImportRecordResult(recordNumber, false, null, e.getMessage()));
+                    continue;
+                }
+                if (request == null) {
+                    break;
+                }
+
+                String error = validate(request);
+                if (error != null) {
+                    result.getRecords().add(new JobImportRecordResult(recordNumber, false, null, error));
+                    continue;
+                }
+
+                JobImportRecordResult recordResult = new JobImportRecordResult(recordNumber, true, null, null);
+                result.getRecords().add(recordResult);
+                batch.add(toJob(request, recruiterId), recordResult);
+                if (batch.size() == batchSize) {
+                    batch.flush();
+                    batch = new Batch();
+                }
+            }
+        }
+        batch.flush();
+
+        int imported = (int) result.getRecords().stream().filter(JobImportRecordResult::isSuccess).count();
+        result.setTotal(result.getRecords().size());
+        result.setImported(imported);
+        result.setFailed(result.getTotal() - imported);
+        return result;
+    }
+
+    private String validate(JobCreateRequest request) {
+        Set<ConstraintViolation<JobCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Same mapping as JobService.createJob, with id and timestamps assigned up front for the bulk insert
+    private Job toJob(JobCreateRequest request, String recruiterId) {
+        LocalDateTime now = LocalDateTime.now();
+        Job job = new Job();
+        job.setId(new ObjectId().toHexString());
+        job.setTitle(request.getTitle());
+        job.setDescription(request.getDescription());
+        job.setLocation(request.getLocation());
+        job.setDepartment(request.getDepartment());
+        job.setEmploymentType(request.getEmploymentType());
+        job.setSalaryMin(request.getSalaryMin());
+        job.setSalaryMax(request.getSalaryMax());
+        job.setStatus(JobStatus.DRAFT);
+        job.setRecruiterId(recruiterId);
+        gazetteer.locate(job);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        return job;
+    }
+
+    private class Batch {
+        private final List<Job> jobs = new ArrayList<>();
+        private final List<JobImportRecordResult> results = new ArrayList<>();
+
+        void add(Job job, JobImportRecordResult result) {
+            jobs.add(job);
+            results.add(result);
+        }
+
+        int size() {
+            return jobs.size();
+        }
+
+        void flush() {
+            if (jobs.isEmpty()) {
+                return;
+            }
+
+            Set<Integer> failedIndexes = new HashSet<>();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class)
+                        .insert(jobs)
+                        .execute();
+            } catch (BulkOperationException e) {
+                // Unordered: the rest of the batch was still written
+                for (BulkWriteError error : e.getErrors()) {
+                    failedIndexes.add(error.getIndex());
+                    results.get(error.getIndex()).setSuccess(false);
+                    results.get(error.getIndex()).setError(error.getMessage());
+                }
+            }
+
+            for (int i = 0; i < jobs.size(); i++) {
+                if (!failedIndexes.contains(i)) {
+                    results.get(i).setJobId(jobs.get(i).getId());
+                    eventPublisher.publishEvent(new JobChangedEvent(jobs.get(i), JobChangedEvent.ChangeType.CREATED));
+                }
+            }
+        }
+    }
+
+    static class InvalidRecordException extends Exception {
+        InvalidRecordException(String message) {
+            super(message);
+        }
+    }
+
+    interface RecordSource {
+        // Returns null at end of input; a malformed record is reported and skipped
+        JobCreateRequest next() throws IOException, InvalidRecordException;
+    }
+
+    private class NdjsonSource implements RecordSource {
+        private final BufferedReader reader;
+
+        NdjsonSource(Reader reader) {
+            this.reader = (BufferedReader) reader;
+        }
+
+        @Override
+        public JobCreateRequest next() throws IOException, InvalidRecordException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            try {
+                return objectMapper.readValue(line, JobCreateRequest.class);
+            } catch (JsonProcessingException e) {
+                throw new InvalidRecordException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // RFC 4180 CSV with a header row naming JobCreateRequest fields; quoted fields may contain
+    // commas, doubled quotes and line breaks. Unknown columns are ignored.
+    static class CsvSource implements RecordSource {
+        private final Reader reader;
+        private List<String> header;
+        private boolean endOfInput;
+
+        CsvSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public JobCreateRequest next() throws IOException, InvalidRecordException {
+            if (header == null) {
+                header = readRow();
+                if (header == null) {
+                    return null;
+                }
+                // Tolerate a UTF-8 byte order mark, as written by spreadsheet exports
+                header.replaceAll(column -> column.replace("\uFEFF", "").trim());
+                if (!header.contains("title")) {
+                    throw new RuntimeException("CSV header must name the job fields, e.g. title,description,location");
+                }
+            }
+
+            List<String> row;
+            do {
+                row = readRow();
+                if (row == null) {
+                    return null;
+                }
+            } while (row.size() == 1 && row.get(0).isBlank());
+
+            if (row.size() != header.size()) {
+                throw new InvalidRecordException("Expected " + header.size() + " columns but found " + row.size());
+            }
+
+            JobCreateRequest request = new JobCreateRequest();
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i);
+                String value = row.get(i).isEmpty() ? null : row.get(i);
+                if (CSV_COLUMNS.contains(column)) {
+                    apply(request, column, value);
+                }
+            }
+            return request;
+        }
+
+        private void apply(JobCreateRequest request, String column, String value) throws InvalidRecordException {
+            switch (column) {
+                case "title":
+                    request.setTitle(value);
+                    break;
+                case "description":
+                    request.setDescription(value);
+                    break;
+                case "location":
+                    request.setLocation(value);
+                    break;
+                case "department":
+                    request.setDepartment(value);
+                    break;
+                case "employmentType":
+                    request.setEmploymentType(value);
+                    break;
+                case "salaryMin":
+                    request.setSalaryMin(parseDecimal(column, value));
+                    break;
+                case "salaryMax":
+                    request.setSalaryMax(parseDecimal(column, value));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private BigDecimal parseDecimal(String column, String value) throws InvalidRecordException {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value.trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidRecordException(column + ": not a number");
+            }
+        }
+
+        private List<String> readRow() throws IOException {
+            if (endOfInput) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean sawAnything = false;
+
+            while (true) {
+                int c = reader.read();
+                if (c == -1) {
+                    endOfInput = true;
+                    if (!sawAnything) {
+                        return null;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                sawAnything = true;
+
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+        }
+    }
+}
@@ -1,30 +1,77 @@
 package com.recruito.service;
 
+import com.recruito.cache.CachedResponse;
+import com.recruito.cache.JobResponseCache;
+import com.recruito.dto.CursorPage;
 import com.recruito.dto.JobCreateRequest;
 import com.recruito.dto.JobDto;
+import com.recruito.dto.JobFacetSearchResult;
+import com.recruito.dto.JobFacets;
+import com.recruito.dto.JobFilter;
+import com.recruito.event.JobChangedEvent;
+import com.recruito.geo.Gazetteer;
 import com.recruito.model.Job;
 import com.recruito.model.User;
 import com.recruito.model.enums.JobStatus;
-import com.recruito.repository.ApplicationRepository;
 import com.recruito.repository.JobRepository;
 import com.recruito.repository.UserRepository;
+import com.recruito.search.JobSearchIndex;
+import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class JobService {
     
+    // Sort keys usable in cursor mode; each needs a matching (filter, key, _id) index
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("createdAt", "publishedAt", "title");
+    
+    // Lower bounds of the salary facet bands (on salaryMin); the last band is open-ended
+    private static final int[] SALARY_BAND_BOUNDARIES = {0, 30000, 50000, 75000, 100000, 150000};
+    private static final String TOP_SALARY_BAND = SALARY_BAND_BOUNDARIES[SALARY_BAND_BOUNDARIES.length - 1] + "+";
+    
+    // Cap on distinct values returned per facet (mainly for free-text locations)
+    private static final int MAX_FACET_VALUES = 50;
+    
+    private static final double MAX_RADIUS_KM = 500;
+    
+    // "12.97,77.59" style coordinates for near searches, latitude first
+    private static final Pattern LAT_LON = Pattern.compile("\\s*(-?\\d+(?:\\.\\d+)?)\\s*,\\s*(-?\\d+(?:\\.\\d+)?)\\s*");
+    
     @Autowired
     private JobRepository jobRepository;
     
@@ -32,11 +79,23 @@ public class JobService {
     private UserRepository userRepository;
     
     @Autowired
-    private ApplicationRepository applicationRepository;
+    private UserService userService;
     
     @Autowired
     private MongoTemplate mongoTemplate;
     
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private JobResponseCache jobResponseCache;
+    
+    @Autowired
+    private Gazetteer gazetteer;
+    
     public JobDto createJob(JobCreateRequest request, String recruiterId) {
         User recruiter = userRepository.findById(recruiterId)
                 .orElseThrow(() -> new RuntimeException("Recruiter not found"));
@@ -51,41 +110,39 @@ public class JobService {
         job.setSalaryMax(request.getSalaryMax());
         job.setStatus(JobStatus.DRAFT);
         job.setRecruiterId(recruiterId);
+        gazetteer.locate(job);
         // createdAt and updatedAt are automatically handled by @CreatedDate and @LastModifiedDate
         
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job, JobChangedEvent.ChangeType.CREATED));
         return mapToDto(job);
     }
     
     public Page<JobDto> getAllJobs(Pageable pageable) {
-        return jobRepository.findAll(pageable).map(this::mapToDto);
+        return mapToDtos(jobRepository.findAll(pageable));
     }
     
     public Page<JobDto> getPublishedJobs(Pageable pageable) {
-        return jobRepository.findByStatus(JobStatus.PUBLISHED, pageable).map(this::mapToDto);
+        return mapToDtos(jobRepository.findByStatus(JobStatus.PUBLISHED, pageable));
+    }
+    
+    // Cached, pre-serialized variant served by the public listing endpoint
+    public CachedResponse<Page<JobDto>> getPublishedJobsResponse(Pageable pageable) {
+        return jobResponseCache.getPublishedPage(pageable, () -> getPublishedJobs(pageable));
     }
     
     public Page<JobDto> searchJobs(String title, String location, JobStatus status, Pageable pageable) {
-        Query query = new Query();
-        List<Criteria> criteriaList = new ArrayList<>();
-        
-        if (title != null && !title.isEmpty()) {
-            Pattern pattern = Pattern.compile(title, Pattern.CASE_INSENSITIVE);
-            criteriaList.add(Criteria.where("title").regex(pattern));
-        }
-        
-        if (location != null && !location.isEmpty()) {
-            Pattern pattern = Pattern.compile(location, Pattern.CASE_INSENSITIVE);
-            criteriaList.add(Criteria.where("location").regex(pattern));
-        }
+        boolean hasTitle = title != null && !title.isEmpty();
+        boolean hasLocation = location != null && !location.isEmpty();
         
-        if (status != null) {
-            criteriaList.add(Criteria.where("status").is(status));
+        // Text searches are ranked by relevance from the in-memory index once it has warmed up
+        if ((hasTitle || hasLocation) && jobSearchIndex.isReady()) {
+            JobSearchIndex.SearchResult result = jobSearchIndex.search(title, indexedLocation(location), status,
+                    (int) pageable.getOffset(), pageable.getPageSize());
+            return mapToDtos(new PageImpl<>(findJobsInOrder(result.getJobIds()), pageable, result.getTotal()));
         }
         
-        if (!criteriaList.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
-        }
+        Query query = buildSearchQuery(title, location, status);
         
         // Apply pagination and sorting
         query.with(pageable);
@@ -94,11 +151,152 @@ public class JobService {
         List<Job> jobs = mongoTemplate.find(query, Job.class);
         long total = mongoTemplate.count(query, Job.class);
         
-        return new PageImpl<>(jobs, pageable, total).map(this::mapToDto);
+        return mapToDtos(new PageImpl<>(jobs, pageable, total));
+    }
+    
+    // Jobs within radiusKm of near ("lat,lon" or a place name), closest first. Status defaults to PUBLISHED.
+    public Page<JobDto> searchJobsNear(String near, double radiusKm, String title, JobStatus status,
+                                       Pageable pageable) {
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new RuntimeException("radiusKm must be between 0 and " + (int) MAX_RADIUS_KM);
+        }
+        GeoJsonPoint point = resolvePoint(near);
+        Query filter = buildSearchQuery(title, null, status != null ? status : JobStatus.PUBLISHED);
+        
+        // $geoNear sorts by distance, so the pageable's sort is not applied
+        NearQuery nearQuery = NearQuery.near(point, Metrics.KILOMETERS)
+                .maxDistance(new Distance(radiusKm, Metrics.KILOMETERS))
+                .spherical(true)
+                .query(filter)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        GeoResults<Job> results = mongoTemplate.geoNear(nearQuery, Job.class);
+        
+        List<Job> jobs = new ArrayList<>();
+        for (GeoResult<Job> result : results) {
+            jobs.add(result.getContent());
+        }
+        Query countQuery = buildSearchQuery(title, null, status != null ? status : JobStatus.PUBLISHED);
+        countQuery.addCriteria(Criteria.where("locationPoint").withinSphere(new Circle(
+                new Point(point.getX(), point.getY()), new Distance(radiusKm, Metrics.KILOMETERS))));
+        long total = mongoTemplate.count(countQuery, Job.class);
+        
+        List<JobDto> dtos = mapToDtos(jobs);
+        for (int i = 0; i < dtos.size(); i++) {
+            double distance = results.getContent().get(i).getDistance().getValue();
+            dtos.get(i).setDistanceKm(Math.round(distance * 10) / 10.0);
+        }
+        return new PageImpl<>(dtos, pageable, total);
+    }
+    
+    // Matching page plus facet counts in a single $facet aggregation. Status defaults to PUBLISHED;
+    // with no other filters the facets come from the cache and only the page is aggregated.
+    public JobFacetSearchResult searchJobsWithFacets(String title, String location, JobStatus status,
+                                                     String department, String employmentType, Pageable pageable) {
+        JobStatus effectiveStatus = status != null ? status : JobStatus.PUBLISHED;
+        boolean unfiltered = effectiveStatus == JobStatus.PUBLISHED
+                && (title == null || title.isEmpty())
+                && (location == null || location.isEmpty())
+                && (department == null || department.isEmpty())
+                && (employmentType == null || employmentType.isEmpty());
+        
+        long cacheGeneration = jobResponseCache.generation();
+        JobFacets cachedFacets = unfiltered ? jobResponseCache.getPublishedFacets() : null;
+        
+        List<Criteria> criteriaList = searchCriteria(title, location, effectiveStatus);
+        if (department != null && !department.isEmpty()) {
+            criteriaList.add(Criteria.where("department").is(department));
+        }
+        if (employmentType != null && !employmentType.isEmpty()) {
+            criteriaList.add(Criteria.where("employmentType").is(employmentType));
+        }
+        
+        Document facetStage = new Document()
+                .append("page", List.of(
+                        new Document("$sort", facetSort(pageable.getSort())),
+                        new Document("$skip", pageable.getOffset()),
+                        new Document("$limit", pageable.getPageSize())))
+                .append("total", List.of(new Document("$count", "count")));
+        if (cachedFacets == null) {
+            facetStage.append("department", countByValue("department"))
+                    .append("employmentType", countByValue("employmentType"))
+                    .append("location", countByValue("location"))
+                    .append("status", countByValue("status"))
+                    .append("salaryBand", salaryBands());
+        }
+        
+        AggregationOperation facet = context -> new Document("$facet", facetStage);
+        TypedAggregation<Job> aggregation = Aggregation.newAggregation(Job.class,
+                Aggregation.match(new Criteria().andOperator(criteriaList.toArray(new Criteria[0]))),
+                facet);
+        Document result = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+        
+        List<Job> jobs = result.getList("page", Document.class).stream()
+                .map(document -> mongoTemplate.getConverter().read(Job.class, document))
+                .collect(Collectors.toList());
+        List<Document> total = result.getList("total", Document.class);
+        long totalElements = total.isEmpty() ? 0 : total.get(0).get("count", Number.class).longValue();
+        
+        JobFacets facets = cachedFacets;
+        if (facets == null) {
+            facets = new JobFacets();
+            facets.setDepartment(toCounts(result.getList("department", Document.class)));
+            facets.setEmploymentType(toCounts(result.getList("employmentType", Document.class)));
+            facets.setLocation(toCounts(result.getList("location", Document.class)));
+            facets.setStatus(toCounts(result.getList("status", Document.class)));
+            facets.setSalaryBand(toSalaryBands(result.getList("salaryBand", Document.class)));
+            if (unfiltered) {
+                jobResponseCache.putPublishedFacets(facets, cacheGeneration);
+            }
+        }
+        
+        return new JobFacetSearchResult(mapToDtos(new PageImpl<>(jobs, pageable, totalElements)), facets);
+    }
+    
+    public Page<JobDto> filterJobs(JobFilter filter, Pageable pageable) {
+        Criteria criteria = buildFilterCriteria(filter);
+        
+        List<Job> jobs = mongoTemplate.find(new Query(criteria).with(pageable), Job.class);
+        long total = mongoTemplate.count(new Query(criteria), Job.class);
+        return mapToDtos(new PageImpl<>(jobs, pageable, total));
+    }
+    
+    public CursorPage<JobDto> getPublishedJobsAfter(String after, int size, String sortBy, Sort.Direction direction) {
+        Query query = new Query(Criteria.where("status").is(JobStatus.PUBLISHED));
+        return KeysetPagination.map(fetchJobs(query, sortBy, direction, after, size), jobs -> mapToDtos(jobs));
+    }
+    
+    public CursorPage<JobDto> searchJobsAfter(String title, String location, JobStatus status, String after, int size,
+                                              String sortBy, Sort.Direction direction) {
+        boolean hasTitle = title != null && !title.isEmpty();
+        boolean hasLocation = location != null && !location.isEmpty();
+        
+        // Ranked results live in memory, so the cursor is a plain offset into the ranking
+        if ((hasTitle || hasLocation) && jobSearchIndex.isReady()) {
+            int offset = KeysetPagination.decodeOffset(after);
+            int limit = KeysetPagination.clampSize(size);
+            JobSearchIndex.SearchResult result = jobSearchIndex.search(title, indexedLocation(location), status,
+                    offset, limit);
+            
+            int nextOffset = offset + result.getJobIds().size();
+            boolean hasNext = nextOffset < result.getTotal();
+            List<JobDto> content = mapToDtos(findJobsInOrder(result.getJobIds()));
+            return new CursorPage<>(content, hasNext ? KeysetPagination.encodeOffset(nextOffset) : null,
+                    hasNext, content.size());
+        }
+        
+        Query query = buildSearchQuery(title, location, status);
+        return KeysetPagination.map(fetchJobs(query, sortBy, direction, after, size), jobs -> mapToDtos(jobs));
+    }
+    
+    public CursorPage<JobDto> getJobsByRecruiterAfter(String recruiterId, String after, int size) {
+        Query query = new Query(Criteria.where("recruiterId").is(recruiterId));
+        return KeysetPagination.map(fetchJobs(query, "createdAt", Sort.Direction.DESC, after, size),
+                jobs -> mapToDtos(jobs));
     }
     
     public Page<JobDto> getJobsByRecruiter(String recruiterId, Pageable pageable) {
-        return jobRepository.findByRecruiterId(recruiterId, pageable).map(this::mapToDto);
+        return mapToDtos(jobRepository.findByRecruiterId(recruiterId, pageable));
     }
     
     public JobDto getJobById(String id) {
@@ -107,6 +305,10 @@ public class JobService {
         return mapToDto(job);
     }
     
+    public CachedResponse<JobDto> getJobResponse(String id) {
+        return jobResponseCache.getJob(id, () -> getJobById(id));
+    }
+    
     public JobDto updateJob(String id, JobCreateRequest request, String recruiterId) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
@@ -115,16 +317,23 @@ public class JobService {
             throw new RuntimeException("Unauthorized to update this job");
         }
         
-        job.setTitle(request.getTitle());
-        job.setDescription(request.getDescription());
-        job.setLocation(request.getLocation());
-        job.setDepartment(request.getDepartment());
-        job.setEmploymentType(request.getEmploymentType());
-        job.setSalaryMin(request.getSalaryMin());
-        job.setSalaryMax(request.getSalaryMax());
-        // updatedAt is automatically handled by @LastModifiedDate
+        Job located = new Job();
+        located.setLocation(request.getLocation());
+        gazetteer.locate(located);
         
-        job = jobRepository.save(job);
+        Update update = new Update();
+        setOrUnset(update, "title", request.getTitle());
+        setOrUnset(update, "description", request.getDescription());
+        setOrUnset(update, "location", request.getLocation());
+        setOrUnset(update, "normalizedLocation", located.getNormalizedLocation());
+        setOrUnset(update, "locationPoint", located.getLocationPoint());
+        setOrUnset(update, "department", request.getDepartment());
+        setOrUnset(update, "employmentType", request.getEmploymentType());
+        setOrUnset(update, "salaryMin", request.getSalaryMin() != null ? new Decimal128(request.getSalaryMin()) : null);
+        setOrUnset(update, "salaryMax", request.getSalaryMax() != null ? new Decimal128(request.getSalaryMax()) : null);
+        
+        job = updateFields(id, update);
+        eventPublisher.publishEvent(new JobChangedEvent(job, JobChangedEvent.ChangeType.UPDATED));
         return mapToDto(job);
     }
     
@@ -136,10 +345,8 @@ public class JobService {
             throw new RuntimeException("Unauthorized to publish this job");
         }
         
-        job.setStatus(JobStatus.PUBLISHED);
-        job.setPublishedAt(LocalDateTime.now());
-        // updatedAt is automatically handled by @LastModifiedDate
-        jobRepository.save(job);
+        job = updateFields(id, new Update().set("status", JobStatus.PUBLISHED).set("publishedAt", LocalDateTime.now()));
+        eventPublisher.publishEvent(new JobChangedEvent(job, JobChangedEvent.ChangeType.PUBLISHED));
     }
     
     public void closeJob(String id, String recruiterId) {
@@ -150,10 +357,8 @@ public class JobService {
             throw new RuntimeException("Unauthorized to close this job");
         }
         
-        job.setStatus(JobStatus.CLOSED);
-        job.setClosedAt(LocalDateTime.now());
-        // updatedAt is automatically handled by @LastModifiedDate
-        jobRepository.save(job);
+        job = updateFields(id, new Update().set("status", JobStatus.CLOSED).set("closedAt", LocalDateTime.now()));
+        eventPublisher.publishEvent(new JobChangedEvent(job, JobChangedEvent.ChangeType.CLOSED));
     }
     
     public void deleteJob(String id, String recruiterId) {
@@ -165,14 +370,253 @@ public class JobService {
         }
         
         jobRepository.delete(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job, JobChangedEvent.ChangeType.DELETED));
+    }
+    
+    // Writes only the edited fields. A full save would also write back applicationCount and
+    // applicationCountsByStatus as they were read, losing $inc updates made by JobCounterService meanwhile.
+    private Job updateFields(String id, Update update) {
+        update.set("updatedAt", LocalDateTime.now());
+        Job job = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(true), Job.class);
+        if (job == null) {
+            throw new RuntimeException("Job not found");
+        }
+        return job;
+    }
+    
+    // Mirrors save(), which leaves null fields out of the document
+    private static void setOrUnset(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        } else {
+            update.unset(field);
+        }
+    }
+    
+    private Query buildSearchQuery(String title, String location, JobStatus status) {
+        Query query = new Query();
+        List<Criteria> criteriaList = searchCriteria(title, location, status);
+        
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+        return query;
+    }
+    
+    private List<Criteria> searchCriteria(String title, String location, JobStatus status) {
+        List<Criteria> criteriaList = new ArrayList<>();
+        
+        // User input is matched literally so it can never be interpreted as a regex
+        if (title != null && !title.isEmpty()) {
+            Pattern pattern = Pattern.compile(Pattern.quote(title), Pattern.CASE_INSENSITIVE);
+            criteriaList.add(Criteria.where("title").regex(pattern));
+        }
+        
+        if (location != null && !location.isEmpty()) {
+            Pattern pattern = Pattern.compile(Pattern.quote(location), Pattern.CASE_INSENSITIVE);
+            // A known place also matches jobs that spell it differently ("Bangalore" finds "Bengaluru, KA")
+            Optional<Gazetteer.Place> place = gazetteer.resolve(location);
+            if (place.isPresent()) {
+                criteriaList.add(new Criteria().orOperator(
+                        Criteria.where("location").regex(pattern),
+                        Criteria.where("normalizedLocation").is(place.get().getDisplayName())));
+            } else {
+                criteriaList.add(Criteria.where("location").regex(pattern));
+            }
+        }
+        
+        if (status != null) {
+            criteriaList.add(Criteria.where("status").is(status));
+        }
+        return criteriaList;
+    }
+    
+    // The search index holds canonical place names as location terms, so spelling variants match
+    private String indexedLocation(String location) {
+        return gazetteer.resolve(location).map(Gazetteer.Place::getName).orElse(location);
+    }
+    
+    private GeoJsonPoint resolvePoint(String near) {
+        Matcher matcher = LAT_LON.matcher(near);
+        if (matcher.matches()) {
+            double latitude = Double.parseDouble(matcher.group(1));
+            double longitude = Double.parseDouble(matcher.group(2));
+            if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+                throw new RuntimeException("Coordinates out of range: " + near);
+            }
+            return new GeoJsonPoint(longitude, latitude);
+        }
+        return gazetteer.resolve(near)
+                .map(Gazetteer.Place::toPoint)
+                .orElseThrow(() -> new RuntimeException("Unknown location: " + near));
+    }
+    
+    // Equality fields first, then ranges, matching the status_department/employmentType_publishedAt
+    // and status_salaryMin_salaryMax indexes on Job
+    private Criteria buildFilterCriteria(JobFilter filter) {
+        Criteria criteria = Criteria.where("status").is(filter.getStatus() != null ? filter.getStatus() : JobStatus.PUBLISHED);
+        
+        if (filter.getDepartment() != null && !filter.getDepartment().isEmpty()) {
+            criteria.and("department").is(filter.getDepartment());
+        }
+        if (filter.getEmploymentType() != null && !filter.getEmploymentType().isEmpty()) {
+            criteria.and("employmentType").is(filter.getEmploymentType());
+        }
+        
+        if (filter.getSalaryMin() != null && filter.getSalaryMax() != null
+                && filter.getSalaryMin().compareTo(filter.getSalaryMax()) > 0) {
+            throw new RuntimeException("salaryMin must not be greater than salaryMax");
+        }
+        // Overlap of [job.salaryMin, job.salaryMax] with the requested range; jobs without the
+        // compared bound do not match. Values are passed as Decimal128 to compare numerically.
+        if (filter.getSalaryMax() != null) {
+            criteria.and("salaryMin").lte(new Decimal128(filter.getSalaryMax()));
+        }
+        if (filter.getSalaryMin() != null) {
+            criteria.and("salaryMax").gte(new Decimal128(filter.getSalaryMin()));
+        }
+        
+        if (filter.getPublishedAfter() != null || filter.getPublishedBefore() != null) {
+            Criteria publishedAt = criteria.and("publishedAt");
+            if (filter.getPublishedAfter() != null) {
+                publishedAt.gte(filter.getPublishedAfter());
+            }
+            if (filter.getPublishedBefore() != null) {
+                publishedAt.lt(filter.getPublishedBefore());
+            }
+        }
+        return criteria;
+    }
+    
+    private Document facetSort(Sort sort) {
+        Document sortDocument = new Document();
+        for (Sort.Order order : sort) {
+            String field = order.getProperty().equals("id") ? "_id" : order.getProperty();
+            sortDocument.append(field, order.isAscending() ? 1 : -1);
+        }
+        if (sortDocument.isEmpty()) {
+            sortDocument.append("createdAt", -1);
+        }
+        // _id as tie-breaker keeps skip-based pages stable
+        if (!sortDocument.containsKey("_id")) {
+            sortDocument.append("_id", -1);
+        }
+        return sortDocument;
+    }
+    
+    private List<Document> countByValue(String field) {
+        return List.of(
+                new Document("$match", new Document(field, new Document("$ne", null))),
+                new Document("$sortByCount", "$" + field),
+                new Document("$limit", MAX_FACET_VALUES));
+    }
+    
+    private List<Document> salaryBands() {
+        List<Integer> boundaries = new ArrayList<>();
+        for (int boundary : SALARY_BAND_BOUNDARIES) {
+            boundaries.add(boundary);
+        }
+        // The conversion tolerates salaries stored as strings as well as numbers
+        Document salary = new Document("$convert", new Document("input", "$salaryMin")
+                .append("to", "double")
+                .append("onError", null)
+                .append("onNull", null));
+        return List.of(
+                new Document("$project", new Document("salary", salary)),
+                new Document("$match", new Document("salary", new Document("$gte", SALARY_BAND_BOUNDARIES[0]))),
+                new Document("$bucket", new Document("groupBy", "$salary")
+                        .append("boundaries", boundaries)
+                        .append("default", TOP_SALARY_BAND)
+                        .append("output", new Document("count", new Document("$sum", 1)))));
+    }
+    
+    private Map<String, Long> toCounts(List<Document> buckets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document bucket : buckets) {
+            counts.put(String.valueOf(bucket.get("_id")), bucket.get("count", Number.class).longValue());
+        }
+        return counts;
+    }
+    
+    private Map<String, Long> toSalaryBands(List<Document> buckets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document bucket : buckets) {
+            Object lowerBound = bucket.get("_id");
+            String band = TOP_SALARY_BAND;
+            for (int i = 0; i < SALARY_BAND_BOUNDARIES.length - 1; i++) {
+                if (lowerBound instanceof Number && ((Number) lowerBound).intValue() == SALARY_BAND_BOUNDARIES[i]) {
+                    band = SALARY_BAND_BOUNDARIES[i] + "-" + SALARY_BAND_BOUNDARIES[i + 1];
+                }
+            }
+            counts.put(band, bucket.get("count", Number.class).longValue());
+        }
+        return counts;
+    }
+    
+    private CursorPage<Job> fetchJobs(Query query, String sortBy, Sort.Direction direction, String after, int size) {
+        if (!CURSOR_SORT_FIELDS.contains(sortBy)) {
+            throw new RuntimeException("Cursor pagination is not supported for sort field: " + sortBy);
+        }
+        return KeysetPagination.fetch(mongoTemplate, query, Job.class, sortBy, direction, after, size,
+                job -> sortValue(job, sortBy), Job::getId);
+    }
+    
+    private Object sortValue(Job job, String sortBy) {
+        switch (sortBy) {
+            case "publishedAt":
+                return job.getPublishedAt();
+            case "title":
+                return job.getTitle();
+            default:
+                return job.getCreatedAt();
+        }
+    }
+    
+    private List<Job> findJobsInOrder(List<String> jobIds) {
+        Map<String, Job> jobsById = new HashMap<>();
+        jobRepository.findAllById(jobIds).forEach(job -> jobsById.put(job.getId(), job));
+        
+        // Keep the index's ranking; jobs deleted on another node since indexing are skipped
+        List<Job> jobs = new ArrayList<>();
+        for (String jobId : jobIds) {
+            Job job = jobsById.get(jobId);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
     }
     
     private JobDto mapToDto(Job job) {
+        return mapToDtos(List.of(job)).get(0);
+    }
+    
+    private Page<JobDto> mapToDtos(Page<Job> jobs) {
+        return new PageImpl<>(mapToDtos(jobs.getContent()), jobs.getPageable(), jobs.getTotalElements());
+    }
+    
+    private List<JobDto> mapToDtos(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Resolve recruiters for the whole page up front
+        Map<String, User> recruiters = userService.getUsersByIds(
+                jobs.stream().map(Job::getRecruiterId).collect(Collectors.toList()));
+        
+        return jobs.stream()
+                .map(job -> mapToDto(job, recruiters.get(job.getRecruiterId())))
+                .collect(Collectors.toList());
+    }
+    
+    private JobDto mapToDto(Job job, User recruiter) {
         JobDto dto = new JobDto();
         dto.setId(job.getId());
         dto.setTitle(job.getTitle());
         dto.setDescription(job.getDescription());
         dto.setLocation(job.getLocation());
+        dto.setNormalizedLocation(job.getNormalizedLocation());
         dto.setDepartment(job.getDepartment());
         dto.setEmploymentType(job.getEmploymentType());
         dto.setSalaryMin(job.getSalaryMin());
@@ -180,8 +624,6 @@ public class JobService {
         dto.setStatus(job.getStatus());
         dto.setRecruiterId(job.getRecruiterId());
         
-        // Fetch recruiter for name
-        User recruiter = userRepository.findById(job.getRecruiterId()).orElse(null);
         if (recruiter != null) {
             dto.setRecruiterName(recruiter.getFirstName() + " " + recruiter.getLastName());
         }
@@ -189,9 +631,11 @@ public class JobService {
         dto.setCreatedAt(job.getCreatedAt());
         dto.setPublishedAt(job.getPublishedAt());
         
-        // Count applications
-        long applicationCount = applicationRepository.findByJobId(job.getId(), Pageable.unpaged()).getTotalElements();
-        dto.setApplicationCount(applicationCount);
+        // Counters are maintained on the job document by JobCounterService
+        dto.setApplicationCount(job.getApplicationCount() != null ? job.getApplicationCount() : 0L);
+        dto.setApplicationCountsByStatus(job.getApplicationCountsByStatus() != null
+                ? job.getApplicationCountsByStatus()
+                : new HashMap<>());
         
         return dto;
     }
@@ -0,0 +1,173 @@
+package com.recruito.service;
+
+import com.recruito.dto.CursorPage;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Cursor (keyset) pagination: the opaque "after" token carries the last row's sort key plus _id,
+// and the next slice is a range query on (sortField, _id) instead of a skip.
+public final class KeysetPagination {
+
+    private static final String KEYSET_CURSOR = "k";
+    private static final String OFFSET_CURSOR = "o";
+
+    private static final String DATE_VALUE = "d";
+    private static final String STRING_VALUE = "s";
+    private static final String NULL_VALUE = "n";
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPagination() {
+    }
+
+    public static <T> CursorPage<T> fetch(MongoTemplate mongoTemplate, Query query, Class<T> entityClass,
+                                          String sortField, Sort.Direction direction, String after, int size,
+                                          Function<T, Object> sortValue, Function<T, String> idValue) {
+        int limit = clampSize(size);
+
+        if (after != null && !after.isEmpty()) {
+            String[] parts = decode(after, KEYSET_CURSOR, 4);
+            query.addCriteria(rangeAfter(sortField, direction, parseValue(parts[1], parts[3]), toObjectId(parts[2])));
+        }
+
+        query.with(Sort.by(direction, sortField).and(Sort.by(direction, "_id")));
+        query.limit(limit + 1);
+
+        return page(mongoTemplate.find(query, entityClass), limit, sortValue, idValue);
+    }
+
+    // Turns up to limit + 1 rows, already sorted by (sortField, _id), into a slice with its next cursor
+    public static <T> CursorPage<T> page(List<T> results, int limit,
+                                         Function<T, Object> sortValue, Function<T, String> idValue) {
+        boolean hasNext = results.size() > limit;
+        List<T> content = hasNext ? new ArrayList<>(results.subList(0, limit)) : results;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = encodeKeyset(sortValue.apply(last), idValue.apply(last));
+        }
+        return new CursorPage<>(content, nextCursor, hasNext, content.size());
+    }
+
+    // Cursor for a row's position, for pages that can also be read from their first row backwards
+    public static String cursorOf(Object sortValue, String id) {
+        return encodeKeyset(sortValue, id);
+    }
+
+    public static <T, R> CursorPage<R> map(CursorPage<T> page, Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(page.getContent()), page.getNextCursor(), page.isHasNext(), page.getSize());
+    }
+
+    // Offset cursors are only used for results ranked in memory, where skipping costs no database work
+    public static String encodeOffset(int offset) {
+        return encode(OFFSET_CURSOR + "|" + offset);
+    }
+
+    public static int decodeOffset(String after) {
+        if (after == null || after.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(decode(after, OFFSET_CURSOR, 2)[1]));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static Criteria rangeAfter(String sortField, Sort.Direction direction, Object value, ObjectId lastId) {
+        boolean ascending = direction == Sort.Direction.ASC;
+
+        // Mongo sorts null before every other value, so null keys need their own branches
+        if (value == null) {
+            Criteria sameKey = ascending
+                    ? Criteria.where(sortField).is(null).and("_id").gt(lastId)
+                    : Criteria.where(sortField).is(null).and("_id").lt(lastId);
+            return ascending
+                    ? new Criteria().orOperator(sameKey, Criteria.where(sortField).ne(null))
+                    : sameKey;
+        }
+
+        Criteria beyondKey = ascending ? Criteria.where(sortField).gt(value) : Criteria.where(sortField).lt(value);
+        Criteria sameKey = ascending
+                ? Criteria.where(sortField).is(value).and("_id").gt(lastId)
+                : Criteria.where(sortField).is(value).and("_id").lt(lastId);
+        return ascending
+                ? new Criteria().orOperator(beyondKey, sameKey)
+                : new Criteria().orOperator(beyondKey, sameKey, Criteria.where(sortField).is(null));
+    }
+
+    private static String encodeKeyset(Object value, String id) {
+        String type;
+        String encodedValue;
+        if (value == null) {
+            type = NULL_VALUE;
+            encodedValue = "";
+        } else if (value instanceof LocalDateTime) {
+            type = DATE_VALUE;
+            encodedValue = value.toString();
+        } else {
+            type = STRING_VALUE;
+            encodedValue = value.toString();
+        }
+        // The value goes last because string keys may themselves contain the separator
+        return encode(KEYSET_CURSOR + "|" + type + "|" + id + "|" + encodedValue);
+    }
+
+    private static Object parseValue(String type, String value) {
+        try {
+            switch (type) {
+                case NULL_VALUE:
+                    return null;
+                case DATE_VALUE:
+                    return LocalDateTime.parse(value);
+                case STRING_VALUE:
+                    return value;
+                default:
+                    throw new RuntimeException("Invalid cursor");
+            }
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private static ObjectId toObjectId(String id) {
+        if (!ObjectId.isValid(id)) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return new ObjectId(id);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor, String expectedKind, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\|", expectedParts);
+        if (parts.length != expectedParts || !parts[0].equals(expectedKind)) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return parts;
+    }
+}
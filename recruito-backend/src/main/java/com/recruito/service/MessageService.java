@@ -1,16 +1,25 @@
 package com.recruito.service;
 
+import com.recruito.dto.CursorPage;
 import com.recruito.dto.MessageDto;
+import com.recruito.dto.MessagePage;
 import com.recruito.dto.MessageRequest;
 import com.recruito.model.Message;
 import com.recruito.model.User;
 import com.recruito.repository.MessageRepository;
 import com.recruito.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +31,9 @@ public class MessageService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
     private String generateChatRoomId(String userId1, String userId2) {
         return userId1.compareTo(userId2) < 0 ? 
             userId1 + "_" + userId2 : 
@@ -46,10 +58,19 @@ public class MessageService {
         // createdAt is automatically handled by @CreatedDate
         
         message = messageRepository.save(message);
-        return mapToDto(message);
+        return mapToDto(message, sender, receiver);
     }
     
-    public List<MessageDto> getChatMessages(String currentUserEmail, String otherUserEmail) {
+    // One page of the conversation, oldest first: the latest messages by default, or the messages just before
+    // or after a cursor. Every page is a range on the (chatRoomId, createdAt, _id) index.
+    public MessagePage getChatMessages(String currentUserEmail, String otherUserEmail, String before, String after,
+                                       int size) {
+        boolean hasBefore = before != null && !before.isEmpty();
+        boolean hasAfter = after != null && !after.isEmpty();
+        if (hasBefore && hasAfter) {
+            throw new RuntimeException("Pass either before or after, not both");
+        }
+        
         User currentUser = userRepository.findByEmail(currentUserEmail)
                 .orElseThrow(() -> new RuntimeException("Current user not found"));
         
@@ -57,13 +78,46 @@ public class MessageService {
                 .orElseThrow(() -> new RuntimeException("Other user not found with email: " + otherUserEmail));
         
         String chatRoomId = generateChatRoomId(currentUser.getId(), otherUser.getId());
-        // Use findByChatRoomIdOrderByCreatedAtAsc which handles sorting
-        // Filter out any messages with null createdAt for safety
-        return messageRepository.findByChatRoomIdOrderByCreatedAtAsc(chatRoomId)
-                .stream()
-                .filter(msg -> msg.getCreatedAt() != null) // Filter null createdAt for safety
-                .map(this::mapToDto)
+        // Messages without createdAt cannot be placed in the conversation
+        Query query = new Query(Criteria.where("chatRoomId").is(chatRoomId).and("createdAt").ne(null));
+        
+        List<Message> messages;
+        boolean hasOlder;
+        boolean hasNewer;
+        if (hasAfter) {
+            CursorPage<Message> page = KeysetPagination.fetch(mongoTemplate, query, Message.class,
+                    "createdAt", Sort.Direction.ASC, after, size, Message::getCreatedAt, Message::getId);
+            messages = page.getContent();
+            hasOlder = true; // At least the message the cursor points at
+            hasNewer = page.isHasNext();
+        } else {
+            // Read newest first from the end of the conversation (or the cursor), then flip into reading order
+            CursorPage<Message> page = KeysetPagination.fetch(mongoTemplate, query, Message.class,
+                    "createdAt", Sort.Direction.DESC, before, size, Message::getCreatedAt, Message::getId);
+            messages = new ArrayList<>(page.getContent());
+            Collections.reverse(messages);
+            hasOlder = page.isHasNext();
+            hasNewer = hasBefore;
+        }
+        
+        // The two participants are already loaded, so no user lookups per message or per page
+        Map<String, User> participants = new HashMap<>();
+        participants.put(currentUser.getId(), currentUser);
+        participants.put(otherUser.getId(), otherUser);
+        List<MessageDto> content = messages.stream()
+                .map(message -> mapToDto(message, participants.get(message.getSenderId()),
+                        participants.get(message.getReceiverId())))
                 .collect(Collectors.toList());
+        
+        String beforeCursor = null;
+        String afterCursor = hasAfter ? after : null;
+        if (!messages.isEmpty()) {
+            Message first = messages.get(0);
+            Message last = messages.get(messages.size() - 1);
+            beforeCursor = hasOlder ? KeysetPagination.cursorOf(first.getCreatedAt(), first.getId()) : null;
+            afterCursor = KeysetPagination.cursorOf(last.getCreatedAt(), last.getId());
+        }
+        return new MessagePage(content, beforeCursor, afterCursor, hasOlder, hasNewer);
     }
     
     public void markMessagesAsRead(String chatRoomId, String userId) {
@@ -76,12 +130,11 @@ public class MessageService {
         return messageRepository.countByReceiverIdAndIsReadFalse(userId);
     }
     
-    private MessageDto mapToDto(Message message) {
+    private MessageDto mapToDto(Message message, User sender, User receiver) {
         MessageDto dto = new MessageDto();
         dto.setId(message.getId());
         dto.setSenderId(message.getSenderId());
         
-        User sender = userRepository.findById(message.getSenderId()).orElse(null);
         if (sender != null) {
             dto.setSenderName(sender.getFirstName() + " " + sender.getLastName());
             dto.setSenderEmail(sender.getEmail());
@@ -89,7 +142,6 @@ public class MessageService {
         
         dto.setReceiverId(message.getReceiverId());
         
-        User receiver = userRepository.findById(message.getReceiverId()).orElse(null);
         if (receiver != null) {
             dto.setReceiverName(receiver.getFirstName() + " " + receiver.getLastName());
             dto.setReceiverEmail(receiver.getEmail());
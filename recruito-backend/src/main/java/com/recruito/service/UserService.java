@@ -1,12 +1,20 @@
 package com.recruito.service;
 
 import com.recruito.model.User;
+import com.recruito.model.enums.Role;
 import com.recruito.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 public class UserService {
     
@@ -25,6 +33,12 @@ public class UserService {
         return user.getId();
     }
     
+    // Read from the authorities set by CustomUserDetailsService, so no user lookup is needed
+    public boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ("ROLE_" + Role.ADMIN.name()).equals(authority.getAuthority()));
+    }
+    
     public User getCurrentUser(Authentication authentication) {
         if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails)) {
             throw new RuntimeException("User not authenticated");
@@ -34,4 +48,17 @@ public class UserService {
         return userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
+    
+    public Map<String, User> getUsersByIds(Collection<String> ids) {
+        // Single $in lookup used when hydrating a page of DTOs
+        Map<String, User> users = new HashMap<>();
+        Set<String> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return users;
+        }
+        userRepository.findAllById(distinctIds).forEach(user -> users.put(user.getId(), user));
+        return users;
+    }
 }
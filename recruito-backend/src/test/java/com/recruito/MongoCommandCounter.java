@@ -0,0 +1,33 @@
+package com.recruito;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records the names of the Mongo commands an action sends. Only commands issued on the calling thread are
+// recorded, so schedulers running in the background do not skew the count.
+public class MongoCommandCounter implements CommandListener {
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    public List<String> record(Runnable action) {
+        List<String> commands = new ArrayList<>();
+        recording.set(commands);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return commands;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        List<String> commands = recording.get();
+        if (commands != null) {
+            commands.add(event.getCommandName());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.recruito;
+
+import com.recruito.model.Job;
+import com.recruito.model.User;
+import com.recruito.model.enums.JobStatus;
+import com.recruito.model.enums.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Base for tests that need a real mongod: unique indexes, conditional updates and concurrent writers cannot be
+// mocked meaningfully. One container is shared by all subclasses (so the cached Spring context stays valid)
+// and the tests are skipped where Docker is not available. The test profile turns on QueryPlanVerifier, so the
+// context only starts if every registered query shape and pipeline is index-backed.
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Import(MongoIntegrationTest.CommandCounting.class)
+public abstract class MongoIntegrationTest {
+
+    @ServiceConnection
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    static {
+        MONGO.start();
+    }
+
+    @Autowired
+    protected MongoTemplate mongoTemplate;
+
+    @Autowired
+    protected MongoCommandCounter mongoCommandCounter;
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CommandCounting {
+
+        @Bean
+        MongoCommandCounter mongoCommandCounter() {
+            return new MongoCommandCounter();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer mongoCommandCounting(MongoCommandCounter mongoCommandCounter) {
+            return settings -> settings.addCommandListener(mongoCommandCounter);
+        }
+    }
+
+    protected User user(Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@test.recruito");
+        user.setFirstName("Test");
+        user.setLastName(role.name());
+        user.setRole(role);
+        return mongoTemplate.insert(user);
+    }
+
+    protected Job publishedJob(String recruiterId) {
+        Job job = new Job();
+        job.setTitle("Backend Engineer");
+        job.setDescription("Java and MongoDB");
+        job.setStatus(JobStatus.PUBLISHED);
+        job.setPublishedAt(LocalDateTime.now());
+        job.setRecruiterId(recruiterId);
+        return mongoTemplate.insert(job);
+    }
+}
@@ -0,0 +1,87 @@
+package com.recruito.benchmark;
+
+import com.recruito.dto.ApplicationBulkStatusResult;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.model.enums.Role;
+import com.recruito.service.ApplicationService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Moving -Dbenchmarks.triage applications (default 1000) to SHORTLISTED with one bulk call, against the same
+// number of calls to the single-application status update.
+@EnabledIfSystemProperty(named = MongoBenchmark.ENABLED_PROPERTY, matches = "true")
+class ApplicationBulkStatusBenchmarkTest extends MongoBenchmark {
+
+    private static final int APPLICATIONS = Integer.getInteger("benchmarks.triage", 1000);
+    private static final int WARMUP = 50;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    private Job job;
+
+    @Test
+    void bulkUpdateAgainstSingleUpdates() {
+        String recruiterId = user(Role.RECRUITER).getId();
+        job = publishedJob(recruiterId);
+        List<String> single = seed(recruiterId, APPLICATIONS);
+        List<String> bulk = seed(recruiterId, APPLICATIONS);
+
+        // Warm both paths up on applications of their own
+        for (String id : seed(recruiterId, WARMUP)) {
+            applicationService.updateApplicationStatus(id, ApplicationStatus.SHORTLISTED, recruiterId);
+        }
+        applicationService.bulkUpdateApplicationStatus(seed(recruiterId, WARMUP), ApplicationStatus.SHORTLISTED,
+                recruiterId);
+
+        long start = System.nanoTime();
+        for (String id : single) {
+            applicationService.updateApplicationStatus(id, ApplicationStatus.SHORTLISTED, recruiterId);
+        }
+        double singleMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        start = System.nanoTime();
+        ApplicationBulkStatusResult result = applicationService.bulkUpdateApplicationStatus(bulk,
+                ApplicationStatus.SHORTLISTED, recruiterId);
+        double bulkMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        reportThroughput("single status updates", APPLICATIONS, singleMillis);
+        reportThroughput("bulk status update", APPLICATIONS, bulkMillis);
+
+        assertEquals(APPLICATIONS, result.getUpdated());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (job != null) {
+            mongoTemplate.getCollection("applications").deleteMany(new Document("jobId", job.getId()));
+            mongoTemplate.getCollection("application_events").deleteMany(new Document("jobId", job.getId()));
+        }
+    }
+
+    private List<String> seed(String recruiterId, int count) {
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Application application = new Application();
+            application.setJobId(job.getId());
+            application.setCandidateId(new ObjectId().toHexString());
+            application.setRecruiterId(recruiterId);
+            application.setStatus(ApplicationStatus.APPLIED);
+            applications.add(application);
+        }
+        List<String> ids = new ArrayList<>();
+        mongoTemplate.insertAll(applications).forEach(application -> ids.add(application.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,87 @@
+package com.recruito.benchmark;
+
+import com.recruito.dto.ApplicationCreateRequest;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.User;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.model.enums.Role;
+import com.recruito.service.ApplicationService;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Median latency of one apply: the insert-first createApplication against the read-then-write flow it
+// replaced (job, duplicate check, candidate, save, then the job and candidate again for the response),
+// each over -Dbenchmarks.applies applies (default 1000) by distinct candidates.
+@EnabledIfSystemProperty(named = MongoBenchmark.ENABLED_PROPERTY, matches = "true")
+class ApplyLatencyBenchmarkTest extends MongoBenchmark {
+
+    private static final int APPLIES = Integer.getInteger("benchmarks.applies", 1000);
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    private Job job;
+
+    @Test
+    void insertFirstAgainstReadThenWrite() throws Exception {
+        job = publishedJob(user(Role.RECRUITER).getId());
+        List<User> candidates = new ArrayList<>();
+        for (int i = 0; i < 2 * (APPLIES + 3); i++) {
+            candidates.add(user(Role.CANDIDATE));
+        }
+        AtomicInteger next = new AtomicInteger();
+
+        double readThenWrite = medianMillis(APPLIES, () -> readThenWriteApply(candidates.get(next.getAndIncrement())));
+        double insertFirst = medianMillis(APPLIES, () -> {
+            ApplicationCreateRequest request = new ApplicationCreateRequest();
+            request.setJobId(job.getId());
+            applicationService.createApplication(request, candidates.get(next.getAndIncrement()).getId());
+        });
+
+        report("read-then-write apply, median", readThenWrite);
+        report("insert-first apply, median", insertFirst);
+
+        assertEquals(candidates.size(), mongoTemplate.count(
+                new Query(Criteria.where("jobId").is(job.getId())), Application.class));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (job != null) {
+            mongoTemplate.getCollection("applications").deleteMany(new Document("jobId", job.getId()));
+            mongoTemplate.getCollection("application_events").deleteMany(new Document("jobId", job.getId()));
+        }
+    }
+
+    // The round trips of the flow before the unique index
+    private void readThenWriteApply(User candidate) {
+        Job appliedTo = mongoTemplate.findById(job.getId(), Job.class);
+        if (mongoTemplate.exists(new Query(Criteria.where("jobId").is(appliedTo.getId())
+                .and("candidateId").is(candidate.getId())), Application.class)) {
+            throw new RuntimeException("You have already applied for this job");
+        }
+        mongoTemplate.findById(candidate.getId(), User.class);
+
+        Application application = new Application();
+        application.setJobId(appliedTo.getId());
+        application.setCandidateId(candidate.getId());
+        application.setRecruiterId(appliedTo.getRecruiterId());
+        application.setStatus(ApplicationStatus.APPLIED);
+        mongoTemplate.save(application);
+
+        mongoTemplate.findById(application.getJobId(), Job.class);
+        mongoTemplate.findById(application.getCandidateId(), User.class);
+    }
+}
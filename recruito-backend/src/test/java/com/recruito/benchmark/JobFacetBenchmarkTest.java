@@ -0,0 +1,128 @@
+package com.recruito.benchmark;
+
+import com.recruito.cache.JobResponseCache;
+import com.recruito.model.Job;
+import com.recruito.model.enums.JobStatus;
+import com.recruito.model.enums.Role;
+import com.recruito.service.JobService;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Faceted search (one $facet aggregation) against the page query plus the series of counts a client would
+// otherwise issue, one per facet value, on a seeded set of -Dbenchmarks.jobs published jobs (default 1M).
+@EnabledIfSystemProperty(named = MongoBenchmark.ENABLED_PROPERTY, matches = "true")
+class JobFacetBenchmarkTest extends MongoBenchmark {
+
+    private static final int JOBS = Integer.getInteger("benchmarks.jobs", 1_000_000);
+    private static final int RUNS = 9;
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Marketing", "Finance", "Operations",
+            "Design", "Support", "People"};
+    private static final String[] EMPLOYMENT_TYPES = {"FULL_TIME", "PART_TIME", "CONTRACT", "INTERNSHIP"};
+    private static final String[] LOCATIONS = {"Pune", "Delhi", "Mumbai", "Chennai", "Hyderabad", "Kolkata",
+            "Jaipur", "Remote", "London", "Berlin"};
+    private static final int[] SALARY_BANDS = {0, 30000, 50000, 75000, 100000, 150000, Integer.MAX_VALUE};
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobResponseCache jobResponseCache;
+
+    private String recruiterId;
+
+    @Test
+    void facetAggregationAgainstCountQueries() throws Exception {
+        recruiterId = user(Role.RECRUITER).getId();
+        seed();
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        double facet = medianMillis(RUNS, () -> {
+            // Unfiltered facets are cached; drop them so every run aggregates
+            ReflectionTestUtils.setField(jobResponseCache, "publishedFacets", null);
+            jobService.searchJobsWithFacets(null, null, null, null, null, pageable);
+        });
+        double cached = medianMillis(RUNS, () -> jobService.searchJobsWithFacets(null, null, null, null, null,
+                pageable));
+        double counts = medianMillis(RUNS, () -> countQueries(pageable));
+
+        report("facet aggregation, " + JOBS + " jobs", facet);
+        report("facet aggregation with cached facets", cached);
+        report("page query plus one count per facet value", counts);
+
+        assertEquals(countQueries(pageable), jobService.searchJobsWithFacets(null, null, null, null, null, pageable)
+                .getJobs().getTotalElements());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (recruiterId != null) {
+            mongoTemplate.getCollection("jobs").deleteMany(new Document("recruiterId", recruiterId));
+        }
+    }
+
+    // What the client issued before the facet API: the page, its total, and a count per facet value
+    private long countQueries(Pageable pageable) {
+        Criteria published = Criteria.where("status").is(JobStatus.PUBLISHED);
+        mongoTemplate.find(new Query(published).with(pageable), Job.class);
+        long total = mongoTemplate.count(new Query(Criteria.where("status").is(JobStatus.PUBLISHED)), Job.class);
+        countEach("department", DEPARTMENTS);
+        countEach("employmentType", EMPLOYMENT_TYPES);
+        countEach("location", LOCATIONS);
+        // The status facet under the default PUBLISHED filter
+        mongoTemplate.count(new Query(Criteria.where("status").is(JobStatus.PUBLISHED)), Job.class);
+        for (int i = 0; i < SALARY_BANDS.length - 1; i++) {
+            mongoTemplate.count(new Query(Criteria.where("status").is(JobStatus.PUBLISHED).and("salaryMin")
+                    .gte(new BigDecimal(SALARY_BANDS[i])).lt(new BigDecimal(SALARY_BANDS[i + 1]))), Job.class);
+        }
+        return total;
+    }
+
+    private void countEach(String field, String[] values) {
+        for (String value : values) {
+            mongoTemplate.count(new Query(Criteria.where("status").is(JobStatus.PUBLISHED).and(field).is(value)),
+                    Job.class);
+        }
+    }
+
+    private void seed() {
+        Date now = new Date();
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            batch.add(new Document("title", "Engineer " + i)
+                    .append("description", "Seeded for the facet benchmark")
+                    .append("department", DEPARTMENTS[i % DEPARTMENTS.length])
+                    .append("employmentType", EMPLOYMENT_TYPES[i % EMPLOYMENT_TYPES.length])
+                    .append("location", LOCATIONS[i % LOCATIONS.length])
+                    .append("salaryMin", new Decimal128(20000 + (i % 20) * 7500))
+                    .append("status", JobStatus.PUBLISHED.name())
+                    .append("recruiterId", recruiterId)
+                    .append("createdAt", new Date(now.getTime() - i * 1000L))
+                    .append("publishedAt", now));
+            if (batch.size() == 10_000) {
+                mongoTemplate.getCollection("jobs").insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.getCollection("jobs").insertMany(batch);
+        }
+    }
+}
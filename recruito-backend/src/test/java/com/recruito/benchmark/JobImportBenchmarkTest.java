@@ -0,0 +1,103 @@
+package com.recruito.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruito.dto.JobCreateRequest;
+import com.recruito.dto.JobImportResult;
+import com.recruito.model.enums.Role;
+import com.recruito.service.JobImportService;
+import com.recruito.service.JobService;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Bulk NDJSON import against creating the same -Dbenchmarks.importJobs jobs (default 10k) one createJob call
+// at a time, as POST /api/jobs does. The target is at least 10x the throughput of the per-job path.
+@EnabledIfSystemProperty(named = MongoBenchmark.ENABLED_PROPERTY, matches = "true")
+class JobImportBenchmarkTest extends MongoBenchmark {
+
+    private static final int JOBS = Integer.getInteger("benchmarks.importJobs", 10_000);
+    private static final double TARGET_SPEEDUP = 10;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobImportService jobImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String recruiterId;
+
+    @Test
+    void bulkImportAgainstPerJobCreates() throws Exception {
+        recruiterId = user(Role.RECRUITER).getId();
+        List<JobCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            requests.add(request(i));
+        }
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        for (JobCreateRequest request : requests) {
+            ndjson.write(objectMapper.writeValueAsBytes(request));
+            ndjson.write('\n');
+        }
+        byte[] body = ndjson.toByteArray();
+
+        // Warm both paths up on a small slice
+        for (int i = 0; i < 100; i++) {
+            jobService.createJob(requests.get(i), recruiterId);
+        }
+        jobImportService.importJobs(new ByteArrayInputStream(body, 0, 100 * (body.length / JOBS)),
+                JobImportService.Format.NDJSON, recruiterId);
+
+        long start = System.nanoTime();
+        for (JobCreateRequest request : requests) {
+            jobService.createJob(request, recruiterId);
+        }
+        double perJob = (System.nanoTime() - start) / 1_000_000.0;
+
+        start = System.nanoTime();
+        JobImportResult result = jobImportService.importJobs(new ByteArrayInputStream(body), JobImportService.Format.NDJSON,
+                recruiterId);
+        double bulk = (System.nanoTime() - start) / 1_000_000.0;
+
+        reportThroughput("createJob per job", JOBS, perJob);
+        reportThroughput("NDJSON bulk import", JOBS, bulk);
+
+        assertEquals(JOBS, result.getImported());
+        assertTrue(perJob / bulk >= TARGET_SPEEDUP,
+                String.format("bulk import is %.1fx the per-job throughput, target %.0fx", perJob / bulk,
+                        TARGET_SPEEDUP));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (recruiterId != null) {
+            mongoTemplate.getCollection("jobs").deleteMany(new Document("recruiterId", recruiterId));
+        }
+    }
+
+    // Fixed-width numbers keep every NDJSON line the same length, so the warmup slice ends on a line break
+    private static JobCreateRequest request(int i) {
+        JobCreateRequest request = new JobCreateRequest();
+        request.setTitle(String.format("Engineer %08d", i));
+        request.setDescription("Seeded for the import benchmark");
+        request.setLocation("Pune");
+        request.setDepartment("Engineering");
+        request.setEmploymentType("FULL_TIME");
+        request.setSalaryMin(new BigDecimal(50000));
+        request.setSalaryMax(new BigDecimal(90000));
+        return request;
+    }
+}
@@ -0,0 +1,47 @@
+package com.recruito.benchmark;
+
+import com.recruito.MongoIntegrationTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+// Base for the throughput and latency benchmarks. They seed large datasets, so they only run when asked for:
+//   mvn test -Dtest='*BenchmarkTest' -Dbenchmarks=true
+// Dataset sizes can be scaled down with the per-benchmark properties; timings go to the test log.
+public abstract class MongoBenchmark extends MongoIntegrationTest {
+
+    protected static final String ENABLED_PROPERTY = "benchmarks";
+
+    private static final Logger log = LoggerFactory.getLogger(MongoBenchmark.class);
+
+    private static final int WARMUP_RUNS = 3;
+
+    protected interface Operation {
+        void run() throws Exception;
+    }
+
+    // Median wall time of the operation in milliseconds, after a few warmup runs
+    protected double medianMillis(int runs, Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            operation.run();
+        }
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2] / 1_000_000.0;
+    }
+
+    protected void report(String name, double millis) {
+        log.info("[benchmark] {}: {} ms", name, String.format("%.2f", millis));
+    }
+
+    protected void reportThroughput(String name, long records, double millis) {
+        log.info("[benchmark] {}: {} records in {} ms ({} records/s)", name, records, String.format("%.1f", millis),
+                String.format("%.0f", records / (millis / 1000)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.recruito.benchmark;
+
+import com.recruito.dto.ApplicationPipelineDto;
+import com.recruito.model.Job;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.model.enums.Role;
+import com.recruito.service.ApplicationService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pipeline board of a job with -Dbenchmarks.applicants applications (default 20k) spread over the statuses,
+// 20 cards per column. The target is a median under 50 ms.
+@EnabledIfSystemProperty(named = MongoBenchmark.ENABLED_PROPERTY, matches = "true")
+class PipelineBoardBenchmarkTest extends MongoBenchmark {
+
+    private static final int APPLICANTS = Integer.getInteger("benchmarks.applicants", 20_000);
+    private static final int CARDS = 20;
+    private static final int RUNS = 21;
+    private static final double TARGET_MILLIS = 50;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    private Job job;
+    private final List<ObjectId> candidateIds = new ArrayList<>();
+
+    @Test
+    void boardOfALargeJob() throws Exception {
+        String recruiterId = user(Role.RECRUITER).getId();
+        job = publishedJob(recruiterId);
+        seed(recruiterId);
+
+        double board = medianMillis(RUNS, () -> applicationService.getPipeline(job.getId(), recruiterId, CARDS));
+        report("pipeline board, " + APPLICANTS + " applicants, median", board);
+
+        ApplicationPipelineDto pipeline = applicationService.getPipeline(job.getId(), recruiterId, CARDS);
+        assertEquals(APPLICANTS, pipeline.getTotal());
+        assertTrue(board < TARGET_MILLIS,
+                String.format("pipeline board took %.2f ms, target %.0f ms", board, TARGET_MILLIS));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (job != null) {
+            mongoTemplate.getCollection("applications").deleteMany(new Document("jobId", job.getId()));
+            mongoTemplate.getCollection("users").deleteMany(new Document("_id", new Document("$in", candidateIds)));
+        }
+    }
+
+    // Candidates too, so the cards are hydrated with names as in production
+    private void seed(String recruiterId) {
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        Date now = new Date();
+        List<Document> users = new ArrayList<>();
+        List<Document> applications = new ArrayList<>();
+        for (int i = 0; i < APPLICANTS; i++) {
+            ObjectId candidateId = new ObjectId();
+            candidateIds.add(candidateId);
+            users.add(new Document("_id", candidateId)
+                    .append("email", candidateId.toHexString() + "@benchmark.recruito")
+                    .append("firstName", "Candidate")
+                    .append("lastName", String.valueOf(i))
+                    .append("role", Role.CANDIDATE.name()));
+            applications.add(new Document("jobId", job.getId())
+                    .append("candidateId", candidateId.toHexString())
+                    .append("recruiterId", recruiterId)
+                    .append("status", statuses[i % statuses.length].name())
+                    .append("createdAt", new Date(now.getTime() - i * 1000L))
+                    .append("updatedAt", now));
+            if (applications.size() == 5000) {
+                flush(users, applications);
+            }
+        }
+        flush(users, applications);
+    }
+
+    private void flush(List<Document> users, List<Document> applications) {
+        if (!applications.isEmpty()) {
+            mongoTemplate.getCollection("users").insertMany(users);
+            mongoTemplate.getCollection("applications").insertMany(applications);
+            users.clear();
+            applications.clear();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.recruito.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruito.dto.JobDto;
+import com.recruito.dto.JobFacets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JobResponseCacheTest {
+
+    private JobResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new JobResponseCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(cache, "maxBytes", 1L << 20);
+    }
+
+    @Test
+    void entriesAreServedUntilTheyExpire() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlMillis", 1000L);
+        // The first serialization initializes Jackson, which on a cold JVM can take longer than the TTL
+        cache.getJob("warm-up", loader("warm-up"));
+        loads.set(0);
+
+        JobDto first = cache.getJob("job-1", loader("job-1")).getValue();
+        assertSame(first, cache.getJob("job-1", loader("job-1")).getValue());
+        assertEquals(1, loads.get());
+
+        // A write on another node sends no event here; the TTL is what lets it show up
+        Thread.sleep(1100);
+        cache.getJob("job-1", loader("job-1"));
+        assertEquals(2, loads.get());
+        assertEquals(1L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    void expiredFacetsAreDropped() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlMillis", 200L);
+        cache.putPublishedFacets(new JobFacets(), cache.generation());
+        assertNotNull(cache.getPublishedFacets());
+
+        Thread.sleep(250);
+        assertNull(cache.getPublishedFacets());
+    }
+
+    private Supplier<JobDto> loader(String id) {
+        return () -> {
+            loads.incrementAndGet();
+            JobDto job = new JobDto();
+            job.setId(id);
+            job.setTitle("Backend Engineer");
+            return job;
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.recruito.cache;
+
+import com.recruito.event.ApplicationChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceVersionsTest {
+
+    private final ResourceVersions versions = new ResourceVersions();
+
+    @Test
+    void everyWriteMovesBothValidatorsForward() {
+        long startedAt = versions.lastModified(ResourceVersions.JOBS);
+        assertEquals(0, versions.version(ResourceVersions.JOBS));
+
+        for (int i = 1; i <= 3; i++) {
+            long before = versions.lastModified(ResourceVersions.JOBS);
+            versions.bump(ResourceVersions.JOBS);
+            assertEquals(i, versions.version(ResourceVersions.JOBS));
+            assertTrue(versions.lastModified(ResourceVersions.JOBS) >= before);
+        }
+        assertTrue(versions.lastModified(ResourceVersions.JOBS) >= startedAt);
+    }
+
+    @Test
+    void eventsOnlyBumpTheirCollection() {
+        versions.onApplicationChanged(new ApplicationChangedEvent("application-1", "job-1"));
+
+        assertEquals(1, versions.version(ResourceVersions.APPLICATIONS));
+        assertEquals(0, versions.version(ResourceVersions.INTERVIEWS));
+    }
+}
@@ -0,0 +1,67 @@
+package com.recruito.geo;
+
+import com.recruito.model.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GazetteerTest {
+
+    private Gazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gazetteer = new Gazetteer();
+        ReflectionTestUtils.setField(gazetteer, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(gazetteer, "gazetteerLocation", "classpath:gazetteer/cities.tsv");
+        gazetteer.load();
+    }
+
+    @Test
+    void spellingsOfOnePlaceResolveToTheSameName() {
+        for (String location : new String[]{"Bangalore", "  BENGALURU ", "Bengaluru, KA", "Bengal\u016Bru",
+                "bangalore (Karnataka)", "BLR"}) {
+            assertEquals("Bengaluru, Karnataka, India", displayName(location), location);
+        }
+        assertEquals("Gurugram, Haryana, India", displayName("Gurgaon - Haryana"));
+        assertEquals("Navi Mumbai, Maharashtra, India", displayName("Navi Mumbai Area"));
+    }
+
+    @Test
+    void regionOrCountryPicksBetweenPlacesOfTheSameName() {
+        assertEquals("Hyderabad, Telangana, India", displayName("Hyderabad"));
+        assertEquals("Hyderabad, Sindh, Pakistan", displayName("Hyderabad, Sindh"));
+        assertEquals("Hyderabad, Sindh, Pakistan", displayName("Hyderabad / Pakistan"));
+    }
+
+    @Test
+    void unknownLocationsAreLeftUnresolved() {
+        assertTrue(gazetteer.resolve("Remote").isEmpty());
+        assertTrue(gazetteer.resolve("").isEmpty());
+        assertTrue(gazetteer.resolve(null).isEmpty());
+
+        Job job = new Job();
+        job.setLocation("Pune");
+        gazetteer.locate(job);
+        assertEquals("Pune, Maharashtra, India", job.getNormalizedLocation());
+        assertNotNull(job.getLocationPoint());
+        assertEquals(18.5, job.getLocationPoint().getY(), 0.1);
+
+        job.setLocation("Anywhere");
+        gazetteer.locate(job);
+        assertNull(job.getNormalizedLocation());
+        assertNull(job.getLocationPoint());
+    }
+
+    private String displayName(String location) {
+        return gazetteer.resolve(location).map(Gazetteer.Place::getDisplayName).orElse(null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.recruito.migration;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationRecruiterMigrationTest extends MongoIntegrationTest {
+
+    private static final String MIGRATION_ID = "application-recruiterId";
+
+    @Autowired
+    private ApplicationRecruiterMigration migration;
+
+    @Test
+    void backfillResumesFromItsCheckpoint() throws InterruptedException {
+        String recruiterId = user(Role.RECRUITER).getId();
+        Job job = publishedJob(recruiterId);
+
+        // Ids increase in creation order: one application before the checkpoint, two after it
+        Application beforeCheckpoint = legacyApplication(job.getId());
+        String checkpoint = new ObjectId().toHexString();
+        Application afterCheckpoint = legacyApplication(job.getId());
+        Application ofDeletedJob = legacyApplication(new ObjectId().toHexString());
+
+        // A run that stopped at the checkpoint
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(MIGRATION_ID)),
+                new Update().set("lastId", checkpoint).unset("completedAt"), "migrations");
+        ReflectionTestUtils.setField(migration, "complete", false);
+
+        // Until the backfill finishes, recruiter reads go through the recruiter's job ids
+        List<String> visible = mongoTemplate.find(new Query(migration.recruiterCriteria(recruiterId)), Application.class)
+                .stream().map(Application::getId).collect(Collectors.toList());
+        assertTrue(visible.containsAll(List.of(beforeCheckpoint.getId(), afterCheckpoint.getId())));
+
+        migration.onApplicationReady();
+        for (int i = 0; i < 100 && !migration.isComplete(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(migration.isComplete());
+
+        assertEquals(recruiterId, stored(afterCheckpoint).getRecruiterId());
+        // Applications to deleted jobs get a null recruiterId, so they are not scanned again
+        Document deleted = mongoTemplate.getCollection("applications")
+                .find(new Document("_id", new ObjectId(ofDeletedJob.getId()))).first();
+        assertTrue(deleted.containsKey("recruiterId"));
+        assertNull(deleted.get("recruiterId"));
+        // Before the checkpoint the previous run is trusted: nothing is scanned again
+        assertFalse(mongoTemplate.getCollection("applications")
+                .find(new Document("_id", new ObjectId(beforeCheckpoint.getId()))).first().containsKey("recruiterId"));
+
+        Document progress = mongoTemplate.findById(MIGRATION_ID, Document.class, "migrations");
+        assertNotNull(progress.get("completedAt"));
+    }
+
+    // An application written before recruiterId existed: the field is absent, not null
+    private Application legacyApplication(String jobId) {
+        Application application = new Application();
+        application.setId(new ObjectId().toHexString());
+        application.setJobId(jobId);
+        application.setCandidateId(new ObjectId().toHexString());
+        mongoTemplate.insert(application);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(application.getId())),
+                new Update().unset("recruiterId"), Application.class);
+        return application;
+    }
+
+    private Application stored(Application application) {
+        return mongoTemplate.findById(application.getId(), Application.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.recruito.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.recruito.MongoIntegrationTest;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import com.recruito.scheduling.MongoLease;
+import com.recruito.service.JobCounterService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniqueIndexMigrationTest extends MongoIntegrationTest {
+
+    private static final String INDEX_NAME = "jobId_candidateId";
+
+    @Autowired
+    private MongoLease mongoLease;
+
+    @Autowired
+    private JobCounterService jobCounterService;
+
+    @Test
+    void duplicatesAreMovedAsideAndTheIndexBecomesUnique() {
+        String collection = "unique_index_" + new ObjectId().toHexString();
+        MongoCollection<Document> source = mongoTemplate.getCollection(collection);
+        Document keys = new Document("jobId", 1).append("candidateId", 1);
+        source.createIndex(keys, new IndexOptions().name(INDEX_NAME));
+
+        ObjectId oldest = new ObjectId();
+        ObjectId duplicate = new ObjectId();
+        source.insertMany(new ArrayList<>(List.of(
+                new Document("_id", oldest).append("jobId", "job-1").append("candidateId", "candidate-1"),
+                new Document("_id", duplicate).append("jobId", "job-1").append("candidateId", "candidate-1"),
+                new Document("jobId", "job-1").append("candidateId", "candidate-2"))));
+
+        List<Document> moved = UniqueIndexes.migrate(mongoTemplate, mongoLease, collection, INDEX_NAME, keys);
+
+        assertEquals(1, moved.size());
+        assertEquals(duplicate, moved.get(0).getObjectId("_id"));
+        assertEquals(2, source.countDocuments());
+        assertEquals(1, mongoTemplate.getCollection(collection + "_duplicates").countDocuments());
+        assertTrue(UniqueIndexes.isUnique(mongoTemplate, collection, INDEX_NAME));
+        List<String> indexNames = new ArrayList<>();
+        source.listIndexes().forEach(index -> indexNames.add(index.getString("name")));
+        assertFalse(indexNames.contains(INDEX_NAME + "_unique"));
+        assertThrows(RuntimeException.class, () -> source.insertOne(
+                new Document("jobId", "job-1").append("candidateId", "candidate-1")));
+
+        // Run once: a second call finds the unique index and moves nothing; the lease was given back
+        assertTrue(UniqueIndexes.migrate(mongoTemplate, mongoLease, collection, INDEX_NAME, keys).isEmpty());
+        assertTrue(mongoLease.tryAcquire(UniqueIndexes.MIGRATIONS_COLLECTION,
+                "unique-index:" + collection + "." + INDEX_NAME, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void countersOfJobsWithMovedApplicationsAreRepaired() {
+        Job job = publishedJob(user(Role.RECRUITER).getId());
+        Application application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(new ObjectId().toHexString());
+        mongoTemplate.insert(application);
+        // Still counting an application that was moved to applications_duplicates
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(job.getId())),
+                new Update().set("applicationCount", 2).set("applicationCountsByStatus.APPLIED", 2), Job.class);
+
+        assertEquals(1, jobCounterService.repairCounters(Set.of(job.getId())));
+
+        Job repaired = mongoTemplate.findById(job.getId(), Job.class);
+        assertEquals(1L, repaired.getApplicationCount());
+        assertEquals(1L, repaired.getApplicationCountsByStatus().get("APPLIED"));
+    }
+}
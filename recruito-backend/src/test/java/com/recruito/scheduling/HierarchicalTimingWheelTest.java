@@ -0,0 +1,95 @@
+package com.recruito.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final int WHEEL_SIZE = 8;
+    private static final int LEVELS = 3;
+
+    @Test
+    void timersFireOnTheirTickAcrossLevels() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, 0);
+        wheel.schedule("level 0", 300, "level 0");
+        wheel.schedule("level 1", 2_500, "level 1");
+        wheel.schedule("level 2", 40_000, "level 2");
+
+        assertTrue(wheel.advance(299).isEmpty());
+        assertEquals(List.of("level 0"), wheel.advance(300));
+        assertTrue(wheel.advance(2_499).isEmpty());
+        assertEquals(List.of("level 1"), wheel.advance(2_500));
+        assertTrue(wheel.advance(39_999).isEmpty());
+        assertEquals(List.of("level 2"), wheel.advance(40_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void oneAdvanceReturnsEverythingDueInDeadlineOrder() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, 0);
+        wheel.schedule("c", 9_000, "c");
+        wheel.schedule("a", 200, "a");
+        wheel.schedule("b", 1_700, "b");
+
+        assertEquals(List.of("a", "b", "c"), wheel.advance(10_000));
+    }
+
+    @Test
+    void cancelledAndReplacedTimersDoNotFire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, 0);
+        wheel.schedule("cancelled", 1_000, "cancelled");
+        wheel.schedule("moved", 1_000, "old time");
+        wheel.schedule("moved", 3_000, "new time");
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertEquals(1, wheel.size());
+
+        assertTrue(wheel.advance(2_000).isEmpty());
+        assertEquals(List.of("new time"), wheel.advance(3_000));
+    }
+
+    @Test
+    void overdueTimersFireOnTheNextTickAndFarOnesAreRefused() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, 10_000);
+        wheel.schedule("overdue", 5_000, "overdue");
+        assertEquals(List.of("overdue"), wheel.advance(10_100));
+
+        long horizon = wheel.horizonMillis();
+        assertTrue(wheel.schedule("edge", 10_100 + horizon, "edge"));
+        assertFalse(wheel.schedule("beyond", 10_100 + horizon + TICK, "beyond"));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void everyTimerFiresExactlyOnceOnItsTick() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, 0);
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = TICK + random.nextInt((int) wheel.horizonMillis());
+            deadlines.put("t" + i, deadline);
+            assertTrue(wheel.schedule("t" + i, deadline, deadline));
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= wheel.horizonMillis() + TICK; now += TICK) {
+            for (long deadline : wheel.advance(now)) {
+                // Due on the tick its deadline falls in, never before or after
+                assertEquals(now / TICK, deadline / TICK);
+                fired.add(deadline);
+            }
+        }
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
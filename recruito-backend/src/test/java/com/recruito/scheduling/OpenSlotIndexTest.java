@@ -0,0 +1,51 @@
+package com.recruito.scheduling;
+
+import com.recruito.dto.InterviewSlotDto;
+import com.recruito.model.InterviewSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OpenSlotIndexTest {
+
+    private static final String JOB_ID = "job";
+    private static final int SLOTS = 8;
+    private static final int OPERATIONS = 200_000;
+
+    @Test
+    void concurrentSyncAndRemoveKeepJobListInStep() {
+        OpenSlotIndex index = new OpenSlotIndex();
+        LocalDateTime startsAt = LocalDateTime.now().plusDays(1);
+
+        CompletableFuture<Void> syncing = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                index.sync(slot("slot-" + ThreadLocalRandom.current().nextInt(SLOTS), startsAt));
+            }
+        });
+        CompletableFuture<Void> removing = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                index.remove("slot-" + ThreadLocalRandom.current().nextInt(SLOTS));
+            }
+        });
+        CompletableFuture.allOf(syncing, removing).join();
+
+        List<InterviewSlotDto> listed = index.openSlots(JOB_ID, SLOTS * 2);
+        assertEquals(index.size(), listed.size());
+        assertEquals(listed.size(), listed.stream().map(InterviewSlotDto::getId).distinct().count());
+    }
+
+    private static InterviewSlot slot(String id, LocalDateTime startsAt) {
+        InterviewSlot slot = new InterviewSlot();
+        slot.setId(id);
+        slot.setJobId(JOB_ID);
+        slot.setRecruiterId("recruiter");
+        slot.setStartsAt(startsAt);
+        slot.setDurationMinutes(60);
+        return slot;
+    }
+}
@@ -0,0 +1,54 @@
+package com.recruito.screening;
+
+import com.recruito.model.Job;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeScorerTest {
+
+    // Title terms weigh 3, department 2 and description 1: java 3, sales 2, kubernetes 1
+    private final ResumeScorer scorer = new ResumeScorer(job("Java", "Sales", "Kubernetes"));
+
+    @Test
+    void unrelatedOrMissingResumesScoreZero() {
+        assertEquals(0, scorer.score(null));
+        assertEquals(0, scorer.score(""));
+        assertEquals(0, scorer.score("Pastry chef, croissants"));
+        assertEquals(0, new ResumeScorer(job(null, null, null)).score("Java"));
+    }
+
+    @Test
+    void termsCountByTheFieldTheyMatch() {
+        double title = scorer.score("Java");
+        double department = scorer.score("Sales");
+        double description = scorer.score("Kubernetes");
+
+        assertTrue(title > department);
+        assertTrue(department > description);
+        // One mention of every term covers each at the same saturation level
+        assertEquals(45.5, scorer.score("java, sales and kubernetes"));
+        // Stemming lines up inflected forms with the job's terms
+        assertEquals(scorer.score("Kubernetes"), scorer.score("kubernete"));
+    }
+
+    @Test
+    void repeatingAKeywordSaturates() {
+        double once = scorer.score("Java");
+        double often = scorer.score("java ".repeat(1000));
+
+        assertTrue(often > once);
+        // Never more than the title's share of the job's weight, 3 of 6
+        assertTrue(often < 50);
+        assertTrue(scorer.score("java ".repeat(1000) + "sales kubernetes") <= 100);
+    }
+
+    private static Job job(String title, String department, String description) {
+        Job job = new Job();
+        job.setTitle(title);
+        job.setDepartment(department);
+        job.setDescription(description);
+        return job;
+    }
+}
@@ -0,0 +1,102 @@
+package com.recruito.screening;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeTextExtractorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void plainTextIsReadAsIs() throws IOException {
+        Path file = Files.writeString(dir.resolve("resume.TXT"), "Java developer\nSpring Boot");
+
+        assertEquals("Java developer\nSpring Boot", ResumeTextExtractor.extract(file));
+    }
+
+    @Test
+    void wordParagraphsBecomeLines() throws IOException {
+        Path file = dir.resolve("resume.docx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+                    + "<w:p><w:r><w:t>Java</w:t></w:r><w:r><w:tab/><w:t xml:space=\"preserve\"> developer</w:t></w:r></w:p>"
+                    + "<w:p><w:r><w:rPr><w:b/></w:rPr><w:t>Spring &amp; Mongo</w:t></w:r></w:p>"
+                    + "</w:body></w:document>").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        assertEquals("Java\t developer\nSpring & Mongo\n", ResumeTextExtractor.extract(file));
+    }
+
+    @Test
+    void aZipWithoutADocumentBodyIsRejected() throws IOException {
+        Path file = dir.resolve("resume.docx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+            zip.closeEntry();
+        }
+
+        IOException rejected = assertThrows(IOException.class, () -> ResumeTextExtractor.extract(file));
+        assertEquals("Not a Word document", rejected.getMessage());
+    }
+
+    @Test
+    void pdfTextIsExtracted() throws IOException {
+        Path file = dir.resolve("resume.pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.newLineAtOffset(72, 700);
+                content.showText("Kubernetes and Java");
+                content.endText();
+            }
+            document.save(file.toFile());
+        }
+
+        assertEquals("Kubernetes and Java", ResumeTextExtractor.extract(file).trim());
+    }
+
+    @Test
+    void longTextIsTruncated() throws IOException {
+        Path file = Files.writeString(dir.resolve("resume.txt"), "a".repeat(ResumeTextExtractor.MAX_CHARS + 10));
+
+        assertEquals(ResumeTextExtractor.MAX_CHARS, ResumeTextExtractor.extract(file).length());
+    }
+
+    @Test
+    void unsupportedAndOversizedFilesAreRejected() throws IOException {
+        Path image = Files.writeString(dir.resolve("resume.png"), "not text");
+        assertTrue(assertThrows(IOException.class, () -> ResumeTextExtractor.extract(image))
+                .getMessage().startsWith("Unsupported resume format"));
+
+        Path large = dir.resolve("large.txt");
+        try (RandomAccessFile file = new RandomAccessFile(large.toFile(), "rw")) {
+            file.setLength(ResumeTextExtractor.MAX_FILE_BYTES + 1);
+        }
+        assertTrue(assertThrows(IOException.class, () -> ResumeTextExtractor.extract(large))
+                .getMessage().startsWith("Resume is larger than"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.recruito.search;
+
+import com.recruito.model.Job;
+import com.recruito.model.enums.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobSearchIndexTest {
+
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new JobSearchIndex();
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        index.index(job("description", "Engineer", "We use kafka every day", "Pune", JobStatus.PUBLISHED));
+        index.index(job("title", "Kafka Engineer", "Streaming platform", "Pune", JobStatus.PUBLISHED));
+        index.index(job("other", "Designer", "Figma", "Pune", JobStatus.PUBLISHED));
+
+        assertEquals(List.of("title", "description"), search("kafka engineer"));
+        assertEquals(List.of("title", "description"), search("kafka"));
+    }
+
+    @Test
+    void everyTermAndTheLocationMustMatch() {
+        index.index(job("pune", "Java Developer", "Spring", "Pune", JobStatus.PUBLISHED));
+        index.index(job("delhi", "Java Developer", "Spring", "Delhi", JobStatus.PUBLISHED));
+        index.index(job("python", "Python Developer", "Django", "Pune", JobStatus.PUBLISHED));
+        index.index(job("draft", "Java Developer", "Spring", "Pune", JobStatus.DRAFT));
+
+        JobSearchIndex.SearchResult result = index.search("java developer", "pune", JobStatus.PUBLISHED, 0, 10);
+        assertEquals(List.of("pune"), result.getJobIds());
+        assertEquals(1, result.getTotal());
+        assertTrue(search("java ruby").isEmpty());
+    }
+
+    @Test
+    void pagesFollowTheRanking() {
+        for (int i = 0; i < 5; i++) {
+            index.index(job("job-" + i, "Engineer " + "senior ".repeat(i), "Backend", "Pune", JobStatus.PUBLISHED));
+        }
+
+        List<String> all = search("engineer");
+        JobSearchIndex.SearchResult second = index.search("engineer", null, null, 2, 2);
+        assertEquals(all.subList(2, 4), second.getJobIds());
+        assertEquals(5, second.getTotal());
+    }
+
+    @Test
+    void tombstonedCopiesDoNotCountTowardsTermRarity() {
+        // "alpha" is rarer than "beta", so the job weighting alpha in its title ranks first
+        index.index(job("alpha-heavy", "Alpha", "Beta", "Pune", JobStatus.PUBLISHED));
+        index.index(job("beta-heavy", "Beta", "Alpha", "Pune", JobStatus.PUBLISHED));
+        index.index(job("beta-only", "Beta", "Ops", "Pune", JobStatus.PUBLISHED));
+        for (int i = 0; i < 40; i++) {
+            index.index(job("filler-" + i, "Designer", "Figma", "Pune", JobStatus.PUBLISHED));
+        }
+        assertEquals(List.of("alpha-heavy", "beta-heavy"), search("alpha beta"));
+
+        // Repeated edits and a delete leave many tombstoned alpha postings behind
+        for (int i = 0; i < 30; i++) {
+            index.index(job("edited", "Alpha Alpha", "Alpha", "Pune", JobStatus.PUBLISHED));
+        }
+        index.remove("edited");
+
+        assertEquals(List.of("alpha-heavy", "beta-heavy"), search("alpha beta"));
+        assertTrue(search("alpha alpha").stream().noneMatch("edited"::equals));
+        assertEquals(2, index.search("alpha", null, null, 0, 10).getTotal());
+    }
+
+    private List<String> search(String text) {
+        return index.search(text, null, null, 0, 10).getJobIds();
+    }
+
+    private static Job job(String id, String title, String description, String location, JobStatus status) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(title);
+        job.setDescription(description);
+        job.setLocation(location);
+        job.setStatus(status);
+        return job;
+    }
+}
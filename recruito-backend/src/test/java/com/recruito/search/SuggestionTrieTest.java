@@ -0,0 +1,85 @@
+package com.recruito.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+        for (String phrase : List.of("java developer", "java architect", "javascript engineer", "python developer")) {
+            trie.add(phrase, phrase, true);
+        }
+    }
+
+    @Test
+    void prefixMatchesNeedNoEdits() {
+        assertEquals(Map.of("java architect", 0, "java developer", 0, "javascript engineer", 0), search("java", 0));
+        assertEquals(Map.of("java developer", 0), search("java dev", 1));
+    }
+
+    @Test
+    void oneEditOfTypoDistanceIsTolerated() {
+        Map<String, Integer> allJava = Map.of("java architect", 1, "java developer", 1, "javascript engineer", 1);
+        assertEquals(allJava, search("jaba", 1)); // substituted
+        assertEquals(allJava, search("jva", 1)); // missing
+        assertEquals(allJava, search("jaava", 1)); // extra
+        assertEquals(Map.of("python developer", 1), search("pyton", 1));
+    }
+
+    @Test
+    void matchesBeyondTheEditBudgetAreDropped() {
+        assertTrue(search("jxxa", 1).isEmpty());
+        assertTrue(search("jaba", 0).isEmpty());
+        // A transposition is two edits
+        assertTrue(search("pyhton", 1).isEmpty());
+    }
+
+    @Test
+    void removingTheLastReferenceDropsThePhrase() {
+        trie.add("java architect", "Java Architect", true);
+        trie.remove("java architect");
+        assertEquals(0, search("java arch", 0).get("java architect"));
+
+        trie.remove("java architect");
+        trie.remove("javascript engineer");
+        assertEquals(Map.of("java developer", 0), search("java", 0));
+        // The pruned trie still matches through the re-merged edge
+        assertEquals(Map.of("java developer", 1), search("javas", 1));
+    }
+
+    @Test
+    void eachNodeKeepsTheMostFrequentPhrases() {
+        SuggestionTrie ranked = new SuggestionTrie();
+        int phrases = SuggestionTrie.TOP_K + 2;
+        for (int i = 0; i < phrases; i++) {
+            String phrase = "a" + (char) ('a' + i);
+            for (int count = 0; count <= i; count++) {
+                ranked.add(phrase, phrase, false);
+            }
+        }
+        ranked.rebuildTop();
+
+        Map<SuggestionTrie.Entry, Integer> matches = ranked.search("a", 0);
+        assertEquals(SuggestionTrie.TOP_K, matches.size());
+        for (SuggestionTrie.Entry entry : matches.keySet()) {
+            assertTrue(entry.count > 2, entry.key);
+        }
+    }
+
+    private Map<String, Integer> search(String query, int maxEdits) {
+        Map<String, Integer> matches = new TreeMap<>();
+        trie.search(query, maxEdits).forEach((entry, edits) -> matches.put(entry.key, edits));
+        return matches;
+    }
+}
@@ -0,0 +1,110 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.config.MongoIndexInitializer;
+import com.recruito.dto.ApplicationCreateRequest;
+import com.recruito.migration.ApplicationUniqueIndexMigration;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+class ApplicationApplyOnceTest extends MongoIntegrationTest {
+
+    private static final int SUBMITS = 16;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationUniqueIndexMigration applicationUniqueIndexMigration;
+
+    @Autowired
+    private MongoIndexInitializer mongoIndexInitializer;
+
+    @Test
+    void concurrentDuplicateSubmitsCreateOneApplication() throws Exception {
+        Job job = publishedJob(user(Role.RECRUITER).getId());
+        String candidateId = user(Role.CANDIDATE).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(SUBMITS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> submits = new ArrayList<>();
+        for (int i = 0; i < SUBMITS; i++) {
+            submits.add(pool.submit(() -> {
+                start.await();
+                ApplicationCreateRequest request = new ApplicationCreateRequest();
+                request.setJobId(job.getId());
+                return applicationService.createApplication(request, candidateId);
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        int rejected = 0;
+        for (Future<?> submit : submits) {
+            try {
+                submit.get(30, TimeUnit.SECONDS);
+                created++;
+            } catch (ExecutionException e) {
+                assertEquals("You have already applied for this job", e.getCause().getMessage());
+                rejected++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(SUBMITS - 1, rejected);
+        assertEquals(1, mongoTemplate.count(
+                query(where("jobId").is(job.getId()).and("candidateId").is(candidateId)), Application.class));
+        assertEquals(1L, mongoTemplate.findById(job.getId(), Job.class).getApplicationCount());
+    }
+
+    @Test
+    void migrationMovesDuplicatesAsideAndBuildsTheUniqueIndex() {
+        mongoIndexInitializer.ensureIndexes().join();
+        mongoTemplate.getCollection("applications").dropIndex("jobId_candidateId");
+
+        String jobId = new ObjectId().toHexString();
+        String candidateId = new ObjectId().toHexString();
+        ObjectId kept = new ObjectId();
+        ObjectId duplicate = new ObjectId();
+        mongoTemplate.getCollection("applications").insertMany(List.of(
+                new Document("_id", kept).append("jobId", jobId).append("candidateId", candidateId),
+                new Document("_id", duplicate).append("jobId", jobId).append("candidateId", candidateId)));
+
+        applicationUniqueIndexMigration.migrate();
+
+        List<Object> remaining = mongoTemplate.getCollection("applications")
+                .distinct("_id", new Document("jobId", jobId), Object.class).into(new ArrayList<>());
+        assertEquals(List.of(kept), remaining);
+        assertEquals(1, mongoTemplate.getCollection("applications_duplicates")
+                .countDocuments(new Document("_id", duplicate)));
+        assertTrue(applicationUniqueIndexMigration.isReady());
+
+        boolean unique = false;
+        for (Document index : mongoTemplate.getCollection("applications").listIndexes()) {
+            if ("jobId_candidateId".equals(index.getString("name"))) {
+                unique = Boolean.TRUE.equals(index.getBoolean("unique"));
+            }
+        }
+        assertTrue(unique);
+    }
+}
@@ -0,0 +1,84 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.ApplicationBulkStatusResult;
+import com.recruito.dto.ApplicationStatusResult;
+import com.recruito.model.Application;
+import com.recruito.model.ApplicationStatusEvent;
+import com.recruito.model.Job;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.model.enums.Role;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+class ApplicationBulkStatusTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Test
+    void eachApplicationGetsItsOwnOutcome() {
+        String recruiterId = user(Role.RECRUITER).getId();
+        Job job = publishedJob(recruiterId);
+        Job otherJob = publishedJob(user(Role.RECRUITER).getId());
+
+        Application first = application(job, recruiterId, ApplicationStatus.APPLIED);
+        // Not yet backfilled with recruiterId: ownership is checked through the job
+        Application legacy = application(job, null, ApplicationStatus.APPLIED);
+        Application already = application(job, recruiterId, ApplicationStatus.SHORTLISTED);
+        Application foreign = application(otherJob, otherJob.getRecruiterId(), ApplicationStatus.APPLIED);
+        String missing = new ObjectId().toHexString();
+
+        ApplicationBulkStatusResult result = applicationService.bulkUpdateApplicationStatus(
+                List.of(first.getId(), legacy.getId(), already.getId(), foreign.getId(), missing, first.getId()),
+                ApplicationStatus.SHORTLISTED, recruiterId);
+
+        // Duplicate ids are handled once, in request order
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getUpdated());
+        assertEquals(2, result.getFailed());
+        List<ApplicationStatusResult> outcomes = result.getResults();
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals(ApplicationStatus.APPLIED, outcomes.get(0).getPreviousStatus());
+        assertTrue(outcomes.get(1).isSuccess());
+        assertTrue(outcomes.get(2).isSuccess());
+        assertEquals(ApplicationStatus.SHORTLISTED, outcomes.get(2).getPreviousStatus());
+        assertFalse(outcomes.get(3).isSuccess());
+        assertEquals("Unauthorized to update this application", outcomes.get(3).getError());
+        assertFalse(outcomes.get(4).isSuccess());
+        assertNull(outcomes.get(4).getPreviousStatus());
+
+        assertEquals(ApplicationStatus.SHORTLISTED, stored(first).getStatus());
+        assertEquals(ApplicationStatus.SHORTLISTED, stored(legacy).getStatus());
+        assertEquals(ApplicationStatus.APPLIED, stored(foreign).getStatus());
+
+        // Only real transitions leave history and move the job's counters
+        assertEquals(1, mongoTemplate.count(query(where("applicationId").is(first.getId())), ApplicationStatusEvent.class));
+        assertEquals(0, mongoTemplate.count(query(where("applicationId").is(already.getId())), ApplicationStatusEvent.class));
+        Job counted = mongoTemplate.findById(job.getId(), Job.class);
+        assertEquals(2L, counted.getApplicationCountsByStatus().get(ApplicationStatus.SHORTLISTED.name()));
+    }
+
+    private Application application(Job job, String recruiterId, ApplicationStatus status) {
+        Application application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(user(Role.CANDIDATE).getId());
+        application.setRecruiterId(recruiterId);
+        application.setStatus(status);
+        return mongoTemplate.insert(application);
+    }
+
+    private Application stored(Application application) {
+        return mongoTemplate.findById(application.getId(), Application.class);
+    }
+}
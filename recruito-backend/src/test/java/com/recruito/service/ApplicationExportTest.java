@@ -0,0 +1,127 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.User;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationExportTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ApplicationExportService applicationExportService;
+
+    private String recruiterId;
+    private Job job;
+    private User candidate;
+    private User otherCandidate;
+    private Application plain;
+    private Application tricky;
+
+    @BeforeEach
+    void setUp() {
+        recruiterId = user(Role.RECRUITER).getId();
+        job = publishedJob(recruiterId);
+        candidate = user(Role.CANDIDATE);
+        otherCandidate = user(Role.CANDIDATE);
+
+        plain = application(candidate, "Looking forward to it");
+        // Quotes, a comma, a line break and a leading formula character, and XML markup for the sheet
+        tricky = application(otherCandidate, "=HYPERLINK(\"x\"), <b>bold</b> & \"more\"\nsecond line");
+    }
+
+    @Test
+    void csvHasTheHeaderAndOneEscapedRowPerApplication() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        applicationExportService.export(job, ApplicationExportService.Format.CSV, out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertTrue(csv.startsWith("\uFEFFApplication ID,Job Title,Candidate Name,Candidate Email,Status,"
+                + "Applied At,Updated At,Resume URL,Cover Letter\r\n"));
+        assertTrue(csv.contains(plain.getId() + ",Backend Engineer," + name(candidate) + "," + candidate.getEmail()
+                + ",APPLIED," + plain.getCreatedAt() + "," + plain.getUpdatedAt() + ",,Looking forward to it\r\n"));
+        assertTrue(csv.endsWith(tricky.getId() + ",Backend Engineer," + name(otherCandidate) + ","
+                + otherCandidate.getEmail() + ",APPLIED," + tricky.getCreatedAt() + "," + tricky.getUpdatedAt() + ",,"
+                + "\"'=HYPERLINK(\"\"x\"\"), <b>bold</b> & \"\"more\"\"\nsecond line\"\r\n"));
+        assertEquals(3, csv.split("\r\n", -1).length - 1);
+        // In applied order
+        assertTrue(csv.indexOf(plain.getId()) < csv.indexOf(tricky.getId()));
+    }
+
+    @Test
+    void xlsxIsAWorkbookWithEscapedInlineCells() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        applicationExportService.export(job, ApplicationExportService.Format.XLSX, out);
+        Map<String, String> entries = unzip(out.toByteArray());
+
+        assertTrue(entries.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels",
+                "xl/workbook.xml", "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml")));
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+        assertEquals(3, sheet.split("<row>", -1).length - 1);
+        assertTrue(sheet.contains(cell("Cover Letter")));
+        assertTrue(sheet.contains(cell(plain.getId())));
+        assertTrue(sheet.contains(cell("'=HYPERLINK(&quot;x&quot;), &lt;b&gt;bold&lt;/b&gt; &amp; &quot;more&quot;"
+                + "\nsecond line")));
+        // The missing resume URL is an empty cell rather than text
+        assertTrue(sheet.contains(cell(plain.getUpdatedAt().toString()) + "<c/>" + cell("Looking forward to it")));
+    }
+
+    @Test
+    void onlyTheOwningRecruiterCanExport() {
+        assertEquals(job.getId(), applicationExportService.getExportableJob(job.getId(), recruiterId).getId());
+
+        String otherRecruiterId = user(Role.RECRUITER).getId();
+        RuntimeException denied = assertThrows(RuntimeException.class,
+                () -> applicationExportService.getExportableJob(job.getId(), otherRecruiterId));
+        assertEquals("Unauthorized to export applications for this job", denied.getMessage());
+    }
+
+    // Read back, so the audit timestamps carry the precision the export sees
+    private Application application(User applicant, String coverLetter) {
+        Application application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(applicant.getId());
+        application.setRecruiterId(recruiterId);
+        application.setStatus(ApplicationStatus.APPLIED);
+        application.setCoverLetter(coverLetter);
+        String id = mongoTemplate.insert(application).getId();
+        return mongoTemplate.findById(id, Application.class);
+    }
+
+    private static String name(User user) {
+        return user.getFirstName() + " " + user.getLastName();
+    }
+
+    private static String cell(String escaped) {
+        return "<c t=\"inlineStr\"><is><t xml:space=\"preserve\">" + escaped + "</t></is></c>";
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,78 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.ApplicationDto;
+import com.recruito.dto.ApplicationPipelineDto;
+import com.recruito.dto.CursorPage;
+import com.recruito.dto.PipelineColumnDto;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.User;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.model.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationPipelineTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Test
+    void boardCountsEveryColumnAndPagesItsCards() {
+        String recruiterId = user(Role.RECRUITER).getId();
+        Job job = publishedJob(recruiterId);
+        for (int i = 0; i < 3; i++) {
+            application(job, ApplicationStatus.APPLIED);
+        }
+        application(job, ApplicationStatus.HIRED);
+
+        ApplicationPipelineDto board = applicationService.getPipeline(job.getId(), recruiterId, 2);
+
+        assertEquals(ApplicationStatus.values().length, board.getColumns().size());
+        assertEquals(4, board.getTotal());
+        PipelineColumnDto applied = board.getColumns().get(ApplicationStatus.APPLIED.ordinal());
+        assertEquals(3, applied.getCount());
+        assertEquals(2, applied.getCards().size());
+        assertTrue(applied.isHasNext());
+        // Candidates are joined in by the same aggregation
+        assertEquals("Test CANDIDATE", applied.getCards().get(0).getCandidateName());
+        PipelineColumnDto hired = board.getColumns().get(ApplicationStatus.HIRED.ordinal());
+        assertEquals(1, hired.getCount());
+        assertFalse(hired.isHasNext());
+        assertEquals(0, board.getColumns().get(ApplicationStatus.REJECTED.ordinal()).getCount());
+
+        CursorPage<ApplicationDto> rest = applicationService.getPipelineColumn(job.getId(), ApplicationStatus.APPLIED,
+                recruiterId, applied.getNextCursor(), 2);
+        assertEquals(1, rest.getContent().size());
+        assertFalse(rest.isHasNext());
+        Set<String> seen = new HashSet<>();
+        applied.getCards().forEach(card -> seen.add(card.getId()));
+        assertTrue(seen.add(rest.getContent().get(0).getId()));
+    }
+
+    @Test
+    void onlyTheJobsRecruiterSeesTheBoard() {
+        Job job = publishedJob(user(Role.RECRUITER).getId());
+        String otherRecruiterId = user(Role.RECRUITER).getId();
+        assertThrows(RuntimeException.class, () -> applicationService.getPipeline(job.getId(), otherRecruiterId, 10));
+    }
+
+    private void application(Job job, ApplicationStatus status) {
+        User candidate = user(Role.CANDIDATE);
+        Application application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(candidate.getId());
+        application.setRecruiterId(job.getRecruiterId());
+        application.setStatus(status);
+        mongoTemplate.insert(application);
+    }
+}
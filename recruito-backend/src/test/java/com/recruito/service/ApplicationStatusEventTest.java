@@ -0,0 +1,130 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.ApplicationCreateRequest;
+import com.recruito.dto.ApplicationStatusEventDto;
+import com.recruito.dto.CursorPage;
+import com.recruito.model.Application;
+import com.recruito.model.ApplicationStatusEvent;
+import com.recruito.model.Job;
+import com.recruito.model.enums.ApplicationStatus;
+import com.recruito.model.enums.Role;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationStatusEventTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationStatusEventService applicationStatusEventService;
+
+    private String recruiterId;
+    private String candidateId;
+    private String applicationId;
+
+    @BeforeEach
+    void setUp() {
+        // Events are released to the feed at once instead of after the settle window
+        ReflectionTestUtils.setField(applicationStatusEventService, "feedSettleSeconds", -1L);
+        recruiterId = user(Role.RECRUITER).getId();
+        candidateId = user(Role.CANDIDATE).getId();
+        Job job = publishedJob(recruiterId);
+        ApplicationCreateRequest request = new ApplicationCreateRequest();
+        request.setJobId(job.getId());
+        applicationId = applicationService.createApplication(request, candidateId).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(applicationStatusEventService, "feedSettleSeconds", 5L);
+    }
+
+    @Test
+    void timelineListsEveryTransitionWithTimeInStage() {
+        applicationService.updateApplicationStatus(applicationId, ApplicationStatus.SHORTLISTED, recruiterId);
+        applicationService.updateApplicationStatus(applicationId, ApplicationStatus.HIRED, recruiterId);
+
+        List<ApplicationStatusEventDto> timeline = applicationService.getApplicationTimeline(applicationId, candidateId);
+        assertEquals(List.of(ApplicationStatus.APPLIED, ApplicationStatus.SHORTLISTED, ApplicationStatus.HIRED),
+                timeline.stream().map(ApplicationStatusEventDto::getToStatus).collect(Collectors.toList()));
+        assertNull(timeline.get(0).getFromStatus());
+        assertEquals(candidateId, timeline.get(0).getActorId());
+        assertEquals(ApplicationStatus.APPLIED, timeline.get(1).getFromStatus());
+        assertNotNull(timeline.get(0).getSecondsInStage());
+        assertNull(timeline.get(2).getSecondsInStage());
+
+        // Written events leave nothing pending on the application
+        Application stored = mongoTemplate.findById(applicationId, Application.class);
+        assertTrue(stored.getPendingStatusChanges() == null || stored.getPendingStatusChanges().isEmpty());
+    }
+
+    @Test
+    void feedPagesForwardFromTheCursor() {
+        String start = new ObjectId().toHexString();
+        applicationService.updateApplicationStatus(applicationId, ApplicationStatus.SHORTLISTED, recruiterId);
+        applicationService.updateApplicationStatus(applicationId, ApplicationStatus.REJECTED, recruiterId);
+
+        // The database is shared with other tests, so only this application's events are compared
+        List<ApplicationStatus> seen = new ArrayList<>();
+        String cursor = start;
+        for (int i = 0; i < 1000; i++) {
+            CursorPage<ApplicationStatusEventDto> page = applicationStatusEventService.getFeed(cursor, 1);
+            page.getContent().stream()
+                    .filter(event -> applicationId.equals(event.getApplicationId()))
+                    .forEach(event -> seen.add(event.getToStatus()));
+            cursor = page.getNextCursor();
+            if (!page.isHasNext()) {
+                break;
+            }
+        }
+        assertEquals(List.of(ApplicationStatus.SHORTLISTED, ApplicationStatus.REJECTED), seen);
+
+        // Polling again from the last cursor returns nothing new and keeps the cursor
+        CursorPage<ApplicationStatusEventDto> empty = applicationStatusEventService.getFeed(cursor, 10);
+        assertTrue(empty.getContent().stream().noneMatch(event -> applicationId.equals(event.getApplicationId())));
+        assertNotNull(empty.getNextCursor());
+    }
+
+    @Test
+    void catchUpAppendsEveryLostTransition() {
+        // Two quick transitions whose event inserts were both lost (status written, record never called)
+        Application application = mongoTemplate.findById(applicationId, Application.class);
+        ApplicationStatusEvent shortlisted = applicationStatusEventService.transition(application,
+                ApplicationStatus.APPLIED, ApplicationStatus.SHORTLISTED, recruiterId);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(applicationId)),
+                applicationStatusEventService.statusUpdate(shortlisted, LocalDateTime.now()), Application.class);
+        ApplicationStatusEvent hired = applicationStatusEventService.transition(application,
+                ApplicationStatus.SHORTLISTED, ApplicationStatus.HIRED, recruiterId);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(applicationId)),
+                applicationStatusEventService.statusUpdate(hired, LocalDateTime.now()), Application.class);
+
+        applicationStatusEventService.catchUp();
+
+        List<ApplicationStatusEventDto> timeline = applicationService.getApplicationTimeline(applicationId, candidateId);
+        assertEquals(List.of(ApplicationStatus.APPLIED, ApplicationStatus.SHORTLISTED, ApplicationStatus.HIRED),
+                timeline.stream().map(ApplicationStatusEventDto::getToStatus).collect(Collectors.toList()));
+        assertTrue(mongoTemplate.findById(applicationId, Application.class).getPendingStatusChanges().isEmpty());
+
+        // A second pass appends nothing twice
+        applicationStatusEventService.catchUp();
+        assertEquals(3, applicationService.getApplicationTimeline(applicationId, candidateId).size());
+    }
+}
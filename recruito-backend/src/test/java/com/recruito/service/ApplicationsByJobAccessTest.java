@@ -0,0 +1,59 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ApplicationsByJobAccessTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    private String recruiterId;
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        recruiterId = user(Role.RECRUITER).getId();
+        job = publishedJob(recruiterId);
+        Application application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(user(Role.CANDIDATE).getId());
+        application.setRecruiterId(recruiterId);
+        application.setMatchScore(80.0);
+        mongoTemplate.insert(application);
+    }
+
+    @Test
+    void theOwningRecruiterAndAdminsListApplicants() {
+        assertEquals(1, applicationService.getApplicationsByJob(job.getId(), recruiterId, false,
+                PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, applicationService.getApplicationsByJobAfter(job.getId(), recruiterId, false, null, 10)
+                .getContent().size());
+
+        String adminId = user(Role.ADMIN).getId();
+        assertEquals(1, applicationService.getApplicationsByJob(job.getId(), adminId, true,
+                PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void otherUsersCannotListApplicants() {
+        String otherRecruiterId = user(Role.RECRUITER).getId();
+        RuntimeException denied = assertThrows(RuntimeException.class,
+                () -> applicationService.getApplicationsByJob(job.getId(), otherRecruiterId, false,
+                        PageRequest.of(0, 10)));
+        assertEquals("Unauthorized to view applications for this job", denied.getMessage());
+
+        String candidateId = user(Role.CANDIDATE).getId();
+        assertThrows(RuntimeException.class,
+                () -> applicationService.getApplicationsByJobAfter(job.getId(), candidateId, false, null, 10));
+    }
+}
@@ -0,0 +1,96 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.model.Application;
+import com.recruito.model.Interview;
+import com.recruito.model.Job;
+import com.recruito.model.User;
+import com.recruito.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A page of DTOs must cost the same handful of Mongo commands whatever its size: one for the page and one
+// $in lookup per referenced collection, never one per row.
+class HydrationCommandCountTest extends MongoIntegrationTest {
+
+    private static final int ROWS = 50;
+    private static final int MAX_COMMANDS = 3;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    private String recruiterId;
+
+    @BeforeEach
+    void setUp() {
+        recruiterId = user(Role.RECRUITER).getId();
+        List<User> candidates = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            candidates.add(user(Role.CANDIDATE));
+        }
+
+        List<Application> applications = new ArrayList<>();
+        List<Interview> interviews = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Job job = publishedJob(recruiterId);
+            User candidate = candidates.get(i % candidates.size());
+
+            Application application = new Application();
+            application.setJobId(job.getId());
+            application.setCandidateId(candidate.getId());
+            application.setRecruiterId(recruiterId);
+            applications.add(application);
+
+            Interview interview = new Interview();
+            interview.setApplicationId("application-" + i + "-" + recruiterId);
+            interview.setCandidateId(candidate.getId());
+            interview.setRecruiterId(recruiterId);
+            interview.setScheduledAt(LocalDateTime.now().plusDays(1).plusHours(i));
+            interviews.add(interview);
+        }
+        mongoTemplate.insert(applications, Application.class);
+        mongoTemplate.insert(interviews, Interview.class);
+    }
+
+    @Test
+    void jobPagesDoNotQueryPerRow() {
+        assertConstantCommands(size -> jobService.getJobsByRecruiterAfter(recruiterId, null, size).getSize());
+    }
+
+    @Test
+    void applicationPagesDoNotQueryPerRow() {
+        assertConstantCommands(size ->
+                applicationService.getApplicationsByRecruiterAfter(recruiterId, null, size).getSize());
+    }
+
+    @Test
+    void interviewPagesDoNotQueryPerRow() {
+        assertConstantCommands(size ->
+                interviewService.getInterviewsByRecruiterAfter(recruiterId, null, size).getSize());
+    }
+
+    private interface PageLoad {
+        int load(int size);
+    }
+
+    private void assertConstantCommands(PageLoad pageLoad) {
+        List<String> small = mongoCommandCounter.record(() -> assertEquals(5, pageLoad.load(5)));
+        List<String> full = mongoCommandCounter.record(() -> assertEquals(ROWS, pageLoad.load(ROWS)));
+        assertEquals(small, full);
+        assertTrue(full.size() <= MAX_COMMANDS, "Commands sent: " + full);
+    }
+}
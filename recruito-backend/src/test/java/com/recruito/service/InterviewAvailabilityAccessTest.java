@@ -0,0 +1,60 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.model.Application;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InterviewAvailabilityAccessTest extends MongoIntegrationTest {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    private String recruiterId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @BeforeEach
+    void setUp() {
+        recruiterId = user(Role.RECRUITER).getId();
+        from = LocalDateTime.now().plusDays(1);
+        to = from.plusDays(7);
+    }
+
+    @Test
+    void recruitersAndAdminsSeeAvailability() {
+        assertDoesNotThrow(() -> interviewService.getAvailability(recruiterId, recruiterId, false, from, to, 30));
+        String adminId = user(Role.ADMIN).getId();
+        assertDoesNotThrow(() -> interviewService.getAvailability(recruiterId, adminId, true, from, to, 30));
+    }
+
+    @Test
+    void candidatesNeedAnApplicationToTheRecruitersJobs() {
+        String candidateId = user(Role.CANDIDATE).getId();
+        RuntimeException denied = assertThrows(RuntimeException.class,
+                () -> interviewService.getAvailability(recruiterId, candidateId, false, from, to, 30));
+        assertEquals("Unauthorized to view this recruiter's availability", denied.getMessage());
+
+        // Another recruiter is no different from a candidate who has not applied
+        String otherRecruiterId = user(Role.RECRUITER).getId();
+        assertThrows(RuntimeException.class,
+                () -> interviewService.getAvailability(recruiterId, otherRecruiterId, false, from, to, 30));
+
+        Job job = publishedJob(recruiterId);
+        Application application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(candidateId);
+        application.setRecruiterId(recruiterId);
+        mongoTemplate.insert(application);
+        assertDoesNotThrow(() -> interviewService.getAvailability(recruiterId, candidateId, false, from, to, 30));
+    }
+}
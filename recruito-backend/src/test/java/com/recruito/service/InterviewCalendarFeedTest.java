@@ -0,0 +1,166 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.model.Interview;
+import com.recruito.model.User;
+import com.recruito.model.enums.InterviewResponseStatus;
+import com.recruito.model.enums.Role;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+class InterviewCalendarFeedTest extends MongoIntegrationTest {
+
+    private static final Pattern UID = Pattern.compile("\r\nUID:([0-9a-f]{24})@recruito\r\n");
+
+    @Autowired
+    private InterviewCalendarService interviewCalendarService;
+
+    private String recruiterId;
+    private User candidate;
+    private String feedToken;
+
+    @BeforeEach
+    void setUp() {
+        recruiterId = user(Role.RECRUITER).getId();
+        candidate = user(Role.CANDIDATE);
+        feedToken = interviewCalendarService.createFeedToken(recruiterId);
+    }
+
+    @Test
+    void thePlainFeedIsTheRecentAndUpcomingWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        Interview old = interview(now.minusDays(40));
+        Interview upcoming = interview(now.plusDays(1));
+        Interview farAhead = interview(now.plusDays(200));
+        insert(List.of(old, upcoming, farAhead));
+
+        InterviewCalendarService.CalendarFeed feed = interviewCalendarService.getFeed(feedToken, null, null, false);
+
+        assertEquals(List.of(upcoming.getId()), uids(feed.getIcs()));
+        assertTrue(feed.getIcs().startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(feed.getIcs().endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+        assertTrue(feed.getIcs().contains("\r\nSUMMARY:Interview with Test CANDIDATE\r\n"));
+        assertTrue(feed.getIcs().contains("\r\nLOCATION:Room 1\\, floor 2\r\n"));
+        assertTrue(feed.getIcs().contains("\r\nSTATUS:TENTATIVE\r\n"));
+        assertNotNull(feed.getSyncToken());
+        assertNull(feed.getNextPageToken());
+    }
+
+    @Test
+    void aPagedFullSyncHandsOutTheSyncTokenOnTheLastPage() {
+        List<Interview> interviews = new ArrayList<>();
+        LocalDateTime first = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 1001; i++) {
+            // The paged sync is not bounded by the plain feed's horizon
+            interviews.add(interview(first.plusHours(i)));
+        }
+        insert(interviews);
+
+        InterviewCalendarService.CalendarFeed page = interviewCalendarService.getFeed(feedToken, null, null, true);
+        assertNull(page.getSyncToken());
+        assertNotNull(page.getNextPageToken());
+        assertTrue(page.getIcs().contains("X-RECRUITO-NEXT-PAGE-TOKEN:"));
+        List<String> seen = new ArrayList<>(uids(page.getIcs()));
+        assertEquals(1000, seen.size());
+
+        page = interviewCalendarService.getFeed(feedToken, null, page.getNextPageToken(), true);
+        assertNotNull(page.getSyncToken());
+        assertNull(page.getNextPageToken());
+        seen.addAll(uids(page.getIcs()));
+
+        assertEquals(1001, seen.size());
+        assertEquals(1001, new HashSet<>(seen).size());
+        Set<String> expected = interviews.stream().map(Interview::getId).collect(Collectors.toSet());
+        assertEquals(expected, new HashSet<>(seen));
+    }
+
+    @Test
+    void anIncrementalSyncReturnsOnlySettledChanges() throws InterruptedException {
+        Interview kept = interview(LocalDateTime.now().plusDays(1));
+        Interview declined = interview(LocalDateTime.now().plusDays(2));
+        Interview justEdited = interview(LocalDateTime.now().plusDays(3));
+        insert(List.of(kept, declined, justEdited));
+
+        String syncToken = interviewCalendarService.getFeed(feedToken, null, null, true).getSyncToken();
+        assertNotNull(syncToken);
+
+        // After the token's watermark; settled by the time of the next sync
+        mongoTemplate.updateFirst(query(where("id").is(declined.getId())), new Update()
+                .set("candidateResponseStatus", InterviewResponseStatus.REJECTED)
+                .set("updatedAt", LocalDateTime.now().minusSeconds(4)), Interview.class);
+        Thread.sleep(1100);
+        // Too recent to be handed out yet
+        mongoTemplate.updateFirst(query(where("id").is(justEdited.getId())),
+                new Update().set("updatedAt", LocalDateTime.now()), Interview.class);
+
+        InterviewCalendarService.CalendarFeed changes =
+                interviewCalendarService.getFeed(feedToken, syncToken, null, false);
+        assertEquals(List.of(declined.getId()), uids(changes.getIcs()));
+        assertTrue(changes.getIcs().contains("\r\nSTATUS:CANCELLED\r\n"));
+        assertNotNull(changes.getSyncToken());
+
+        // Nothing new has settled since
+        assertEquals(List.of(), uids(interviewCalendarService.getFeed(feedToken, changes.getSyncToken(), null, false)
+                .getIcs()));
+    }
+
+    @Test
+    void badTokensAreRejected() {
+        assertEquals("Calendar feed not found", assertThrows(RuntimeException.class,
+                () -> interviewCalendarService.getFeed("unknown", null, null, false)).getMessage());
+        assertEquals("Invalid sync token", assertThrows(RuntimeException.class,
+                () -> interviewCalendarService.getFeed(feedToken, "bm90LWEtdG9rZW4", null, false)).getMessage());
+        assertEquals("Invalid page token", assertThrows(RuntimeException.class,
+                () -> interviewCalendarService.getFeed(feedToken, null, "bm90LWEtdG9rZW4", true)).getMessage());
+        String syncToken = interviewCalendarService.getFeed(feedToken, null, null, false).getSyncToken();
+        assertEquals("Pass either syncToken or pageToken, not both", assertThrows(RuntimeException.class,
+                () -> interviewCalendarService.getFeed(feedToken, syncToken, "x", false)).getMessage());
+    }
+
+    private Interview interview(LocalDateTime scheduledAt) {
+        Interview interview = new Interview();
+        interview.setApplicationId(new ObjectId().toHexString());
+        interview.setCandidateId(candidate.getId());
+        interview.setRecruiterId(recruiterId);
+        interview.setScheduledAt(scheduledAt);
+        interview.setDurationMinutes(45);
+        interview.setLocation("Room 1, floor 2");
+        return interview;
+    }
+
+    // Stamped an hour back, so they are all settled and behind any sync token handed out in the test
+    private void insert(List<Interview> interviews) {
+        mongoTemplate.insertAll(interviews);
+        mongoTemplate.updateMulti(query(where("recruiterId").is(recruiterId)),
+                new Update().set("updatedAt", LocalDateTime.now().minusHours(1)), Interview.class);
+    }
+
+    private static List<String> uids(String ics) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = UID.matcher(ics);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,129 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.InterviewCreateRequest;
+import com.recruito.dto.InterviewDto;
+import com.recruito.model.Application;
+import com.recruito.model.Interview;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import com.recruito.scheduling.RecruiterAvailabilityIndex;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+class InterviewScheduleOnceTest extends MongoIntegrationTest {
+
+    private static final int SUBMITS = 8;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private RecruiterAvailabilityIndex availabilityIndex;
+
+    private String recruiterId;
+    private Application application;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        recruiterId = user(Role.RECRUITER).getId();
+        Job job = publishedJob(recruiterId);
+        application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(user(Role.CANDIDATE).getId());
+        application.setRecruiterId(recruiterId);
+        application = mongoTemplate.insert(application);
+        day = LocalDate.now().plusDays(5);
+    }
+
+    @Test
+    void aSecondInterviewForTheApplicationIsRejected() {
+        InterviewDto first = interviewService.scheduleInterview(request(day.atTime(9, 0)), recruiterId, false);
+
+        RuntimeException rejected = assertThrows(RuntimeException.class,
+                () -> interviewService.scheduleInterview(request(day.atTime(14, 0)), recruiterId, false));
+        assertEquals("Interview already scheduled for this application", rejected.getMessage());
+
+        List<Interview> interviews = mongoTemplate.find(
+                query(where("applicationId").is(application.getId())), Interview.class);
+        assertEquals(1, interviews.size());
+        assertEquals(first.getId(), interviews.get(0).getId());
+        // The rejected attempt gives its time back; the first interview keeps its own
+        assertDoesNotThrow(() -> probe(day.atTime(14, 0)));
+        assertThrows(RuntimeException.class, () -> probe(day.atTime(9, 0)));
+    }
+
+    @Test
+    void concurrentSchedulingCreatesOneInterview() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(SUBMITS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<InterviewDto>> submits = new ArrayList<>();
+        for (int i = 0; i < SUBMITS; i++) {
+            // Different hours, so only the unique index can turn the extra attempts away
+            LocalDateTime scheduledAt = day.atTime(8 + i, 0);
+            submits.add(pool.submit(() -> {
+                start.await();
+                return interviewService.scheduleInterview(request(scheduledAt), recruiterId, false);
+            }));
+        }
+        start.countDown();
+
+        InterviewDto created = null;
+        int rejected = 0;
+        for (Future<InterviewDto> submit : submits) {
+            try {
+                created = submit.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertEquals("Interview already scheduled for this application", e.getCause().getMessage());
+                rejected++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(SUBMITS - 1, rejected);
+        assertEquals(1, mongoTemplate.count(query(where("applicationId").is(application.getId())), Interview.class));
+        for (int i = 0; i < SUBMITS; i++) {
+            LocalDateTime hour = day.atTime(8 + i, 0);
+            if (hour.equals(created.getScheduledAt())) {
+                assertThrows(RuntimeException.class, () -> probe(hour));
+            } else {
+                assertDoesNotThrow(() -> probe(hour));
+            }
+        }
+    }
+
+    // Reserves and immediately frees an hour on the recruiter's calendar, failing on an overlap
+    private void probe(LocalDateTime start) {
+        String probeId = "probe-" + new ObjectId().toHexString();
+        availabilityIndex.reserve(recruiterId, probeId, start, 60);
+        availabilityIndex.release(recruiterId, probeId);
+    }
+
+    private InterviewCreateRequest request(LocalDateTime scheduledAt) {
+        InterviewCreateRequest request = new InterviewCreateRequest();
+        request.setApplicationId(application.getId());
+        request.setScheduledAt(scheduledAt);
+        request.setDurationMinutes(60);
+        return request;
+    }
+}
@@ -0,0 +1,123 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.InterviewSlotBatchRequest;
+import com.recruito.dto.InterviewSlotDto;
+import com.recruito.model.Application;
+import com.recruito.model.Interview;
+import com.recruito.model.InterviewSlot;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import com.recruito.scheduling.OpenSlotIndex;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+class InterviewSlotClaimStressTest extends MongoIntegrationTest {
+
+    private static final int START_TIMES = 50;
+    private static final int PANELS = 2;
+    private static final int SLOTS = START_TIMES * PANELS;
+    private static final int CLAIMS = 10_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private InterviewSlotService interviewSlotService;
+
+    @Autowired
+    private OpenSlotIndex openSlotIndex;
+
+    @Test
+    void tenThousandSimultaneousClaimsNeverOverbook() throws Exception {
+        String recruiterId = user(Role.RECRUITER).getId();
+        Job job = publishedJob(recruiterId);
+
+        // Every start time twice: two parallel panels
+        LocalDateTime first = LocalDate.now().plusDays(2).atTime(8, 0);
+        List<LocalDateTime> startTimes = new ArrayList<>();
+        for (int i = 0; i < START_TIMES; i++) {
+            for (int panel = 0; panel < PANELS; panel++) {
+                startTimes.add(first.plusMinutes(90L * i));
+            }
+        }
+        InterviewSlotBatchRequest request = new InterviewSlotBatchRequest();
+        request.setJobId(job.getId());
+        request.setStartTimes(startTimes);
+        request.setDurationMinutes(60);
+        List<String> slotIds = interviewSlotService.publishSlots(request, recruiterId).stream()
+                .map(InterviewSlotDto::getId)
+                .collect(Collectors.toList());
+        assertEquals(SLOTS, slotIds.size());
+
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < CLAIMS; i++) {
+            Application application = new Application();
+            application.setJobId(job.getId());
+            application.setCandidateId(new ObjectId().toHexString());
+            application.setRecruiterId(recruiterId);
+            applications.add(application);
+        }
+        mongoTemplate.insert(applications, Application.class);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<InterviewSlotDto>> claims = new ArrayList<>();
+        for (int i = 0; i < CLAIMS; i++) {
+            String slotId = slotIds.get(i % SLOTS);
+            String candidateId = applications.get(i).getCandidateId();
+            claims.add(pool.submit(() -> {
+                start.await();
+                return interviewSlotService.claimSlot(slotId, candidateId);
+            }));
+        }
+        start.countDown();
+
+        List<InterviewSlotDto> booked = new ArrayList<>();
+        int rejected = 0;
+        for (Future<InterviewSlotDto> claim : claims) {
+            try {
+                booked.add(claim.get(120, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertEquals("Interview slot is already booked", e.getCause().getMessage());
+                rejected++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(SLOTS, booked.size());
+        assertEquals(CLAIMS - SLOTS, rejected);
+        Set<String> bookedSlotIds = booked.stream().map(InterviewSlotDto::getId).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(slotIds), bookedSlotIds);
+
+        List<InterviewSlot> stored = mongoTemplate.find(query(where("jobId").is(job.getId())), InterviewSlot.class);
+        assertEquals(SLOTS, stored.size());
+        assertEquals(SLOTS, stored.stream().map(InterviewSlot::getCandidateId).distinct().count());
+        assertTrue(stored.stream().allMatch(slot -> slot.getInterviewId() != null));
+        assertEquals(SLOTS, mongoTemplate.count(query(where("slotId").in(slotIds)), Interview.class));
+        assertTrue(openSlotIndex.openSlots(job.getId(), SLOTS).isEmpty());
+
+        // Claiming again is idempotent for the winner
+        InterviewSlot slot = stored.get(0);
+        InterviewSlotDto again = interviewSlotService.claimSlot(slot.getId(), slot.getCandidateId());
+        assertEquals(slot.getInterviewId(), again.getInterviewId());
+    }
+}
@@ -0,0 +1,112 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.InterviewCreateRequest;
+import com.recruito.dto.InterviewDto;
+import com.recruito.dto.InterviewSlotBatchRequest;
+import com.recruito.dto.InterviewSlotDto;
+import com.recruito.model.Application;
+import com.recruito.model.Interview;
+import com.recruito.model.InterviewSlot;
+import com.recruito.model.Job;
+import com.recruito.model.enums.Role;
+import com.recruito.scheduling.RecruiterAvailabilityIndex;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InterviewSlotRescheduleTest extends MongoIntegrationTest {
+
+    @Autowired
+    private InterviewSlotService interviewSlotService;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private RecruiterAvailabilityIndex availabilityIndex;
+
+    private String recruiterId;
+    private LocalDateTime slotStart;
+    private InterviewSlotDto booked;
+
+    @BeforeEach
+    void setUp() {
+        recruiterId = user(Role.RECRUITER).getId();
+        Job job = publishedJob(recruiterId);
+        slotStart = LocalDate.now().plusDays(3).atTime(10, 0);
+
+        InterviewSlotBatchRequest batch = new InterviewSlotBatchRequest();
+        batch.setJobId(job.getId());
+        batch.setStartTimes(List.of(slotStart));
+        batch.setDurationMinutes(60);
+        String slotId = interviewSlotService.publishSlots(batch, recruiterId).get(0).getId();
+
+        Application application = new Application();
+        application.setJobId(job.getId());
+        application.setCandidateId(new ObjectId().toHexString());
+        application.setRecruiterId(recruiterId);
+        mongoTemplate.insert(application);
+        booked = interviewSlotService.claimSlot(slotId, application.getCandidateId());
+    }
+
+    @Test
+    void editingWithoutMovingKeepsTheInterviewOnItsSlot() {
+        InterviewDto updated = interviewService.updateInterview(booked.getInterviewId(),
+                request(slotStart, "Room 4"), recruiterId);
+
+        assertEquals("Room 4", updated.getLocation());
+        InterviewSlot slot = mongoTemplate.findById(booked.getId(), InterviewSlot.class);
+        assertNull(slot.getReleasedAt());
+        assertEquals(booked.getId(), mongoTemplate.findById(booked.getInterviewId(), Interview.class).getSlotId());
+
+        // The slot still holds the time
+        assertThrows(RuntimeException.class, () -> probe(slotStart));
+    }
+
+    @Test
+    void movingOffTheSlotReleasesItsTime() {
+        LocalDateTime moved = slotStart.plusHours(3);
+        interviewService.updateInterview(booked.getInterviewId(), request(moved, "Room 4"), recruiterId);
+
+        assertNull(mongoTemplate.findById(booked.getInterviewId(), Interview.class).getSlotId());
+        InterviewSlot slot = mongoTemplate.findById(booked.getId(), InterviewSlot.class);
+        assertNotNull(slot.getReleasedAt());
+        // Released, not reopened: the slot is not offered to other candidates
+        assertNotNull(slot.getCandidateId());
+        assertEquals(0, interviewSlotService.getOpenSlots(slot.getJobId(), 10).size());
+
+        assertDoesNotThrow(() -> probe(slotStart));
+        assertThrows(RuntimeException.class, () -> probe(moved));
+
+        // A move overlapping the old time is no conflict with the slot it left
+        interviewService.updateInterview(booked.getInterviewId(), request(slotStart.plusMinutes(30), null),
+                recruiterId);
+    }
+
+    // Reserves and immediately frees an hour on the recruiter's calendar, failing on an overlap
+    private void probe(LocalDateTime start) {
+        String probeId = "probe-" + new ObjectId().toHexString();
+        availabilityIndex.reserve(recruiterId, probeId, start, 60);
+        availabilityIndex.release(recruiterId, probeId);
+    }
+
+    private static InterviewCreateRequest request(LocalDateTime scheduledAt, String location) {
+        InterviewCreateRequest request = new InterviewCreateRequest();
+        request.setScheduledAt(scheduledAt);
+        request.setDurationMinutes(60);
+        request.setLocation(location);
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.JobFacetSearchResult;
+import com.recruito.model.Job;
+import com.recruito.model.enums.JobStatus;
+import com.recruito.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JobFacetSearchTest extends MongoIntegrationTest {
+
+    @Autowired
+    private JobService jobService;
+
+    // Unique per test, so jobs left by other tests in the shared database do not count
+    private String department;
+
+    @BeforeEach
+    void setUp() {
+        department = "Dept-" + UUID.randomUUID();
+        String recruiterId = user(Role.RECRUITER).getId();
+        job(recruiterId, "FULL_TIME", "Pune", JobStatus.PUBLISHED);
+        job(recruiterId, "FULL_TIME", "Delhi", JobStatus.PUBLISHED);
+        job(recruiterId, "CONTRACT", "Pune", JobStatus.PUBLISHED);
+        job(recruiterId, "CONTRACT", "Pune", JobStatus.DRAFT);
+    }
+
+    @Test
+    void pageTotalAndFacetsComeFromOneAggregation() {
+        JobFacetSearchResult[] result = new JobFacetSearchResult[1];
+        List<String> commands = mongoCommandCounter.record(() -> result[0] = jobService.searchJobsWithFacets(
+                null, null, null, department, null, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt"))));
+
+        assertEquals(2, result[0].getJobs().getContent().size());
+        assertEquals(3, result[0].getJobs().getTotalElements());
+        // Status defaults to PUBLISHED, so the draft is left out of the counts too
+        assertEquals(Map.of(department, 3L), result[0].getFacets().getDepartment());
+        assertEquals(Map.of("FULL_TIME", 2L, "CONTRACT", 1L), result[0].getFacets().getEmploymentType());
+        assertEquals(Map.of("Pune", 2L, "Delhi", 1L), result[0].getFacets().getLocation());
+        assertEquals(1, commands.stream().filter("aggregate"::equals).count());
+    }
+
+    @Test
+    void facetsFollowTheFilters() {
+        JobFacetSearchResult result = jobService.searchJobsWithFacets(null, "pune", JobStatus.PUBLISHED, department,
+                "CONTRACT", PageRequest.of(0, 10));
+
+        assertEquals(1, result.getJobs().getTotalElements());
+        assertEquals(Map.of("CONTRACT", 1L), result.getFacets().getEmploymentType());
+        assertEquals(Map.of("PUBLISHED", 1L), result.getFacets().getStatus());
+    }
+
+    private void job(String recruiterId, String employmentType, String location, JobStatus status) {
+        Job job = new Job();
+        job.setTitle("Backend Engineer");
+        job.setDepartment(department);
+        job.setEmploymentType(employmentType);
+        job.setLocation(location);
+        job.setStatus(status);
+        job.setRecruiterId(recruiterId);
+        mongoTemplate.insert(job);
+    }
+}
@@ -0,0 +1,79 @@
+package com.recruito.service;
+
+import com.recruito.dto.JobCreateRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JobImportCsvTest {
+
+    @Test
+    void rowsMapOntoTheNamedColumns() throws Exception {
+        JobImportService.CsvSource source = csv("\uFEFFtitle,location,notes,salaryMin,description\n"
+                + "Backend Engineer,Pune,ignored,1200000.50,Java\n"
+                + "Data Analyst,Remote,,,SQL");
+
+        JobCreateRequest first = source.next();
+        assertEquals("Backend Engineer", first.getTitle());
+        assertEquals("Pune", first.getLocation());
+        assertEquals(new BigDecimal("1200000.50"), first.getSalaryMin());
+        assertEquals("Java", first.getDescription());
+
+        // Empty fields are null, and the last row needs no line break
+        JobCreateRequest second = source.next();
+        assertEquals("Data Analyst", second.getTitle());
+        assertNull(second.getSalaryMin());
+        assertEquals("SQL", second.getDescription());
+        assertNull(source.next());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws Exception {
+        JobImportService.CsvSource source = csv("title,description,location\r\n"
+                + "\"Engineer, Platform\",\"Say \"\"hi\"\"\r\nto the team\",Bengaluru\r\n"
+                + "\r\n"
+                + "QA,\"\",Delhi\r\n");
+
+        JobCreateRequest quoted = source.next();
+        assertEquals("Engineer, Platform", quoted.getTitle());
+        assertEquals("Say \"hi\"\r\nto the team", quoted.getDescription());
+        assertEquals("Bengaluru", quoted.getLocation());
+
+        // The blank line is skipped
+        JobCreateRequest next = source.next();
+        assertEquals("QA", next.getTitle());
+        assertNull(next.getDescription());
+        assertNull(source.next());
+    }
+
+    @Test
+    void malformedRecordsAreReportedAndSkipped() throws Exception {
+        JobImportService.CsvSource source = csv("title,description,salaryMax\n"
+                + "Only two,columns\n"
+                + "Designer,Figma,lots\n"
+                + "Writer,Docs,900\n");
+
+        JobImportService.InvalidRecordException columns =
+                assertThrows(JobImportService.InvalidRecordException.class, source::next);
+        assertEquals("Expected 3 columns but found 2", columns.getMessage());
+        JobImportService.InvalidRecordException number =
+                assertThrows(JobImportService.InvalidRecordException.class, source::next);
+        assertEquals("salaryMax: not a number", number.getMessage());
+        assertEquals(new BigDecimal("900"), source.next().getSalaryMax());
+    }
+
+    @Test
+    void headerMustNameTheTitleColumn() throws Exception {
+        assertThrows(RuntimeException.class, () -> csv("name,location\nBackend,Pune\n").next());
+        assertNull(csv("").next());
+    }
+
+    private static JobImportService.CsvSource csv(String body) {
+        return new JobImportService.CsvSource(new StringReader(body));
+    }
+}
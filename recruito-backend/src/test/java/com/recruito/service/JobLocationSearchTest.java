@@ -0,0 +1,87 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.JobCreateRequest;
+import com.recruito.dto.JobDto;
+import com.recruito.model.enums.JobStatus;
+import com.recruito.model.enums.Role;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobLocationSearchTest extends MongoIntegrationTest {
+
+    @Autowired
+    private JobService jobService;
+
+    // Unique per test run, so jobs left by other tests in the shared database never match
+    private String tag;
+
+    @BeforeEach
+    void setUp() {
+        tag = "Geo" + new ObjectId().toHexString();
+        String recruiterId = user(Role.RECRUITER).getId();
+        create(recruiterId, "Bangalore");
+        create(recruiterId, "Mysore, Karnataka");
+        create(recruiterId, "Bombay");
+        create(recruiterId, "Remote");
+    }
+
+    @Test
+    void locationsAreNormalizedOnWrite() {
+        List<JobDto> jobs = search("Mysuru", 500).getContent();
+        assertEquals(List.of("Mysuru, Karnataka, India", "Bengaluru, Karnataka, India"),
+                jobs.stream().map(JobDto::getNormalizedLocation).collect(Collectors.toList()));
+        assertEquals("Mumbai, Maharashtra, India", search("Mumbai", 50).getContent().get(0).getNormalizedLocation());
+        // The raw text is kept as entered
+        assertEquals("Mysore, Karnataka", jobs.get(0).getLocation());
+    }
+
+    @Test
+    void radiusSearchReturnsNearbyJobsClosestFirst() {
+        Page<JobDto> nearBengaluru = search("Bengaluru", 200);
+        assertEquals(List.of("Bangalore", "Mysore, Karnataka"),
+                nearBengaluru.getContent().stream().map(JobDto::getLocation).collect(Collectors.toList()));
+        assertEquals(2, nearBengaluru.getTotalElements());
+        assertTrue(nearBengaluru.getContent().get(0).getDistanceKm() < 5);
+        assertTrue(nearBengaluru.getContent().get(1).getDistanceKm() > 100);
+
+        // Coordinates work as well as place names; unresolved locations ("Remote") never match
+        Page<JobDto> nearMumbai = search("19.07,72.87", 50);
+        assertEquals(List.of("Bombay"),
+                nearMumbai.getContent().stream().map(JobDto::getLocation).collect(Collectors.toList()));
+        assertNull(search("Bengaluru", 500).getContent().stream()
+                .filter(job -> job.getLocation().equals("Remote")).findFirst().orElse(null));
+    }
+
+    @Test
+    void invalidSearchesAreRejected() {
+        assertEquals("Unknown location: Atlantis",
+                assertThrows(RuntimeException.class, () -> search("Atlantis", 50)).getMessage());
+        assertThrows(RuntimeException.class, () -> search("Bengaluru", 0));
+        assertThrows(RuntimeException.class, () -> search("91,10", 50));
+    }
+
+    private Page<JobDto> search(String near, double radiusKm) {
+        return jobService.searchJobsNear(near, radiusKm, tag, JobStatus.DRAFT, PageRequest.of(0, 10));
+    }
+
+    private void create(String recruiterId, String location) {
+        JobCreateRequest request = new JobCreateRequest();
+        request.setTitle(tag + " Engineer");
+        request.setDescription("Java");
+        request.setLocation(location);
+        jobService.createJob(request, recruiterId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.recruito.service;
+
+import com.recruito.dto.CursorPage;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KeysetPaginationTest {
+
+    private record Row(String id, Object key) {
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastRowOfThePage() {
+        String lastId = new ObjectId().toHexString();
+        LocalDateTime lastKey = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_000_000);
+        List<Row> rows = List.of(new Row(new ObjectId().toHexString(), lastKey.minusHours(1)),
+                new Row(lastId, lastKey),
+                new Row(new ObjectId().toHexString(), lastKey.plusHours(1)));
+
+        CursorPage<Row> page = KeysetPagination.page(rows, 2, Row::key, Row::id);
+        assertTrue(page.isHasNext());
+        assertEquals(2, page.getSize());
+        assertEquals(KeysetPagination.cursorOf(lastKey, lastId), page.getNextCursor());
+
+        Document range = rangeOf(page.getNextCursor(), "createdAt", Sort.Direction.ASC);
+        assertEquals(List.of(
+                new Document("createdAt", new Document("$gt", lastKey)),
+                new Document("createdAt", lastKey).append("_id", new Document("$gt", new ObjectId(lastId)))),
+                range.get("$or"));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        List<Row> rows = List.of(new Row(new ObjectId().toHexString(), "a"));
+        CursorPage<Row> page = KeysetPagination.page(rows, 2, Row::key, Row::id);
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void stringKeysContainingTheSeparatorRoundTrip() {
+        String id = new ObjectId().toHexString();
+        Document range = rangeOf(KeysetPagination.cursorOf("Java | Kotlin", id), "title", Sort.Direction.DESC);
+        assertEquals(List.of(
+                new Document("title", new Document("$lt", "Java | Kotlin")),
+                new Document("title", "Java | Kotlin").append("_id", new Document("$lt", new ObjectId(id))),
+                new Document("title", null)),
+                range.get("$or"));
+    }
+
+    @Test
+    void nullKeysContinueWithinTheNullRun() {
+        String id = new ObjectId().toHexString();
+        Document range = rangeOf(KeysetPagination.cursorOf(null, id), "title", Sort.Direction.DESC);
+        assertTrue(range.containsKey("title"));
+        assertNull(range.get("title"));
+        assertEquals(new Document("$lt", new ObjectId(id)), range.get("_id"));
+    }
+
+    @Test
+    void offsetCursorsRoundTrip() {
+        assertEquals(0, KeysetPagination.decodeOffset(null));
+        assertEquals(0, KeysetPagination.decodeOffset(""));
+        assertEquals(120, KeysetPagination.decodeOffset(KeysetPagination.encodeOffset(120)));
+    }
+
+    @Test
+    void malformedOrMismatchedCursorsAreRejected() {
+        String keyset = KeysetPagination.cursorOf("x", new ObjectId().toHexString());
+        assertThrows(RuntimeException.class, () -> KeysetPagination.decodeOffset("not base64!"));
+        assertThrows(RuntimeException.class, () -> KeysetPagination.decodeOffset(keyset));
+        assertThrows(RuntimeException.class, () -> rangeOf(KeysetPagination.encodeOffset(10), "title", Sort.Direction.ASC));
+        assertThrows(RuntimeException.class,
+                () -> rangeOf(KeysetPagination.cursorOf("x", "not-an-id"), "title", Sort.Direction.ASC));
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(1, KeysetPagination.clampSize(0));
+        assertEquals(KeysetPagination.MAX_PAGE_SIZE, KeysetPagination.clampSize(10_000));
+    }
+
+    // The range criteria fetch() adds for the cursor
+    private static Document rangeOf(String after, String sortField, Sort.Direction direction) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Row.class))).thenReturn(List.of());
+        KeysetPagination.fetch(mongoTemplate, new Query(), Row.class, sortField, direction, after, 20,
+                Row::key, Row::id);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Row.class));
+        assertEquals(21, query.getValue().getLimit());
+        return query.getValue().getQueryObject();
+    }
+}
@@ -0,0 +1,129 @@
+package com.recruito.service;
+
+import com.recruito.MongoIntegrationTest;
+import com.recruito.dto.MessageDto;
+import com.recruito.dto.MessagePage;
+import com.recruito.dto.MessageRequest;
+import com.recruito.model.Message;
+import com.recruito.model.User;
+import com.recruito.model.enums.Role;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageCursorTest extends MongoIntegrationTest {
+
+    @Autowired
+    private MessageService messageService;
+
+    private User recruiter;
+    private User candidate;
+
+    @BeforeEach
+    void setUp() {
+        recruiter = user(Role.RECRUITER);
+        candidate = user(Role.CANDIDATE);
+
+        // m2, m3 and m4 share a timestamp, so the pages have to break ties on the id
+        LocalDateTime start = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 7; i++) {
+            boolean fromRecruiter = i % 2 == 0;
+            Message message = new Message();
+            // Assigned ids also keep auditing from replacing the chosen createdAt
+            message.setId(new ObjectId().toHexString());
+            message.setSenderId(fromRecruiter ? recruiter.getId() : candidate.getId());
+            message.setReceiverId(fromRecruiter ? candidate.getId() : recruiter.getId());
+            message.setContent("m" + i);
+            message.setChatRoomId(chatRoomId());
+            message.setCreatedAt(start.plusMinutes(i >= 2 && i <= 4 ? 2 : i));
+            mongoTemplate.insert(message);
+        }
+    }
+
+    @Test
+    void olderPagesWalkBackToTheStart() {
+        MessagePage latest = page(null, null, 3);
+        assertEquals(List.of("m4", "m5", "m6"), contents(latest));
+        assertTrue(latest.isHasOlder());
+        assertFalse(latest.isHasNewer());
+        assertEquals("Test RECRUITER", latest.getContent().get(0).getSenderName());
+        assertEquals(candidate.getEmail(), latest.getContent().get(0).getReceiverEmail());
+
+        MessagePage older = page(latest.getBeforeCursor(), null, 3);
+        assertEquals(List.of("m1", "m2", "m3"), contents(older));
+        assertTrue(older.isHasOlder());
+        assertTrue(older.isHasNewer());
+
+        MessagePage oldest = page(older.getBeforeCursor(), null, 3);
+        assertEquals(List.of("m0"), contents(oldest));
+        assertFalse(oldest.isHasOlder());
+        assertNull(oldest.getBeforeCursor());
+    }
+
+    @Test
+    void newerPagesContinueFromTheCursor() {
+        MessagePage older = page(page(null, null, 3).getBeforeCursor(), null, 3);
+
+        MessagePage newer = page(null, older.getAfterCursor(), 2);
+        assertEquals(List.of("m4", "m5"), contents(newer));
+        assertTrue(newer.isHasOlder());
+        assertTrue(newer.isHasNewer());
+
+        newer = page(null, newer.getAfterCursor(), 2);
+        assertEquals(List.of("m6"), contents(newer));
+        assertFalse(newer.isHasNewer());
+    }
+
+    @Test
+    void pollingAfterTheLatestPageReturnsOnlyNewMessages() {
+        String afterCursor = page(null, null, 3).getAfterCursor();
+
+        MessagePage idle = page(null, afterCursor, 3);
+        assertTrue(idle.getContent().isEmpty());
+        // An empty poll hands the same cursor back
+        assertEquals(afterCursor, idle.getAfterCursor());
+
+        MessageRequest request = new MessageRequest();
+        request.setReceiverEmail(recruiter.getEmail());
+        request.setContent("m7");
+        messageService.sendMessage(request, candidate.getId());
+
+        MessagePage polled = page(null, afterCursor, 3);
+        assertEquals(List.of("m7"), contents(polled));
+        assertNotNull(polled.getAfterCursor());
+    }
+
+    @Test
+    void passingBothCursorsIsRejected() {
+        String cursor = page(null, null, 3).getBeforeCursor();
+        RuntimeException rejected = assertThrows(RuntimeException.class, () -> page(cursor, cursor, 3));
+        assertEquals("Pass either before or after, not both", rejected.getMessage());
+    }
+
+    private MessagePage page(String before, String after, int size) {
+        return messageService.getChatMessages(recruiter.getEmail(), candidate.getEmail(), before, after, size);
+    }
+
+    private String chatRoomId() {
+        String a = recruiter.getId();
+        String b = candidate.getId();
+        return a.compareTo(b) < 0 ? a + "_" + b : b + "_" + a;
+    }
+
+    private static List<String> contents(MessagePage page) {
+        return page.getContent().stream().map(MessageDto::getContent).collect(Collectors.toList());
+    }
+}
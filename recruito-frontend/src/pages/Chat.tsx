@@ -11,26 +11,59 @@ const Chat: React.FC = () => {
   const [messages, setMessages] = useState<Message[]>([]);
   const [receiverEmail, setReceiverEmail] = useState<string>(searchParams.get('email') || '');
   const [messageContent, setMessageContent] = useState('');
+  const [hasOlder, setHasOlder] = useState(false);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const messagesEndRef = useRef<HTMLDivElement>(null);
+  // Cursors are read from the polling interval, so they live in refs rather than state
+  const beforeCursorRef = useRef<string | null>(null);
+  const afterCursorRef = useRef<string | null>(null);
+  // Only scroll to the bottom when new messages arrive, not when older ones are prepended
+  const scrollToEndRef = useRef(false);
+  // Responses for a conversation that is no longer open are dropped
+  const conversationRef = useRef(receiverEmail);
 
   useEffect(() => {
+    setMessages([]);
+    setHasOlder(false);
+    beforeCursorRef.current = null;
+    afterCursorRef.current = null;
+    conversationRef.current = receiverEmail;
     if (receiverEmail) {
       loadMessages();
-      // Refresh messages every 2 seconds
+      // Poll for messages newer than the last one shown every 2 seconds
       const interval = setInterval(loadMessages, 2000);
       return () => clearInterval(interval);
     }
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [receiverEmail]);
 
+  // Appends messages not shown yet; a poll and a send can fetch the same page
+  const appendMessages = (incoming: Message[]) => {
+    setMessages((current) => {
+      const shown = new Set(current.map((message) => message.id));
+      return [...current, ...incoming.filter((message) => !shown.has(message.id))];
+    });
+  };
+
   const loadMessages = async () => {
     if (!receiverEmail || !user) return;
     try {
-      const data = await messageService.getChatMessages(receiverEmail);
-      setMessages(data);
-      // Mark messages as read
-      if (data.length > 0) {
-        const chatRoomId = data[0].chatRoomId;
+      const after = afterCursorRef.current;
+      // Latest page until the conversation has a message, then only what came after it
+      const page = await messageService.getChatMessages(receiverEmail, after ? { after } : {});
+      if (conversationRef.current !== receiverEmail) return;
+      if (!after) {
+        beforeCursorRef.current = page.beforeCursor;
+        setHasOlder(page.hasOlder);
+      }
+      if (page.afterCursor) {
+        afterCursorRef.current = page.afterCursor;
+      }
+      if (page.content.length > 0) {
+        scrollToEndRef.current = true;
+        appendMessages(page.content);
+        // Mark messages as read
+        const chatRoomId = page.content[0].chatRoomId;
         if (chatRoomId) {
           await messageService.markMessagesAsRead(chatRoomId);
         }
@@ -40,6 +73,26 @@ const Chat: React.FC = () => {
     }
   };
 
+  const loadOlderMessages = async () => {
+    const before = beforeCursorRef.current;
+    if (!receiverEmail || !before || loadingOlder) return;
+    setLoadingOlder(true);
+    try {
+      const page = await messageService.getChatMessages(receiverEmail, { before });
+      if (conversationRef.current !== receiverEmail) return;
+      beforeCursorRef.current = page.beforeCursor;
+      setHasOlder(page.hasOlder);
+      setMessages((current) => {
+        const shown = new Set(current.map((message) => message.id));
+        return [...page.content.filter((message) => !shown.has(message.id)), ...current];
+      });
+    } catch (error) {
+      console.error('Failed to load earlier messages:', error);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const handleSendMessage = async () => {
     if (!receiverEmail || !receiverEmail.trim() || !messageContent.trim()) {
       alert('Please enter a valid receiver email and message content');
@@ -64,7 +117,10 @@ const Chat: React.FC = () => {
   };
 
   useEffect(() => {
-    messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
+    if (scrollToEndRef.current) {
+      scrollToEndRef.current = false;
+      messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
+    }
   }, [messages]);
 
   return (
@@ -95,6 +151,13 @@ const Chat: React.FC = () => {
         <Paper sx={{ p: 2, height: '500px', display: 'flex', flexDirection: 'column' }}>
           <Box sx={{ flexGrow: 1, overflow: 'auto', mb: 2 }}>
             <List>
+              {hasOlder && (
+                <Box sx={{ textAlign: 'center', mb: 1 }}>
+                  <Button size="small" onClick={loadOlderMessages} disabled={loadingOlder}>
+                    {loadingOlder ? 'Loading...' : 'Load earlier messages'}
+                  </Button>
+                </Box>
+              )}
               {messages.length === 0 ? (
                 <Typography variant="body2" color="text.secondary" sx={{ p: 2, textAlign: 'center' }}>
                   No messages yet. Start the conversation!
@@ -12,6 +12,20 @@ export interface Message {
   createdAt: string;
 }
 
+export interface MessagePage {
+  content: Message[];
+  beforeCursor: string | null;
+  afterCursor: string | null;
+  hasOlder: boolean;
+  hasNewer: boolean;
+}
+
+export interface MessagePageParams {
+  before?: string;
+  after?: string;
+  size?: number;
+}
+
 export interface MessageRequest {
   receiverEmail: string;
   content: string;
@@ -23,8 +37,11 @@ export const messageService = {
     return response.data;
   },
 
-  getChatMessages: async (otherUserEmail: string): Promise<Message[]> => {
-    const response = await api.get<Message[]>(`/chat/messages?otherUserEmail=${encodeURIComponent(otherUserEmail)}`);
+  // Latest page by default; pass before/after from a previous page to load older or newer messages
+  getChatMessages: async (otherUserEmail: string, params: MessagePageParams = {}): Promise<MessagePage> => {
+    const response = await api.get<MessagePage>('/chat/messages', {
+      params: { otherUserEmail, ...params },
+    });
     return response.data;
   },
 